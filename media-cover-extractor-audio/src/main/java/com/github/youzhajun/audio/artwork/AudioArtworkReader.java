@@ -0,0 +1,81 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 音频内嵌封面读取器
+ * <p>
+ * 按文件头识别容器格式，通过文件通道按位置读取标签/元数据区域中的图片：
+ * MP3的ID3v2 APIC帧、FLAC的PICTURE块、MP4/M4A的covr、Ogg Vorbis/Opus的 METADATA_BLOCK_PICTURE。
+ * 只读取头部结构和图片数据本身，不读取音频数据。
+ * </p>
+ */
+public class AudioArtworkReader {
+
+    /**
+     * 默认图片大小上限
+     */
+    public static final int DEFAULT_MAX_PICTURE_SIZE = 16 * 1024 * 1024;
+
+    private static final int SNIFF_SIZE = 12;
+
+    private final Id3v2Parser id3v2Parser;
+    private final FlacParser flacParser;
+    private final Mp4Parser mp4Parser;
+    private final OggParser oggParser;
+
+    public AudioArtworkReader() {
+        this(DEFAULT_MAX_PICTURE_SIZE);
+    }
+
+    /**
+     * @param maxPictureSize 图片大小上限（字节），超过的图片视为不存在
+     */
+    public AudioArtworkReader(int maxPictureSize) {
+        this.id3v2Parser = new Id3v2Parser(maxPictureSize);
+        this.flacParser = new FlacParser(maxPictureSize);
+        this.mp4Parser = new Mp4Parser(maxPictureSize);
+        this.oggParser = new OggParser(maxPictureSize);
+    }
+
+    /**
+     * 读取内嵌封面（有多张图片时优先返回正面封面）
+     *
+     * @return 图片原始字节，不包含内嵌封面或无法识别容器格式时返回null
+     */
+    public byte[] read(File audioFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(audioFile.toPath(), StandardOpenOption.READ)) {
+            ByteSource source = ByteSource.of(channel);
+            if (source.size() < SNIFF_SIZE) {
+                return null;
+            }
+            byte[] header = source.read(0, SNIFF_SIZE);
+
+            if (Id3v2Parser.isTag(header)) {
+                byte[] picture = Picture.select(id3v2Parser.parse(source, 0));
+                if (picture != null) {
+                    return picture;
+                }
+                // 部分FLAC文件在开头带有ID3v2标签
+                long next = Id3v2Parser.tagLength(header);
+                if (next + 4 <= source.size() && FlacParser.isStream(source.read(next, 4), 0)) {
+                    return Picture.select(flacParser.parse(source, next));
+                }
+                return null;
+            }
+            if (FlacParser.isStream(header, 0)) {
+                return Picture.select(flacParser.parse(source, 0));
+            }
+            if (Mp4Parser.isFile(header)) {
+                return Picture.select(mp4Parser.parse(source));
+            }
+            if (OggParser.isStream(header)) {
+                return Picture.select(oggParser.parse(source));
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 按位置随机读取的字节源（文件通道或内存数组）
+ */
+interface ByteSource {
+
+    /**
+     * 读取指定位置开始的 length 个字节，不足时抛出 EOFException
+     */
+    byte[] read(long position, int length) throws IOException;
+
+    long size() throws IOException;
+
+    /**
+     * 读取指定位置开始的字节并包装为大端序缓冲区
+     */
+    default ByteBuffer readBuffer(long position, int length) throws IOException {
+        return ByteBuffer.wrap(read(position, length));
+    }
+
+    static ByteSource of(FileChannel channel) {
+        return new ByteSource() {
+            @Override
+            public byte[] read(long position, int length) throws IOException {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new EOFException("读取位置超出文件末尾: " + (position + buffer.position()));
+                    }
+                }
+                return buffer.array();
+            }
+
+            @Override
+            public long size() throws IOException {
+                return channel.size();
+            }
+        };
+    }
+
+    static ByteSource of(byte[] data) {
+        return new ByteSource() {
+            @Override
+            public byte[] read(long position, int length) throws IOException {
+                if (position < 0 || position + length > data.length) {
+                    throw new EOFException("读取位置超出数据末尾: " + (position + length));
+                }
+                byte[] result = new byte[length];
+                System.arraycopy(data, (int) position, result, 0, length);
+                return result;
+            }
+
+            @Override
+            public long size() {
+                return data.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FLAC元数据块图片解析（PICTURE块）
+ * <p>
+ * 元数据块位于音频帧之前，按块头逐个跳过其他块，只读取PICTURE块的内容。
+ * PICTURE块的结构同样用于Ogg Vorbis/Opus注释中的 METADATA_BLOCK_PICTURE。
+ * </p>
+ */
+class FlacParser {
+
+    private static final int BLOCK_HEADER_SIZE = 4;
+    private static final int PICTURE_BLOCK_TYPE = 6;
+    private static final int LAST_BLOCK_FLAG = 0x80;
+
+    private final int maxPictureSize;
+
+    /**
+     * @param maxPictureSize 图片大小上限，超过的PICTURE块不读取
+     */
+    FlacParser(int maxPictureSize) {
+        this.maxPictureSize = maxPictureSize;
+    }
+
+    /**
+     * 判断是否为FLAC流标识
+     */
+    static boolean isStream(byte[] header, int offset) {
+        return header.length >= offset + 4 && header[offset] == 'f' && header[offset + 1] == 'L'
+                && header[offset + 2] == 'a' && header[offset + 3] == 'C';
+    }
+
+    /**
+     * 解析指定位置（"fLaC"标识处）开始的元数据块中的全部图片
+     */
+    List<Picture> parse(ByteSource source, long offset) throws IOException {
+        List<Picture> pictures = new ArrayList<>();
+        long size = source.size();
+        long position = offset + 4;
+        while (position + BLOCK_HEADER_SIZE <= size) {
+            byte[] header = source.read(position, BLOCK_HEADER_SIZE);
+            int type = header[0] & 0x7F;
+            int length = ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+            if (type == PICTURE_BLOCK_TYPE && length <= maxPictureSize) {
+                Picture picture = parsePictureBlock(source.readBuffer(position + BLOCK_HEADER_SIZE, length));
+                if (picture != null) {
+                    pictures.add(picture);
+                }
+            }
+            if ((header[0] & LAST_BLOCK_FLAG) != 0) {
+                break;
+            }
+            position += BLOCK_HEADER_SIZE + length;
+        }
+        return pictures;
+    }
+
+    /**
+     * 解析PICTURE块：类型 MIME类型 描述 宽 高 色深 索引色数量 图片数据（长度字段均为32位大端整数）
+     *
+     * @return 图片，结构不完整时返回null
+     */
+    static Picture parsePictureBlock(ByteBuffer block) {
+        if (block.remaining() < 32) {
+            return null;
+        }
+        int type = block.getInt();
+        int mimeLength = block.getInt();
+        if (mimeLength < 0 || mimeLength > block.remaining()) {
+            return null;
+        }
+        byte[] mime = new byte[mimeLength];
+        block.get(mime);
+        if ("-->".equals(new String(mime, StandardCharsets.ISO_8859_1)) || block.remaining() < 4) {
+            return null;
+        }
+        int descriptionLength = block.getInt();
+        if (descriptionLength < 0 || descriptionLength + 20 > block.remaining()) {
+            return null;
+        }
+        block.position(block.position() + descriptionLength + 16);
+        int dataLength = block.getInt();
+        if (dataLength <= 0 || dataLength > block.remaining()) {
+            return null;
+        }
+        byte[] data = new byte[dataLength];
+        block.get(data);
+        return new Picture(type, data);
+    }
+}
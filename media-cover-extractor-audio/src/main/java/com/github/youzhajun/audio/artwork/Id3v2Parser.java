@@ -0,0 +1,219 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ID3v2标签图片解析（APIC/PIC帧）
+ * <p>
+ * 按帧头逐个跳过其他帧，只读取图片帧的数据；只有v2.2/v2.3整个标签做了反同步处理时才一次性读取标签内容。
+ * </p>
+ */
+class Id3v2Parser {
+
+    static final int HEADER_SIZE = 10;
+
+    private static final int FLAG_UNSYNCHRONISATION = 0x80;
+    private static final int FLAG_EXTENDED_HEADER = 0x40;
+    private static final int FLAG_FOOTER = 0x10;
+
+    /**
+     * 链接形式的图片（数据是URL而不是图片内容）
+     */
+    private static final String LINK_MIME_TYPE = "-->";
+
+    private final int maxPictureSize;
+
+    /**
+     * @param maxPictureSize 图片大小上限，超过的图片帧不读取
+     */
+    Id3v2Parser(int maxPictureSize) {
+        this.maxPictureSize = maxPictureSize;
+    }
+
+    /**
+     * 判断标签头是否为ID3v2
+     */
+    static boolean isTag(byte[] header) {
+        return header.length >= HEADER_SIZE
+                && header[0] == 'I' && header[1] == 'D' && header[2] == '3'
+                && (header[3] & 0xFF) != 0xFF && (header[4] & 0xFF) != 0xFF;
+    }
+
+    /**
+     * 标签总长度（含标签头和标签尾）
+     */
+    static long tagLength(byte[] header) {
+        return HEADER_SIZE + syncSafe(header, 6) + ((header[5] & FLAG_FOOTER) != 0 ? HEADER_SIZE : 0);
+    }
+
+    /**
+     * 解析指定位置的ID3v2标签中的全部图片
+     */
+    List<Picture> parse(ByteSource source, long offset) throws IOException {
+        List<Picture> pictures = new ArrayList<>();
+        byte[] header = source.read(offset, HEADER_SIZE);
+        int version = header[3];
+        int flags = header[5] & 0xFF;
+        if (!isTag(header) || version < 2 || version > 4) {
+            return pictures;
+        }
+
+        ByteSource frames = source;
+        long position = offset + HEADER_SIZE;
+        long end = Math.min(position + syncSafe(header, 6), source.size());
+        if ((flags & FLAG_UNSYNCHRONISATION) != 0 && version < 4) {
+            // v2.2/v2.3的反同步作用于整个标签（包括帧头），需要先整体还原
+            long size = end - position;
+            if (size > maxPictureSize * 2L) {
+                return pictures;
+            }
+            byte[] body = removeUnsynchronisation(source.read(position, (int) size));
+            frames = ByteSource.of(body);
+            position = 0;
+            end = body.length;
+        }
+        if ((flags & FLAG_EXTENDED_HEADER) != 0 && version >= 3) {
+            byte[] extended = frames.read(position, 4);
+            // v2.3扩展头长度不含自身的4个字节，v2.4为同步安全整数且包含自身
+            position += version == 3 ? 4 + toInt(extended, 0) : syncSafe(extended, 0);
+        }
+
+        int frameHeaderSize = version == 2 ? 6 : 10;
+        while (position + frameHeaderSize <= end) {
+            byte[] frameHeader = frames.read(position, frameHeaderSize);
+            if (frameHeader[0] == 0) {
+                // 进入填充区域
+                break;
+            }
+            String id = new String(frameHeader, 0, version == 2 ? 3 : 4, StandardCharsets.ISO_8859_1);
+            long frameSize = version == 2 ? toInt24(frameHeader, 3)
+                    : version == 3 ? toInt(frameHeader, 4) & 0xFFFFFFFFL : syncSafe(frameHeader, 4);
+            long dataPosition = position + frameHeaderSize;
+            if (frameSize <= 0 || dataPosition + frameSize > end) {
+                break;
+            }
+
+            boolean isPictureFrame = version == 2 ? "PIC".equals(id) : "APIC".equals(id);
+            if (isPictureFrame && frameSize <= maxPictureSize) {
+                byte[] data = frames.read(dataPosition, (int) frameSize);
+                data = decodeFrameData(data, version, version == 2 ? 0 : frameHeader[9] & 0xFF,
+                        (flags & FLAG_UNSYNCHRONISATION) != 0);
+                Picture picture = data != null ? parsePictureFrame(data, version == 2) : null;
+                if (picture != null) {
+                    pictures.add(picture);
+                }
+            }
+            position = dataPosition + frameSize;
+        }
+        return pictures;
+    }
+
+    /**
+     * 按帧格式标志还原帧数据
+     *
+     * @return 帧数据，压缩或加密的帧返回null
+     */
+    private byte[] decodeFrameData(byte[] data, int version, int formatFlags, boolean tagUnsynchronised) {
+        int skip = 0;
+        if (version == 3) {
+            // 0x80压缩 0x40加密 0x20分组标识（1字节）
+            if ((formatFlags & 0xC0) != 0) {
+                return null;
+            }
+            skip += (formatFlags & 0x20) != 0 ? 1 : 0;
+            return Arrays.copyOfRange(data, Math.min(skip, data.length), data.length);
+        }
+        if (version == 4) {
+            // 0x40分组标识（1字节） 0x08压缩 0x04加密 0x02反同步 0x01数据长度标识（4字节）
+            if ((formatFlags & 0x0C) != 0) {
+                return null;
+            }
+            skip += (formatFlags & 0x40) != 0 ? 1 : 0;
+            skip += (formatFlags & 0x01) != 0 ? 4 : 0;
+            byte[] frameData = Arrays.copyOfRange(data, Math.min(skip, data.length), data.length);
+            return (formatFlags & 0x02) != 0 || tagUnsynchronised ? removeUnsynchronisation(frameData) : frameData;
+        }
+        return data;
+    }
+
+    /**
+     * 解析APIC/PIC帧：编码(1) MIME类型或图片格式 图片类型(1) 描述 图片数据
+     */
+    private Picture parsePictureFrame(byte[] data, boolean legacy) {
+        if (data.length < 4) {
+            return null;
+        }
+        int encoding = data[0];
+        int index = 1;
+        String mimeType;
+        if (legacy) {
+            mimeType = new String(data, 1, 3, StandardCharsets.ISO_8859_1);
+            index = 4;
+        } else {
+            int end = indexOf(data, index, 1);
+            if (end < 0) {
+                return null;
+            }
+            mimeType = new String(data, index, end - index, StandardCharsets.ISO_8859_1);
+            index = end + 1;
+        }
+        if (LINK_MIME_TYPE.equals(mimeType) || index >= data.length) {
+            return null;
+        }
+
+        int pictureType = data[index++] & 0xFF;
+        // UTF-16编码的描述以两个0字节结尾，其他编码以一个0字节结尾
+        int terminatorSize = encoding == 1 || encoding == 2 ? 2 : 1;
+        int end = indexOf(data, index, terminatorSize);
+        if (end < 0) {
+            return null;
+        }
+        index = end + terminatorSize;
+        return index < data.length ? new Picture(pictureType, Arrays.copyOfRange(data, index, data.length)) : null;
+    }
+
+    /**
+     * 查找结束符位置（双字节结束符按2字节对齐查找）
+     */
+    private int indexOf(byte[] data, int from, int terminatorSize) {
+        for (int i = from; i + terminatorSize <= data.length; i += terminatorSize) {
+            if (data[i] == 0 && (terminatorSize == 1 || data[i + 1] == 0)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 还原反同步：去掉0xFF之后插入的0x00
+     */
+    private static byte[] removeUnsynchronisation(byte[] data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length);
+        for (int i = 0; i < data.length; i++) {
+            output.write(data[i]);
+            if ((data[i] & 0xFF) == 0xFF && i + 1 < data.length && data[i + 1] == 0) {
+                i++;
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static long syncSafe(byte[] data, int offset) {
+        return ((data[offset] & 0x7FL) << 21) | ((data[offset + 1] & 0x7FL) << 14)
+                | ((data[offset + 2] & 0x7FL) << 7) | (data[offset + 3] & 0x7FL);
+    }
+
+    private static int toInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static int toInt24(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 16) | ((data[offset + 1] & 0xFF) << 8) | (data[offset + 2] & 0xFF);
+    }
+}
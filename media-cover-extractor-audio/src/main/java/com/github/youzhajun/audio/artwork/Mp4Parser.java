@@ -0,0 +1,145 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MP4/M4A封面解析（moov/udta/meta/ilst/covr）
+ * <p>
+ * 只读取box头部，按box长度跳过mdat等媒体数据，moov位于文件末尾时同样只读取末尾的元数据。
+ * </p>
+ */
+class Mp4Parser {
+
+    private static final int BOX_HEADER_SIZE = 8;
+
+    /**
+     * data box中类型标识和语言字段的长度
+     */
+    private static final int DATA_PREFIX_SIZE = 8;
+
+    private final int maxPictureSize;
+
+    /**
+     * @param maxPictureSize 图片大小上限，超过的图片不读取
+     */
+    Mp4Parser(int maxPictureSize) {
+        this.maxPictureSize = maxPictureSize;
+    }
+
+    /**
+     * 判断是否为MP4文件（第一个box为ftyp）
+     */
+    static boolean isFile(byte[] header) {
+        return header.length >= 8 && "ftyp".equals(new String(header, 4, 4, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * 解析iTunes元数据中的全部封面
+     */
+    List<Picture> parse(ByteSource source) throws IOException {
+        List<Picture> pictures = new ArrayList<>();
+        Box moov = findChild(source, 0, source.size(), "moov");
+        if (moov == null) {
+            return pictures;
+        }
+        Box udta = findChild(source, moov.contentStart, moov.end, "udta");
+        Box meta = udta != null ? findChild(source, udta.contentStart, udta.end, "meta") : null;
+        if (meta == null) {
+            meta = findChild(source, moov.contentStart, moov.end, "meta");
+        }
+        if (meta == null) {
+            return pictures;
+        }
+
+        // ISO格式的meta是full box（带4字节版本和标志），QuickTime格式的meta直接以子box开始
+        long metaContent = meta.contentStart;
+        if (metaContent + 8 <= meta.end
+                && !"hdlr".equals(new String(source.read(metaContent + 4, 4), StandardCharsets.ISO_8859_1))) {
+            metaContent += 4;
+        }
+        Box ilst = findChild(source, metaContent, meta.end, "ilst");
+        Box covr = ilst != null ? findChild(source, ilst.contentStart, ilst.end, "covr") : null;
+        if (covr == null) {
+            return pictures;
+        }
+
+        long position = covr.contentStart;
+        while (true) {
+            Box data = readBox(source, position, covr.end);
+            if (data == null) {
+                break;
+            }
+            long length = data.end - data.contentStart - DATA_PREFIX_SIZE;
+            if ("data".equals(data.type) && length > 0 && length <= maxPictureSize) {
+                pictures.add(new Picture(Picture.UNKNOWN_TYPE,
+                        source.read(data.contentStart + DATA_PREFIX_SIZE, (int) length)));
+            }
+            position = data.end;
+        }
+        return pictures;
+    }
+
+    /**
+     * 在指定范围内查找第一个指定类型的子box
+     */
+    private Box findChild(ByteSource source, long start, long end, String type) throws IOException {
+        long position = start;
+        while (true) {
+            Box box = readBox(source, position, end);
+            if (box == null) {
+                return null;
+            }
+            if (type.equals(box.type)) {
+                return box;
+            }
+            position = box.end;
+        }
+    }
+
+    /**
+     * 读取box头部
+     *
+     * @return box，超出范围或长度非法时返回null
+     */
+    private Box readBox(ByteSource source, long position, long end) throws IOException {
+        if (position + BOX_HEADER_SIZE > end) {
+            return null;
+        }
+        byte[] header = source.read(position, BOX_HEADER_SIZE);
+        long size = ((header[0] & 0xFFL) << 24) | ((header[1] & 0xFFL) << 16)
+                | ((header[2] & 0xFFL) << 8) | (header[3] & 0xFFL);
+        String type = new String(header, 4, 4, StandardCharsets.ISO_8859_1);
+        int headerSize = BOX_HEADER_SIZE;
+        if (size == 1) {
+            // 64位长度
+            if (position + 16 > end) {
+                return null;
+            }
+            size = source.readBuffer(position + BOX_HEADER_SIZE, 8).getLong();
+            headerSize = 16;
+        } else if (size == 0) {
+            // 延伸到父box末尾
+            size = end - position;
+        }
+        if (size < headerSize || position + size > end) {
+            return null;
+        }
+        return new Box(type, position + headerSize, position + size);
+    }
+
+    private static class Box {
+
+        private final String type;
+        private final long contentStart;
+        private final long end;
+
+        private Box(String type, long contentStart, long end) {
+            this.type = type;
+            this.contentStart = contentStart;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Ogg Vorbis/Opus封面解析（注释头中的 METADATA_BLOCK_PICTURE）
+ * <p>
+ * 注释头是逻辑流的第二个包，紧跟在标识头之后。按页读取并拼接第一个逻辑流的前两个包，
+ * 注释头读取完整后即停止，不会读取后面的音频数据页。
+ * </p>
+ */
+class OggParser {
+
+    private static final int PAGE_HEADER_SIZE = 27;
+
+    private static final byte[] VORBIS_COMMENT_PREFIX = {3, 'v', 'o', 'r', 'b', 'i', 's'};
+    private static final byte[] OPUS_COMMENT_PREFIX = {'O', 'p', 'u', 's', 'T', 'a', 'g', 's'};
+
+    private static final String PICTURE_KEY = "METADATA_BLOCK_PICTURE=";
+
+    /**
+     * 旧版写法，值为Base64编码的图片原始数据
+     */
+    private static final String LEGACY_COVER_KEY = "COVERART=";
+
+    /**
+     * 注释头包索引（0为标识头）
+     */
+    private static final int COMMENT_PACKET_INDEX = 1;
+
+    private final int maxPacketSize;
+
+    /**
+     * @param maxPictureSize 图片大小上限（注释头按Base64编码后的长度限制）
+     */
+    OggParser(int maxPictureSize) {
+        this.maxPacketSize = maxPictureSize / 3 * 4 + 64 * 1024;
+    }
+
+    /**
+     * 判断是否为Ogg页
+     */
+    static boolean isStream(byte[] header) {
+        return header.length >= 4 && header[0] == 'O' && header[1] == 'g' && header[2] == 'g' && header[3] == 'S';
+    }
+
+    /**
+     * 解析第一个逻辑流注释头中的全部图片
+     */
+    List<Picture> parse(ByteSource source) throws IOException {
+        long size = source.size();
+        long position = 0;
+        Integer serial = null;
+        int packetIndex = 0;
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+
+        while (position + PAGE_HEADER_SIZE <= size) {
+            ByteBuffer header = source.readBuffer(position, PAGE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (!isStream(header.array())) {
+                break;
+            }
+            int pageSerial = header.getInt(14);
+            int segmentCount = header.get(26) & 0xFF;
+            byte[] segments = source.read(position + PAGE_HEADER_SIZE, segmentCount);
+            long bodyPosition = position + PAGE_HEADER_SIZE + segmentCount;
+            int bodyLength = 0;
+            for (byte segment : segments) {
+                bodyLength += segment & 0xFF;
+            }
+            position = bodyPosition + bodyLength;
+
+            if (serial == null) {
+                serial = pageSerial;
+            } else if (serial != pageSerial) {
+                // 其他逻辑流（多路复用）的页
+                continue;
+            }
+
+            byte[] body = source.read(bodyPosition, bodyLength);
+            int offset = 0;
+            for (byte segment : segments) {
+                int length = segment & 0xFF;
+                if (packetIndex == COMMENT_PACKET_INDEX) {
+                    packet.write(body, offset, length);
+                    if (packet.size() > maxPacketSize) {
+                        return new ArrayList<>();
+                    }
+                }
+                offset += length;
+                // 长度小于255的段表示包结束
+                if (length < 255) {
+                    if (packetIndex == COMMENT_PACKET_INDEX) {
+                        return parseComments(packet.toByteArray());
+                    }
+                    packetIndex++;
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * 解析Vorbis注释：厂商字符串 注释数量 [长度 "KEY=value"]...（长度为32位小端整数）
+     */
+    private List<Picture> parseComments(byte[] packet) {
+        List<Picture> pictures = new ArrayList<>();
+        int prefixLength = startsWith(packet, VORBIS_COMMENT_PREFIX) ? VORBIS_COMMENT_PREFIX.length
+                : startsWith(packet, OPUS_COMMENT_PREFIX) ? OPUS_COMMENT_PREFIX.length : -1;
+        if (prefixLength < 0) {
+            return pictures;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(packet).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(prefixLength);
+        if (!skipString(buffer) || buffer.remaining() < 4) {
+            return pictures;
+        }
+        long count = buffer.getInt() & 0xFFFFFFFFL;
+        for (long i = 0; i < count && buffer.remaining() >= 4; i++) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            int start = buffer.position();
+            buffer.position(start + length);
+            if (hasKey(packet, start, length, PICTURE_KEY)) {
+                byte[] block = decodeValue(packet, start + PICTURE_KEY.length(), length - PICTURE_KEY.length());
+                Picture picture = block != null ? FlacParser.parsePictureBlock(ByteBuffer.wrap(block)) : null;
+                if (picture != null) {
+                    pictures.add(picture);
+                }
+            } else if (hasKey(packet, start, length, LEGACY_COVER_KEY)) {
+                byte[] data = decodeValue(packet, start + LEGACY_COVER_KEY.length(), length - LEGACY_COVER_KEY.length());
+                if (data != null && data.length > 0) {
+                    pictures.add(new Picture(Picture.UNKNOWN_TYPE, data));
+                }
+            }
+        }
+        return pictures;
+    }
+
+    private boolean skipString(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return false;
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return false;
+        }
+        buffer.position(buffer.position() + length);
+        return true;
+    }
+
+    /**
+     * 注释名不区分大小写
+     */
+    private boolean hasKey(byte[] data, int offset, int length, String key) {
+        if (length < key.length()) {
+            return false;
+        }
+        return key.equalsIgnoreCase(new String(data, offset, key.length(), StandardCharsets.US_ASCII));
+    }
+
+    private byte[] decodeValue(byte[] data, int offset, int length) {
+        try {
+            ByteBuffer decoded = Base64.getMimeDecoder().decode(ByteBuffer.wrap(data, offset, length));
+            byte[] result = new byte[decoded.remaining()];
+            decoded.get(result);
+            return result;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.youzhajun.audio.artwork;
+
+import java.util.List;
+
+/**
+ * 内嵌图片
+ */
+class Picture {
+
+    /**
+     * 正面封面（ID3v2/FLAC图片类型）
+     */
+    static final int FRONT_COVER = 3;
+
+    /**
+     * 容器格式没有定义图片类型时使用
+     */
+    static final int UNKNOWN_TYPE = -1;
+
+    private final int type;
+    private final byte[] data;
+
+    Picture(int type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * 优先选择正面封面，没有时选择第一张
+     *
+     * @return 图片原始字节，没有图片时返回null
+     */
+    static byte[] select(List<Picture> pictures) {
+        for (Picture picture : pictures) {
+            if (picture.type == FRONT_COVER) {
+                return picture.data;
+            }
+        }
+        return pictures.isEmpty() ? null : pictures.get(0).data;
+    }
+}
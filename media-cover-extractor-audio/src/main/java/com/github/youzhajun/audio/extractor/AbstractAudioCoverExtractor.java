@@ -2,6 +2,7 @@ package com.github.youzhajun.audio.extractor;
 
 import com.github.youzhajun.common.enums.FileType;
 import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.ExtractSkipException;
 import com.github.youzhajun.common.extractor.CoverExtractor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,6 +35,10 @@ public abstract class AbstractAudioCoverExtractor implements CoverExtractor {
             
             log.info("音频封面处理成功: {} -> {}", sourceFile.getName(), coverFile.getAbsolutePath());
             return coverFile;
+        } catch (ExtractSkipException e) {
+            // 交由下一个音频抽取器处理
+            log.debug("音频封面处理跳过: {}, 原因: {}", sourceFile.getName(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("音频封面处理失败: {}", e.getMessage(), e);
             throw new ExtractException("音频封面处理失败: " + e.getMessage(), e);
@@ -13,7 +13,7 @@ import java.util.UUID;
 /**
  * 默认音频封面抽取器
  * <p>
- * 返回默认的音频封面图片
+ * 返回默认的音频封面图片（启用内嵌封面抽取时，只有音频文件不包含内嵌封面才会使用）
  * </p>
  */
 @Slf4j
@@ -0,0 +1,154 @@
+package com.github.youzhajun.audio.extractor;
+
+import com.github.youzhajun.audio.artwork.AudioArtworkReader;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+
+/**
+ * 音频内嵌封面抽取器
+ * <p>
+ * 读取音频文件标签中内嵌的专辑封面（ID3v2、FLAC、MP4/M4A、Ogg Vorbis/Opus），
+ * 尺寸和格式符合配置时原样输出图片字节，否则解码后缩放并转码。
+ * 没有内嵌封面时跳过，由 {@link DefaultAudioCoverExtractor} 返回默认封面。
+ * </p>
+ */
+@Slf4j
+public class EmbeddedArtworkCoverExtractor extends AbstractAudioCoverExtractor {
+
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final MemoryBudget memoryBudget;
+    private final AudioArtworkReader artworkReader = new AudioArtworkReader();
+
+    public EmbeddedArtworkCoverExtractor(String baseOutputDirectory,
+                                         boolean useDateSubdirectory,
+                                         String outputFormat,
+                                         ImageProcessStrategy strategy,
+                                         Integer width,
+                                         Integer height) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（解码封面前按图片头部记录的尺寸预留）
+     */
+    public EmbeddedArtworkCoverExtractor(String baseOutputDirectory,
+                                         boolean useDateSubdirectory,
+                                         String outputFormat,
+                                         ImageProcessStrategy strategy,
+                                         Integer width,
+                                         Integer height,
+                                         MemoryBudget memoryBudget) {
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+    }
+
+    @Override
+    protected File doExtract(File sourceFile) {
+        byte[] artwork;
+        try {
+            artwork = artworkReader.read(sourceFile);
+        } catch (IOException e) {
+            throw new ExtractSkipException("读取音频标签失败: " + e.getMessage(), e);
+        }
+        if (artwork == null) {
+            throw new ExtractSkipException("音频文件不包含内嵌封面");
+        }
+        String artworkFormat = detectFormat(artwork);
+        if (artworkFormat == null) {
+            throw new ExtractSkipException("不支持的内嵌封面图片格式");
+        }
+
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+        try {
+            Dimension size = ImageProcessUtil.readSize(new ByteArrayInputStream(artwork));
+            if (size == null) {
+                throw new ExtractSkipException("无法识别内嵌封面图片");
+            }
+            Dimension target = ImageProcessUtil.computeTargetSize(size.width, size.height, strategy, width, height);
+            if (target.equals(size) && isSameFormat(artworkFormat, outputFormat)) {
+                // 尺寸和格式都符合要求时直接写出原始字节
+                Files.write(outputFile.toPath(), artwork);
+            } else {
+                try (MemoryBudget.Reservation ignored = memoryBudget.reserve(
+                        MemoryBudget.estimateImageBytes(size.width, size.height)
+                                + MemoryBudget.estimateImageBytes(target.width, target.height))) {
+                    BufferedImage image = ImageIO.read(new ByteArrayInputStream(artwork));
+                    if (image == null) {
+                        throw new ExtractSkipException("无法解码内嵌封面图片");
+                    }
+                    ImageProcessUtil.write(ImageProcessUtil.resize(image, strategy, width, height), outputFormat, outputFile);
+                }
+            }
+            log.debug("音频内嵌封面: {}x{} {}", size.width, size.height, artworkFormat);
+            return outputFile;
+        } catch (ExtractException e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw e;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractException("内嵌封面处理失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return 380;
+    }
+
+    /**
+     * 根据文件头识别图片格式
+     */
+    private String detectFormat(byte[] data) {
+        if (data.length > 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8) {
+            return "jpg";
+        }
+        if (data.length > 8 && (data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return "png";
+        }
+        if (data.length > 6 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F') {
+            return "gif";
+        }
+        if (data.length > 2 && data[0] == 'B' && data[1] == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    private boolean isSameFormat(String sourceFormat, String targetFormat) {
+        return normalize(sourceFormat).equals(normalize(targetFormat));
+    }
+
+    private String normalize(String format) {
+        String lower = format.toLowerCase();
+        return "jpeg".equals(lower) ? "jpg" : lower;
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.youzhajun.audio.extractor;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 音频波形封面抽取器
+ * <p>
+ * 音频文件没有内嵌封面时，使用FFmpeg一次调用绘制波形图作为封面：只解码开头的有限时长，
+ * 混合为单声道并降采样后直接按输出尺寸绘制，并限制FFmpeg的执行时间。
+ * 绘制失败（例如FFmpeg不可用或超时）时跳过，由 {@link DefaultAudioCoverExtractor} 返回默认封面。
+ * </p>
+ */
+@Slf4j
+public class WaveformAudioCoverExtractor extends AbstractAudioCoverExtractor {
+
+    /**
+     * 未配置输出尺寸时的波形图尺寸
+     */
+    private static final int DEFAULT_WIDTH = 800;
+    private static final int DEFAULT_HEIGHT = 300;
+
+    /**
+     * 绘制波形前的降采样率（波形图的水平分辨率远低于原始采样率）
+     */
+    private static final int SAMPLE_RATE = 8000;
+
+    /**
+     * 颜色只允许FFmpeg颜色名、十六进制值和透明度后缀，避免破坏过滤器语法
+     */
+    private static final Pattern COLOR_PATTERN = Pattern.compile("[A-Za-z0-9#@.]+");
+
+    private final FfmpegExecutor ffmpegExecutor;
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final int width;
+    private final int height;
+    private final String waveformColor;
+    private final String backgroundColor;
+    private final long maxDecodeSeconds;
+    private final long timeoutSeconds;
+
+    /**
+     * @param strategy         图片处理策略（SCALE/CROP时按配置的宽高绘制，否则使用默认尺寸）
+     * @param waveformColor    波形颜色（FFmpeg颜色语法，如 0x3A7BD5、red）
+     * @param backgroundColor  背景颜色
+     * @param maxDecodeSeconds 最多解码的音频时长（秒），小于等于0表示解码全部
+     * @param timeoutSeconds   FFmpeg执行超时时间（秒），小于等于0表示不限制
+     */
+    public WaveformAudioCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                                       String baseOutputDirectory,
+                                       boolean useDateSubdirectory,
+                                       String outputFormat,
+                                       ImageProcessStrategy strategy,
+                                       Integer width,
+                                       Integer height,
+                                       String waveformColor,
+                                       String backgroundColor,
+                                       long maxDecodeSeconds,
+                                       long timeoutSeconds) {
+        boolean resizable = strategy != null && strategy != ImageProcessStrategy.NONE && width != null && height != null;
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.width = resizable ? width : DEFAULT_WIDTH;
+        this.height = resizable ? height : DEFAULT_HEIGHT;
+        this.waveformColor = validateColor(waveformColor);
+        this.backgroundColor = validateColor(backgroundColor);
+        this.maxDecodeSeconds = maxDecodeSeconds;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    protected File doExtract(File sourceFile) {
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+
+        try {
+            ffmpegExecutor.execute(TimeUnit.SECONDS.toMillis(timeoutSeconds), buildArguments(sourceFile, outputFile));
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractSkipException("音频波形绘制失败: " + e.getMessage(), e);
+        }
+        if (!outputFile.exists() || outputFile.length() == 0) {
+            outputFile.delete();
+            throw new ExtractSkipException("音频波形绘制失败，输出文件未生成");
+        }
+        return outputFile;
+    }
+
+    @Override
+    public int getOrder() {
+        return 390;
+    }
+
+    /**
+     * 构建FFmpeg参数：-t 限制读取时长，单声道降采样后绘制波形并叠加到纯色背景上，只输出一帧
+     */
+    private String[] buildArguments(File sourceFile, File outputFile) {
+        String size = width + "x" + height;
+        String filter = "[0:a:0]aformat=channel_layouts=mono,aresample=" + SAMPLE_RATE
+                + ",showwavespic=s=" + size + ":colors=" + waveformColor + "[wave];"
+                + "color=c=" + backgroundColor + ":s=" + size + "[background];"
+                + "[background][wave]overlay=shortest=1:format=auto";
+
+        List<String> args = new ArrayList<>();
+        args.add("-hide_banner");
+        if (maxDecodeSeconds > 0) {
+            // 输入选项：只读取开头的指定时长，长音频不会被完整解码
+            args.add("-t");
+            args.add(String.valueOf(maxDecodeSeconds));
+        }
+        args.add("-i");
+        args.add(sourceFile.getAbsolutePath());
+        args.add("-filter_complex");
+        args.add(filter);
+        args.add("-frames:v");
+        args.add("1");
+        args.add("-update");
+        args.add("1");
+        args.add("-y");
+        args.add(outputFile.getAbsolutePath());
+        return args.toArray(new String[0]);
+    }
+
+    private static String validateColor(String color) {
+        if (color == null || !COLOR_PATTERN.matcher(color).matches()) {
+            throw new IllegalArgumentException("波形颜色格式不正确: " + color);
+        }
+        return color;
+    }
+}
@@ -1,24 +1,50 @@
 package com.github.youzhajun.autoconfigure.config;
 
 import com.github.youzhajun.audio.extractor.DefaultAudioCoverExtractor;
+import com.github.youzhajun.audio.extractor.EmbeddedArtworkCoverExtractor;
+import com.github.youzhajun.audio.extractor.WaveformAudioCoverExtractor;
 import com.github.youzhajun.autoconfigure.service.MediaCoverExtractorService;
+import com.github.youzhajun.common.extractor.AnimatedPreviewExtractor;
 import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
 import com.github.youzhajun.common.properties.MediaCoverProperties;
+import com.github.youzhajun.document.executor.LibreOfficeBatchConverter;
 import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import com.github.youzhajun.document.executor.LibreOfficeInstancePool;
 import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import com.github.youzhajun.document.executor.PdfRenderWorkerPool;
 import com.github.youzhajun.document.extractor.DocumentCoverExtractor;
+import com.github.youzhajun.document.extractor.EmbeddedThumbnailCoverExtractor;
+import com.github.youzhajun.document.extractor.TextCoverExtractor;
 import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.ExifPreviewCoverExtractor;
 import com.github.youzhajun.ffmpeg.extractor.ImageCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.ImageIoCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.VideoAnimatedPreviewExtractor;
 import com.github.youzhajun.ffmpeg.extractor.VideoCoverExtractor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import com.github.youzhajun.ffmpeg.frame.FrameSelector;
+import com.github.youzhajun.ffmpeg.mp4.Mp4IndexReader;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
+import com.github.youzhajun.ffmpeg.storyboard.StoryboardGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 媒体封面抽取自动配置类
@@ -64,6 +90,20 @@ public class MediaCoverAutoConfiguration {
         }
     }
 
+    /**
+     * 位图内存预算（JVM内的PDF渲染、图片解码和文本绘制共用）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public MemoryBudget mediaCoverMemoryBudget() {
+        MediaCoverProperties.MemoryConfig config = properties.getMemory();
+        log.debug("创建位图内存预算，总预算: {}MB", config.getBudgetMegabytes());
+        return new MemoryBudget(
+                config.getBudgetMegabytes() * 1024 * 1024,
+                TimeUnit.SECONDS.toMillis(config.getAcquireTimeoutSeconds())
+        );
+    }
+
     /**
      * FFmpeg执行器
      */
@@ -73,7 +113,58 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
     public FfmpegExecutor ffmpegExecutor() {
         log.debug("创建FFmpeg执行器");
-        return new FfmpegExecutor(properties.getFfmpeg().getPath());
+        return new FfmpegExecutor(properties.getFfmpeg().getPath(), properties.getFfmpeg().getFfprobePath());
+    }
+
+    /**
+     * MP4/MOV索引读取器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.mp4.Mp4IndexReader")
+    @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Mp4IndexReader mp4IndexReader() {
+        log.debug("创建MP4/MOV索引读取器");
+        return new Mp4IndexReader();
+    }
+
+    /**
+     * 远程输入（HTTP/HTTPS）读取参数及统计
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.remote.RemoteInput")
+    @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RemoteInput remoteInput() {
+        MediaCoverProperties.RemoteConfig remote = properties.getRemote();
+        log.debug("创建远程输入，probesize: {}，analyzeduration: {}ms", remote.getProbeSize(), remote.getAnalyzeDurationMillis());
+        return new RemoteInput(
+                remote.getProbeSize(),
+                remote.getAnalyzeDurationMillis(),
+                remote.getIoTimeoutSeconds(),
+                remote.getTimeoutSeconds(),
+                remote.isReconnect()
+        );
+    }
+
+    /**
+     * 视频封面取帧策略（用户可自定义实现替换）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.frame.FrameSelector")
+    @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FrameSelector frameSelector(FfmpegExecutor ffmpegExecutor, Mp4IndexReader mp4IndexReader) {
+        MediaCoverProperties.VideoConfig video = properties.getVideo();
+        log.debug("创建视频封面取帧策略，取帧方式: {}，时间点: {}", video.getFrameSelectMode(), video.getFramePosition());
+        return new DefaultFrameSelector(
+                ffmpegExecutor,
+                video.getFrameSelectMode(),
+                video.getFramePosition(),
+                video.getThumbnailFrames(),
+                video.getThumbnailWindowSeconds(),
+                video.isKeyframeIndexEnabled() ? mp4IndexReader : null
+        );
     }
 
     /**
@@ -83,7 +174,8 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.extractor.VideoCoverExtractor")
     @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public VideoCoverExtractor videoCoverExtractor(FfmpegExecutor ffmpegExecutor) {
+    public VideoCoverExtractor videoCoverExtractor(FfmpegExecutor ffmpegExecutor, FrameSelector frameSelector,
+                                                   RemoteInput remoteInput) {
         log.debug("创建视频封面抽取器");
         return new VideoCoverExtractor(
                 ffmpegExecutor,
@@ -92,7 +184,60 @@ public class MediaCoverAutoConfiguration {
                 properties.getOutput().getFormat(),
                 properties.getOutput().getStrategy(),
                 properties.getOutput().getWidth(),
-                properties.getOutput().getHeight()
+                properties.getOutput().getHeight(),
+                frameSelector,
+                properties.getVideo().isAttachedPictureEnabled(),
+                remoteInput
+        );
+    }
+
+    /**
+     * 故事板生成器（视频进度条预览）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.storyboard.StoryboardGenerator")
+    @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public StoryboardGenerator storyboardGenerator(FfmpegExecutor ffmpegExecutor) {
+        log.debug("创建故事板生成器");
+        MediaCoverProperties.VideoConfig video = properties.getVideo();
+        return new StoryboardGenerator(
+                ffmpegExecutor,
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                video.getStoryboardTileWidth(),
+                video.getStoryboardTileHeight(),
+                video.getStoryboardIntervalSeconds(),
+                video.getStoryboardColumns(),
+                video.getStoryboardRows(),
+                video.getStoryboardMaxTiles(),
+                video.getStoryboardTimeoutSeconds()
+        );
+    }
+
+    /**
+     * 视频动态预览抽取器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.extractor.VideoAnimatedPreviewExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public VideoAnimatedPreviewExtractor videoAnimatedPreviewExtractor(FfmpegExecutor ffmpegExecutor) {
+        log.debug("创建视频动态预览抽取器");
+        MediaCoverProperties.VideoConfig video = properties.getVideo();
+        return new VideoAnimatedPreviewExtractor(
+                ffmpegExecutor,
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                video.getPreviewFormat(),
+                video.getPreviewSegmentCount(),
+                video.getPreviewSegmentSeconds(),
+                video.getPreviewFrameRate(),
+                video.getPreviewWidth(),
+                video.getPreviewHeight(),
+                video.getPreviewMaxKilobytes() * 1024,
+                video.getPreviewTimeoutSeconds()
         );
     }
 
@@ -103,7 +248,7 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.extractor.ImageCoverExtractor")
     @ConditionalOnProperty(prefix = "media.cover.ffmpeg", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public ImageCoverExtractor imageCoverExtractor(FfmpegExecutor ffmpegExecutor) {
+    public ImageCoverExtractor imageCoverExtractor(FfmpegExecutor ffmpegExecutor, RemoteInput remoteInput) {
         log.debug("创建图片封面抽取器");
         return new ImageCoverExtractor(
                 ffmpegExecutor,
@@ -112,7 +257,72 @@ public class MediaCoverAutoConfiguration {
                 properties.getOutput().getFormat(),
                 properties.getOutput().getStrategy(),
                 properties.getOutput().getWidth(),
-                properties.getOutput().getHeight()
+                properties.getOutput().getHeight(),
+                remoteInput,
+                properties.getImage().getFrameIndex()
+        );
+    }
+
+    /**
+     * EXIF内嵌预览图封面抽取器（JPEG和相机RAW，优先于完整解码原图）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.extractor.ExifPreviewCoverExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.image", name = "exif-preview-enabled", havingValue = "true", matchIfMissing = true)
+    public ExifPreviewCoverExtractor exifPreviewCoverExtractor(MemoryBudget memoryBudget) {
+        log.debug("创建EXIF内嵌预览图封面抽取器");
+        return new ExifPreviewCoverExtractor(
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * ImageIO图片封面抽取器（JVM内处理，优先于FFmpeg图片封面抽取器）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.ffmpeg.extractor.ImageIoCoverExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.image", name = "imageio-enabled", havingValue = "true", matchIfMissing = true)
+    public ImageIoCoverExtractor imageIoCoverExtractor(MemoryBudget memoryBudget) {
+        log.debug("创建ImageIO图片封面抽取器");
+        return new ImageIoCoverExtractor(
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                memoryBudget,
+                properties.getImage().getFrameIndex()
+        );
+    }
+
+    /**
+     * LibreOffice常驻实例池
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.document.executor.LibreOfficeInstancePool")
+    @ConditionalOnProperty(prefix = "media.cover.libreoffice", name = {"enabled", "pool-enabled"}, havingValue = "true")
+    public LibreOfficeInstancePool libreOfficeInstancePool() {
+        MediaCoverProperties.LibreOfficeConfig config = properties.getLibreoffice();
+        log.debug("创建LibreOffice常驻实例池，实例数量: {}", config.getPoolSize());
+        return new LibreOfficeInstancePool(
+                config.getPath(),
+                config.getPoolSize(),
+                config.getPoolPortBase(),
+                config.getMaxJobsPerInstance(),
+                config.getProfileDirectory(),
+                config.getLeaseTimeoutSeconds(),
+                config.getStartupTimeoutSeconds(),
+                config.getJobTimeoutSeconds()
         );
     }
 
@@ -123,13 +333,35 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "com.github.youzhajun.document.executor.LibreOfficeExecutor")
     @ConditionalOnProperty(prefix = "media.cover.libreoffice", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public LibreOfficeExecutor libreOfficeExecutor() {
+    public LibreOfficeExecutor libreOfficeExecutor(ObjectProvider<LibreOfficeInstancePool> instancePool) {
         log.debug("创建LibreOffice执行器");
         String path = properties.getLibreoffice().getPath();
         if (path == null || path.isEmpty()) {
             log.warn("LibreOffice路径未配置，文档处理功能将不可用");
         }
-        return new LibreOfficeExecutor(path);
+        MediaCoverProperties.LibreOfficeConfig config = properties.getLibreoffice();
+        String pageRange = config.isPageRangeEnabled() ? config.getPageRange() : null;
+        return new LibreOfficeExecutor(path, instancePool.getIfAvailable(), pageRange);
+    }
+
+    /**
+     * LibreOffice批量转换器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.document.executor.LibreOfficeBatchConverter")
+    @ConditionalOnProperty(prefix = "media.cover.libreoffice", name = {"enabled", "batch-enabled"}, havingValue = "true")
+    public LibreOfficeBatchConverter libreOfficeBatchConverter(LibreOfficeExecutor libreOfficeExecutor) {
+        MediaCoverProperties.LibreOfficeConfig config = properties.getLibreoffice();
+        // 启用实例池时每个实例可同时执行一个批次
+        int concurrency = config.isPoolEnabled() ? config.getPoolSize() : 1;
+        log.debug("创建LibreOffice批量转换器，窗口: {}ms，最大批量: {}", config.getBatchWindowMillis(), config.getBatchMaxSize());
+        return new LibreOfficeBatchConverter(
+                libreOfficeExecutor,
+                config.getBatchWindowMillis(),
+                config.getBatchMaxSize(),
+                concurrency
+        );
     }
 
     /**
@@ -139,9 +371,43 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "com.github.youzhajun.document.executor.PdfBoxExecutor")
     @ConditionalOnProperty(prefix = "media.cover.libreoffice", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public PdfBoxExecutor pdfBoxExecutor() {
+    public PdfBoxExecutor pdfBoxExecutor(ObjectProvider<PdfRenderWorkerPool> workerPool, MemoryBudget memoryBudget) {
         log.debug("创建PDFBox执行器");
-        return new PdfBoxExecutor();
+        MediaCoverProperties.PdfConfig config = properties.getPdf();
+        return new PdfBoxExecutor(
+                config.getLoadMode(),
+                config.getMaxMainMemoryMegabytes() * 1024 * 1024,
+                config.getScratchDirectory(),
+                config.isFastPathEnabled(),
+                properties.getDocument().getPreviewParallelism(),
+                workerPool.getIfAvailable(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * PDF渲染子进程池
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.document.executor.PdfRenderWorkerPool")
+    @ConditionalOnProperty(prefix = "media.cover.pdf", name = "worker-enabled", havingValue = "true")
+    public PdfRenderWorkerPool pdfRenderWorkerPool() {
+        MediaCoverProperties.PdfConfig config = properties.getPdf();
+        log.debug("创建PDF渲染子进程池，子进程数量: {}，最大堆内存: {}MB", config.getWorkerPoolSize(), config.getWorkerMaxHeapMegabytes());
+        return new PdfRenderWorkerPool(
+                config.getWorkerJavaPath(),
+                config.getWorkerClasspath(),
+                config.getWorkerPoolSize(),
+                config.getWorkerMaxHeapMegabytes(),
+                config.getWorkerMaxJobs(),
+                config.getWorkerLeaseTimeoutSeconds(),
+                config.getWorkerJobTimeoutSeconds(),
+                config.getLoadMode(),
+                config.getMaxMainMemoryMegabytes() * 1024 * 1024,
+                config.getScratchDirectory(),
+                config.isFastPathEnabled()
+        );
     }
 
     /**
@@ -152,14 +418,114 @@ public class MediaCoverAutoConfiguration {
     @ConditionalOnClass(name = "com.github.youzhajun.document.extractor.DocumentCoverExtractor")
     @ConditionalOnProperty(prefix = "media.cover.libreoffice", name = "enabled", havingValue = "true", matchIfMissing = true)
     public DocumentCoverExtractor documentCoverExtractor(LibreOfficeExecutor libreOfficeExecutor,
-                                                         PdfBoxExecutor pdfBoxExecutor) {
+                                                         PdfBoxExecutor pdfBoxExecutor,
+                                                         ObjectProvider<LibreOfficeBatchConverter> batchConverter,
+                                                         MemoryBudget memoryBudget) {
         log.debug("创建文档封面抽取器");
         return new DocumentCoverExtractor(
                 libreOfficeExecutor,
                 pdfBoxExecutor,
                 properties.getOutput().getDirectory(),
                 properties.getOutput().isUseDateSubdirectory(),
-                properties.getOutput().getFormat()
+                properties.getOutput().getFormat(),
+                batchConverter.getIfAvailable(),
+                properties.getLibreoffice().getRenderStrategies(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                properties.getDocument().getPreviewMaxPages(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * 文档内嵌缩略图封面抽取器（优先于文档封面抽取器）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.document.extractor.EmbeddedThumbnailCoverExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.document", name = "embedded-thumbnail-enabled", havingValue = "true", matchIfMissing = true)
+    public EmbeddedThumbnailCoverExtractor embeddedThumbnailCoverExtractor(MemoryBudget memoryBudget) {
+        log.debug("创建文档内嵌缩略图封面抽取器");
+        return new EmbeddedThumbnailCoverExtractor(
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * 纯文本文档封面抽取器（优先于文档封面抽取器）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.document.extractor.TextCoverExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.document", name = "text-render-enabled", havingValue = "true", matchIfMissing = true)
+    public TextCoverExtractor textCoverExtractor(MemoryBudget memoryBudget) {
+        log.debug("创建纯文本文档封面抽取器");
+        MediaCoverProperties.DocumentConfig config = properties.getDocument();
+        return new TextCoverExtractor(
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                config.getTextExtensions(),
+                config.getTextMaxBytes(),
+                config.getTextFallbackCharset(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * 音频内嵌封面抽取器（优先于默认音频封面抽取器）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "com.github.youzhajun.audio.extractor.EmbeddedArtworkCoverExtractor")
+    @ConditionalOnProperty(prefix = "media.cover.audio", name = "embedded-artwork-enabled", havingValue = "true", matchIfMissing = true)
+    public EmbeddedArtworkCoverExtractor embeddedArtworkCoverExtractor(MemoryBudget memoryBudget) {
+        log.debug("创建音频内嵌封面抽取器");
+        return new EmbeddedArtworkCoverExtractor(
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                memoryBudget
+        );
+    }
+
+    /**
+     * 音频波形封面抽取器（没有内嵌封面时绘制波形图）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = {"com.github.youzhajun.audio.extractor.WaveformAudioCoverExtractor",
+            "com.github.youzhajun.ffmpeg.executor.FfmpegExecutor"})
+    @ConditionalOnProperty(prefix = "media.cover.audio", name = "waveform-enabled", havingValue = "true")
+    @ConditionalOnBean(FfmpegExecutor.class)
+    public WaveformAudioCoverExtractor waveformAudioCoverExtractor(FfmpegExecutor ffmpegExecutor) {
+        log.debug("创建音频波形封面抽取器");
+        MediaCoverProperties.AudioConfig audio = properties.getAudio();
+        return new WaveformAudioCoverExtractor(
+                ffmpegExecutor,
+                properties.getOutput().getDirectory(),
+                properties.getOutput().isUseDateSubdirectory(),
+                properties.getOutput().getFormat(),
+                properties.getOutput().getStrategy(),
+                properties.getOutput().getWidth(),
+                properties.getOutput().getHeight(),
+                audio.getWaveformColor(),
+                audio.getWaveformBackgroundColor(),
+                audio.getWaveformMaxDecodeSeconds(),
+                audio.getWaveformTimeoutSeconds()
         );
     }
 
@@ -183,9 +549,109 @@ public class MediaCoverAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public MediaCoverExtractorService mediaCoverExtractorService(List<CoverExtractor> extractors) {
+    public MediaCoverExtractorService mediaCoverExtractorService(List<CoverExtractor> extractors,
+                                                                 ObjectProvider<AnimatedPreviewExtractor> animatedPreviewExtractors) {
         log.debug("创建媒体封面抽取服务");
-        return new MediaCoverExtractorService(extractors);
+        return new MediaCoverExtractorService(extractors, animatedPreviewExtractors.orderedStream().toList());
     }
-}
 
+    /**
+     * 启动预热（应用启动后在后台执行，预热期间可拒绝流量）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "media.cover.warmup", name = "enabled", havingValue = "true")
+    public MediaCoverWarmUp mediaCoverWarmUp(ApplicationEventPublisher eventPublisher,
+                                             ObjectProvider<PdfBoxExecutor> pdfBoxExecutor,
+                                             ObjectProvider<FfmpegExecutor> ffmpegExecutor,
+                                             ObjectProvider<LibreOfficeExecutor> libreOfficeExecutor) {
+        log.debug("创建启动预热任务");
+        long taskTimeoutMillis = TimeUnit.SECONDS.toMillis(properties.getWarmup().getTaskTimeoutSeconds());
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        pdfBoxExecutor.ifAvailable(executor -> tasks.put("PDFBox", executor::warmUp));
+        ffmpegExecutor.ifAvailable(executor -> tasks.put("FFmpeg", executor::warmUp));
+        String libreOfficePath = properties.getLibreoffice().getPath();
+        if (libreOfficePath != null && !libreOfficePath.isEmpty()) {
+            libreOfficeExecutor.ifAvailable(executor -> tasks.put("LibreOffice", () -> executor.warmUp(taskTimeoutMillis)));
+        }
+        return new MediaCoverWarmUp(eventPublisher, tasks, properties.getWarmup().isHoldReadiness(), taskTimeoutMillis);
+    }
+
+    /**
+     * 位图内存预算监控指标（引入micrometer时注册）
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MemoryBudgetMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "mediaCoverMemoryBudgetMetrics")
+        public MeterBinder mediaCoverMemoryBudgetMetrics(MemoryBudget memoryBudget) {
+            return registry -> {
+                Gauge.builder("media.cover.memory.reserved", memoryBudget, MemoryBudget::getReservedBytes)
+                        .description("当前预留的位图内存")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("media.cover.memory.budget", memoryBudget, MemoryBudget::getBudgetBytes)
+                        .description("位图内存总预算（小于等于0表示不限制）")
+                        .baseUnit("bytes")
+                        .register(registry);
+            };
+        }
+    }
+
+    /**
+     * 远程输入监控指标（引入micrometer时注册）
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry", "com.github.youzhajun.ffmpeg.remote.RemoteInput"})
+    static class RemoteInputMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "mediaCoverRemoteInputMetrics")
+        public MeterBinder mediaCoverRemoteInputMetrics(ObjectProvider<RemoteInput> remoteInput) {
+            return registry -> {
+                RemoteInput input = remoteInput.getIfAvailable();
+                if (input == null) {
+                    return;
+                }
+                FunctionCounter.builder("media.cover.remote.sources", input, RemoteInput::getSources)
+                        .description("读取的远程文件次数")
+                        .register(registry);
+                FunctionCounter.builder("media.cover.remote.read", input, RemoteInput::getBytesRead)
+                        .description("从远程文件实际读取的字节数")
+                        .baseUnit("bytes")
+                        .register(registry);
+            };
+        }
+    }
+
+    /**
+     * MP4/MOV索引监控指标（引入micrometer时注册）
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry", "com.github.youzhajun.ffmpeg.mp4.Mp4IndexReader"})
+    static class Mp4IndexMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "mediaCoverMp4IndexMetrics")
+        public MeterBinder mediaCoverMp4IndexMetrics(ObjectProvider<Mp4IndexReader> mp4IndexReader) {
+            return registry -> {
+                Mp4IndexReader reader = mp4IndexReader.getIfAvailable();
+                if (reader == null) {
+                    return;
+                }
+                FunctionCounter.builder("media.cover.mp4.indexed", reader, Mp4IndexReader::getIndexedFiles)
+                        .description("已读取moov索引的MP4/MOV文件数")
+                        .register(registry);
+                FunctionCounter.builder("media.cover.mp4.non.faststart", reader, Mp4IndexReader::getNonFaststartFiles)
+                        .description("moov位于mdat之后（非faststart）的MP4/MOV文件数")
+                        .register(registry);
+                FunctionCounter.builder("media.cover.mp4.index.read", reader, Mp4IndexReader::getBytesRead)
+                        .description("读取MP4/MOV索引累计读取的字节数")
+                        .baseUnit("bytes")
+                        .register(registry);
+            };
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.youzhajun.autoconfigure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 启动预热
+ * <p>
+ * 应用上下文启动完成（{@link ApplicationStartedEvent}）时在后台依次执行预热任务（PDFBox字体缓存与渲染、FFmpeg、LibreOffice），
+ * 避免首个请求承担冷启动开销，启动线程不等待预热。开启 holdReadiness 时启动后将就绪状态置为 REFUSING_TRAFFIC；
+ * Spring Boot 在 {@link ApplicationReadyEvent} 之后会发布 ACCEPTING_TRAFFIC，预热尚未结束时由
+ * {@link MediaCoverWarmUpRunListener} 紧接着重新发布 REFUSING_TRAFFIC，预热线程结束后再发布 ACCEPTING_TRAFFIC。
+ * 每个任务在独立线程中执行并限制超时时间，单个任务失败或超时只打印日志，不影响其他任务和应用启动。
+ * </p>
+ */
+@Slf4j
+public class MediaCoverWarmUp implements ApplicationListener<ApplicationStartedEvent> {
+
+    /**
+     * 默认单个预热任务超时时间
+     */
+    public static final long DEFAULT_TASK_TIMEOUT_MILLIS = 120_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Runnable> tasks;
+    private final boolean holdReadiness;
+    private final long taskTimeoutMillis;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final Object readinessLock = new Object();
+    private boolean ready = false;
+
+    /**
+     * @param eventPublisher 事件发布器（用于更新就绪状态）
+     * @param tasks          预热任务（按插入顺序执行）
+     * @param holdReadiness  预热完成前是否拒绝流量
+     */
+    public MediaCoverWarmUp(ApplicationEventPublisher eventPublisher, Map<String, Runnable> tasks, boolean holdReadiness) {
+        this(eventPublisher, tasks, holdReadiness, DEFAULT_TASK_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param taskTimeoutMillis 单个预热任务超时时间（毫秒），超时后中断该任务并继续执行下一个，小于等于0表示不限制
+     */
+    public MediaCoverWarmUp(ApplicationEventPublisher eventPublisher, Map<String, Runnable> tasks, boolean holdReadiness,
+                            long taskTimeoutMillis) {
+        this.eventPublisher = eventPublisher;
+        this.tasks = new LinkedHashMap<>(tasks);
+        this.holdReadiness = holdReadiness;
+        this.taskTimeoutMillis = taskTimeoutMillis;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        start();
+    }
+
+    /**
+     * 应用进入就绪阶段（Spring Boot 已发布 ACCEPTING_TRAFFIC）时调用：预热尚未结束则重新拒绝流量，由预热线程结束后恢复
+     */
+    public void onReady() {
+        synchronized (readinessLock) {
+            ready = true;
+            if (holdReadiness && started.get() && !isFinished()) {
+                log.info("媒体封面抽取预热尚未结束，预热结束后再接收流量");
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }
+    }
+
+    /**
+     * 预热是否已完成
+     */
+    public boolean isFinished() {
+        return done.getCount() == 0;
+    }
+
+    /**
+     * 等待预热结束
+     *
+     * @return 是否在超时时间内结束
+     */
+    public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    private void start() {
+        // 父子上下文等场景下只预热一次
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        if (holdReadiness) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+
+        Thread thread = new Thread(this::warmUp, "media-cover-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        log.info("媒体封面抽取预热开始，任务: {}", tasks.keySet());
+        long start = System.currentTimeMillis();
+        try {
+            for (Map.Entry<String, Runnable> task : tasks.entrySet()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                runTask(task.getKey(), task.getValue());
+            }
+        } finally {
+            finish();
+            log.info("媒体封面抽取预热结束，总耗时: {}ms", System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 在独立线程中执行预热任务，超时后中断任务线程（任务线程为守护线程，不阻止JVM退出）
+     */
+    private void runTask(String name, Runnable task) {
+        long taskStart = System.currentTimeMillis();
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        Thread thread = new Thread(future, "media-cover-warmup-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            if (taskTimeoutMillis > 0) {
+                future.get(taskTimeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                future.get();
+            }
+            log.info("预热任务完成: {}, 耗时: {}ms", name, System.currentTimeMillis() - taskStart);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("预热任务超时: {}, 超时时间: {}ms，已中断并跳过", name, taskTimeoutMillis);
+        } catch (ExecutionException e) {
+            log.warn("预热任务失败: {}, 耗时: {}ms, 原因: {}",
+                    name, System.currentTimeMillis() - taskStart, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            log.warn("预热被中断: {}", name);
+        }
+    }
+
+    /**
+     * 标记预热结束，已进入就绪阶段时恢复接收流量
+     */
+    private void finish() {
+        synchronized (readinessLock) {
+            if (holdReadiness && ready) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.youzhajun.autoconfigure.config;
+
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * 启动预热的就绪阶段回调
+ * <p>
+ * 排在Spring Boot发布 ApplicationReadyEvent 和 ACCEPTING_TRAFFIC 的监听器之后执行，
+ * 此时重新发布的 REFUSING_TRAFFIC 不会再被框架的就绪事件覆盖，也不需要阻塞启动线程等待预热结束。
+ * </p>
+ */
+public class MediaCoverWarmUpRunListener implements SpringApplicationRunListener, Ordered {
+
+    @Override
+    public void ready(ConfigurableApplicationContext context, Duration timeTaken) {
+        context.getBeanProvider(MediaCoverWarmUp.class).orderedStream().forEach(MediaCoverWarmUp::onReady);
+    }
+
+    @Override
+    public int getOrder() {
+        // EventPublishingRunListener 的顺序为0
+        return 1;
+    }
+}
@@ -2,10 +2,17 @@ package com.github.youzhajun.autoconfigure.service;
 
 import com.github.youzhajun.common.enums.FileType;
 import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.extractor.AnimatedPreviewExtractor;
 import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.extractor.PagePreviewExtractor;
+import com.github.youzhajun.common.extractor.RemoteCoverExtractor;
+import com.github.youzhajun.common.util.RemoteUriUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.net.URI;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
@@ -16,12 +23,22 @@ import java.util.List;
 public class MediaCoverExtractorService {
 
     private final List<CoverExtractor> extractors;
+    private final List<AnimatedPreviewExtractor> animatedPreviewExtractors;
 
     public MediaCoverExtractorService(List<CoverExtractor> extractors) {
+        this(extractors, Collections.emptyList());
+    }
+
+    /**
+     * @param animatedPreviewExtractors 动态预览抽取器
+     */
+    public MediaCoverExtractorService(List<CoverExtractor> extractors,
+                                      List<AnimatedPreviewExtractor> animatedPreviewExtractors) {
         // 按优先级排序
         this.extractors = extractors.stream()
                 .sorted(Comparator.comparingInt(CoverExtractor::getOrder))
                 .toList();
+        this.animatedPreviewExtractors = List.copyOf(animatedPreviewExtractors);
     }
 
     /**
@@ -46,6 +63,131 @@ public class MediaCoverExtractorService {
      * @return 封面文件
      */
     public File extractCover(File sourceFile) {
+        FileType fileType = resolveFileType(sourceFile);
+
+        // 查找支持该文件类型的抽取器
+        for (CoverExtractor extractor : extractors) {
+            if (extractor.support(fileType, sourceFile)) {
+                log.info("使用抽取器: {} 处理文件: {}", 
+                        extractor.getClass().getSimpleName(), sourceFile.getName());
+                try {
+                    return extractor.extract(sourceFile);
+                } catch (ExtractSkipException e) {
+                    // 当前抽取器无法处理，继续尝试下一个抽取器
+                    log.debug("抽取器: {} 跳过文件: {}，原因: {}",
+                            extractor.getClass().getSimpleName(), sourceFile.getName(), e.getMessage());
+                }
+            }
+        }
+
+        throw new ExtractException("没有找到支持该文件类型的抽取器: " + fileType);
+    }
+
+    /**
+     * 从远程地址抽取封面（视频和图片由FFmpeg按范围请求读取，不下载整个文件）
+     *
+     * @param sourceUri 源文件地址（http或https，按路径中的文件名判断文件类型）
+     * @return 封面文件
+     */
+    public File extractCover(URI sourceUri) {
+        FileType fileType = resolveFileType(sourceUri);
+
+        for (CoverExtractor extractor : extractors) {
+            if (extractor instanceof RemoteCoverExtractor remoteExtractor && extractor.support(fileType)) {
+                log.info("使用抽取器: {} 处理远程文件: {}", extractor.getClass().getSimpleName(), sourceUri);
+                try {
+                    return remoteExtractor.extractRemote(sourceUri);
+                } catch (ExtractSkipException e) {
+                    log.debug("抽取器: {} 跳过远程文件: {}，原因: {}",
+                            extractor.getClass().getSimpleName(), sourceUri, e.getMessage());
+                }
+            }
+        }
+
+        throw new ExtractException("没有找到支持远程地址的抽取器: " + fileType);
+    }
+
+    /**
+     * 抽取前几页预览图片（文档只转换和解析一次）
+     *
+     * @param sourceFilePath 源文件路径（绝对路径）
+     * @param pageCount 需要的页数
+     * @return 按页码排列的预览图片
+     */
+    public List<File> extractPreviews(String sourceFilePath, int pageCount) {
+        if (sourceFilePath == null || sourceFilePath.isEmpty()) {
+            throw new ExtractException("源文件路径不能为空");
+        }
+
+        return extractPreviews(new File(sourceFilePath), pageCount);
+    }
+
+    /**
+     * 抽取前几页预览图片（文档只转换和解析一次）
+     *
+     * @param sourceFile 源文件
+     * @param pageCount 需要的页数
+     * @return 按页码排列的预览图片
+     */
+    public List<File> extractPreviews(File sourceFile, int pageCount) {
+        FileType fileType = resolveFileType(sourceFile);
+
+        for (CoverExtractor extractor : extractors) {
+            if (extractor instanceof PagePreviewExtractor previewExtractor && extractor.support(fileType, sourceFile)) {
+                log.info("使用抽取器: {} 抽取预览: {}",
+                        extractor.getClass().getSimpleName(), sourceFile.getName());
+                return previewExtractor.extractPreviews(sourceFile, pageCount);
+            }
+        }
+
+        throw new ExtractException("没有找到支持多页预览的抽取器: " + fileType);
+    }
+
+    /**
+     * 生成动态预览（短动图，用于鼠标悬停预览）
+     *
+     * @param sourceFilePath 源文件路径（绝对路径）
+     * @return 动图文件
+     */
+    public File extractAnimatedPreview(String sourceFilePath) {
+        if (sourceFilePath == null || sourceFilePath.isEmpty()) {
+            throw new ExtractException("源文件路径不能为空");
+        }
+
+        return extractAnimatedPreview(new File(sourceFilePath));
+    }
+
+    /**
+     * 生成动态预览（短动图，用于鼠标悬停预览）
+     *
+     * @param sourceFile 源文件
+     * @return 动图文件
+     */
+    public File extractAnimatedPreview(File sourceFile) {
+        FileType fileType = resolveFileType(sourceFile);
+
+        for (AnimatedPreviewExtractor extractor : animatedPreviewExtractors) {
+            if (extractor.support(fileType)) {
+                log.info("使用抽取器: {} 生成动态预览: {}",
+                        extractor.getClass().getSimpleName(), sourceFile.getName());
+                return extractor.extractAnimatedPreview(sourceFile);
+            }
+        }
+
+        throw new ExtractException("没有找到支持动态预览的抽取器: " + fileType);
+    }
+
+    /**
+     * 获取已加载的抽取器列表
+     */
+    public List<CoverExtractor> getExtractors() {
+        return extractors;
+    }
+
+    /**
+     * 校验源文件并判断文件类型
+     */
+    private FileType resolveFileType(File sourceFile) {
         if (sourceFile == null) {
             throw new ExtractException("源文件不能为null");
         }
@@ -66,23 +208,23 @@ public class MediaCoverExtractorService {
             throw new ExtractException("不支持的文件类型: " + sourceFile.getName());
         }
 
-        // 查找支持该文件类型的抽取器
-        for (CoverExtractor extractor : extractors) {
-            if (extractor.support(fileType)) {
-                log.info("使用抽取器: {} 处理文件: {}", 
-                        extractor.getClass().getSimpleName(), sourceFile.getName());
-                return extractor.extract(sourceFile);
-            }
-        }
-
-        throw new ExtractException("没有找到支持该文件类型的抽取器: " + fileType);
+        return fileType;
     }
 
     /**
-     * 获取已加载的抽取器列表
+     * 校验远程地址并按路径中的文件名判断文件类型
      */
-    public List<CoverExtractor> getExtractors() {
-        return extractors;
+    private FileType resolveFileType(URI sourceUri) {
+        RemoteUriUtil.validate(sourceUri);
+
+        FileType fileType = FileType.fromFileName(RemoteUriUtil.getFileName(sourceUri));
+        log.debug("检测远程文件类型: {} -> {}", sourceUri, fileType);
+
+        if (fileType == FileType.UNKNOWN) {
+            throw new ExtractException("不支持的文件类型: " + sourceUri);
+        }
+
+        return fileType;
     }
 }
 
@@ -0,0 +1,67 @@
+package com.github.youzhajun.common.enums;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 文档类别枚举（对应LibreOffice的文档组件，决定导出时使用的过滤器）
+ */
+@Getter
+public enum DocumentFamily {
+
+    // 文本文档（Writer）
+    TEXT("writer", new String[]{"doc", "docx", "odt", "rtf", "txt", "md", "log"}),
+
+    // 演示文稿（Impress）
+    PRESENTATION("impress", new String[]{"ppt", "pptx", "pps", "ppsx", "odp"}),
+
+    // 电子表格（Calc）
+    SPREADSHEET("calc", new String[]{"xls", "xlsx", "ods", "csv"});
+
+    private final String filterPrefix;
+    private final String[] extensions;
+
+    DocumentFamily(String filterPrefix, String[] extensions) {
+        this.filterPrefix = filterPrefix;
+        this.extensions = extensions;
+    }
+
+    /**
+     * PDF导出过滤器名称，例如 writer_pdf_Export
+     */
+    public String getPdfExportFilter() {
+        return filterPrefix + "_pdf_Export";
+    }
+
+    /**
+     * 图片导出过滤器名称，例如 writer_png_Export
+     *
+     * @param format 图片格式（png/jpg）
+     */
+    public String getImageExportFilter(String format) {
+        return filterPrefix + "_" + format.toLowerCase() + "_Export";
+    }
+
+    /**
+     * 根据文件名判断文档类别
+     *
+     * @return 文档类别，无法识别时返回null
+     */
+    public static DocumentFamily fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex == -1 || lastDotIndex == fileName.length() - 1) {
+            return null;
+        }
+        String ext = fileName.substring(lastDotIndex + 1).toLowerCase();
+        for (DocumentFamily family : values()) {
+            if (Arrays.asList(family.extensions).contains(ext)) {
+                return family;
+            }
+        }
+        return null;
+    }
+}
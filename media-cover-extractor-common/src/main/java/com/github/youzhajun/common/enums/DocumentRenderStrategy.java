@@ -0,0 +1,20 @@
+package com.github.youzhajun.common.enums;
+
+/**
+ * 文档封面渲染策略枚举
+ */
+public enum DocumentRenderStrategy {
+
+    /**
+     * 先通过LibreOffice转换为PDF，再使用PDFBox渲染第一页
+     */
+    PDF,
+
+    /**
+     * 由LibreOffice直接将第一页导出为图片（跳过PDF中间文件），失败时自动回退到PDF方式
+     * <p>
+     * 只在指定了封面尺寸时生效；图片处理策略为NONE时直接导出只能得到默认分辨率（约96DPI），仍使用PDF方式按300DPI渲染
+     * </p>
+     */
+    DIRECT_IMAGE
+}
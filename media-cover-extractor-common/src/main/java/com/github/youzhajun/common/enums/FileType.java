@@ -3,6 +3,7 @@ package com.github.youzhajun.common.enums;
 import lombok.Getter;
 
 import java.util.Arrays;
+import java.util.Set;
 
 /**
  * 文件类型枚举
@@ -14,17 +15,22 @@ public enum FileType {
     VIDEO("video", new String[]{"mp4", "avi", "mov", "wmv", "flv", "mkv", "webm", "m4v", "rmvb", "3gp"}),
 
     // 图片类型
-    IMAGE("image", new String[]{"jpg", "jpeg", "png", "gif", "bmp", "webp", "svg", "tiff", "ico"}),
+    IMAGE("image", new String[]{"jpg", "jpeg", "png", "gif", "bmp", "webp", "svg", "tiff", "ico", "cr2", "nef", "arw", "dng"}),
 
     // 文档类型
-    DOCUMENT("document", new String[]{"doc", "docx", "ppt", "pptx", "xls", "xlsx", "txt", "pdf", "pps"}),
+    DOCUMENT("document", new String[]{"doc", "docx", "ppt", "pptx", "xls", "xlsx", "txt", "pdf", "pps", "odt", "ods", "odp", "csv", "md", "log"}),
 
     // 音频类型
-    AUDIO("audio", new String[]{"mp3", "wav", "flac", "aac", "ogg", "wma", "m4a", "ape"}),
+    AUDIO("audio", new String[]{"mp3", "wav", "flac", "aac", "ogg", "wma", "m4a", "ape", "opus"}),
 
     // 未知类型
     UNKNOWN("unknown", new String[]{});
 
+    /**
+     * 相机RAW格式（TIFF结构，文件体积大且不能直接作为图片显示）
+     */
+    private static final Set<String> RAW_IMAGE_EXTENSIONS = Set.of("cr2", "nef", "arw", "dng");
+
     private final String type;
     private final String[] extensions;
 
@@ -67,5 +73,16 @@ public enum FileType {
         String extension = fileName.substring(lastDotIndex + 1);
         return fromExtension(extension);
     }
+
+    /**
+     * 根据文件名判断是否为相机RAW文件
+     */
+    public static boolean isRawImage(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        int lastDotIndex = fileName.lastIndexOf('.');
+        return lastDotIndex > 0 && RAW_IMAGE_EXTENSIONS.contains(fileName.substring(lastDotIndex + 1).toLowerCase());
+    }
 }
 
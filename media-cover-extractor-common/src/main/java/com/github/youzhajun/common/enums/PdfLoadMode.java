@@ -0,0 +1,22 @@
+package com.github.youzhajun.common.enums;
+
+/**
+ * PDF加载方式枚举
+ */
+public enum PdfLoadMode {
+
+    /**
+     * PDFBox默认方式：缓冲文件读取，解码后的流全部缓存在堆内存中
+     */
+    DEFAULT,
+
+    /**
+     * 缓冲随机访问文件读取，流缓存超出内存上限后写入临时文件
+     */
+    BUFFERED_FILE,
+
+    /**
+     * 内存映射文件读取（占用堆外内存，单个文件不能超过2GB），流缓存超出内存上限后写入临时文件
+     */
+    MEMORY_MAPPED
+}
@@ -0,0 +1,22 @@
+package com.github.youzhajun.common.enums;
+
+/**
+ * 视频封面取帧方式枚举
+ */
+public enum VideoFrameSelectMode {
+
+    /**
+     * 精确定位：输入端快速定位到目标时间点前的关键帧，再解码到目标时间点取帧
+     */
+    ACCURATE,
+
+    /**
+     * 只解码关键帧：取目标时间点之后的第一个关键帧，不解码中间的普通帧
+     */
+    KEYFRAME,
+
+    /**
+     * 从目标时间点开始的有限时间窗口内选取最具代表性的一帧（FFmpeg thumbnail过滤器），可避开黑屏和转场画面
+     */
+    THUMBNAIL
+}
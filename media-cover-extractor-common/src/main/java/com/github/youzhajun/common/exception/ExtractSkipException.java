@@ -0,0 +1,18 @@
+package com.github.youzhajun.common.exception;
+
+/**
+ * 跳过抽取异常
+ * <p>
+ * 抽取器无法处理当前文件（例如快速路径未命中）时抛出，统一服务会继续交由下一个支持该文件类型的抽取器处理
+ * </p>
+ */
+public class ExtractSkipException extends ExtractException {
+
+    public ExtractSkipException(String message) {
+        super(message);
+    }
+
+    public ExtractSkipException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.youzhajun.common.exception;
+
+/**
+ * 位图内存预算不足异常
+ * <p>
+ * 单个任务预估内存超出总预算，或等待其他任务释放预算超时时抛出。抽取器不应将其视为快速路径未命中而回退到其他处理方式
+ * </p>
+ */
+public class MemoryBudgetExceededException extends ExtractException {
+
+    public MemoryBudgetExceededException(String message) {
+        super(message);
+    }
+
+    public MemoryBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
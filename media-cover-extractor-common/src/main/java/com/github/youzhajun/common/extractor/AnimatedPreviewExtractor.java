@@ -0,0 +1,23 @@
+package com.github.youzhajun.common.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+
+import java.io.File;
+
+/**
+ * 动态预览抽取器接口（生成短动图，用于鼠标悬停预览）
+ */
+public interface AnimatedPreviewExtractor {
+
+    /**
+     * 判断是否支持该文件类型
+     */
+    boolean support(FileType fileType);
+
+    /**
+     * 生成动态预览
+     * @param sourceFile 源文件
+     * @return 动图文件（WebP或GIF）
+     */
+    File extractAnimatedPreview(File sourceFile);
+}
@@ -11,6 +11,9 @@ public interface CoverExtractor {
 
     /**
      * 抽取封面
+     * <p>
+     * 无法处理该文件时可抛出 {@link com.github.youzhajun.common.exception.ExtractSkipException}，交由下一个抽取器处理
+     * </p>
      * @param sourceFile 源文件
      * @return 封面文件
      */
@@ -23,6 +26,16 @@ public interface CoverExtractor {
      */
     boolean support(FileType fileType);
 
+    /**
+     * 判断是否支持该源文件（默认仅按文件类型判断，可按扩展名等进一步细化）
+     * @param fileType 文件类型
+     * @param sourceFile 源文件
+     * @return 是否支持
+     */
+    default boolean support(FileType fileType, File sourceFile) {
+        return support(fileType);
+    }
+
     /**
      * 获取抽取器优先级（数值越小优先级越高）
      * @return 优先级
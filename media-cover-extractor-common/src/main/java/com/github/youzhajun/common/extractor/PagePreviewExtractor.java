@@ -0,0 +1,18 @@
+package com.github.youzhajun.common.extractor;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * 多页预览抽取器接口（由支持分页的封面抽取器实现）
+ */
+public interface PagePreviewExtractor {
+
+    /**
+     * 抽取前几页的预览图片
+     * @param sourceFile 源文件
+     * @param pageCount 需要的页数（超过配置的最大页数或文档总页数时按较小值处理）
+     * @return 按页码排列的预览图片
+     */
+    List<File> extractPreviews(File sourceFile, int pageCount);
+}
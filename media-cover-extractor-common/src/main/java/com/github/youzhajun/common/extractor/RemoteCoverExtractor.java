@@ -0,0 +1,17 @@
+package com.github.youzhajun.common.extractor;
+
+import java.io.File;
+import java.net.URI;
+
+/**
+ * 远程封面抽取器接口（由支持HTTP/HTTPS地址输入的封面抽取器实现，按需分段读取源文件，不下载整个文件）
+ */
+public interface RemoteCoverExtractor {
+
+    /**
+     * 从远程地址抽取封面
+     * @param sourceUri 源文件地址（http或https）
+     * @return 封面文件
+     */
+    File extractRemote(URI sourceUri);
+}
@@ -0,0 +1,153 @@
+package com.github.youzhajun.common.memory;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 位图内存预算
+ * <p>
+ * PDF渲染、图片解码等JVM内位图处理在开始前按像素尺寸预估峰值内存，并从全局预算中预留；
+ * 预算不足时等待其他任务释放，超过等待时间或单个任务超出总预算时直接失败，避免并发任务同时分配大位图导致堆内存溢出。
+ * 总预算小于等于0时不限制，只统计当前预留的内存。
+ * </p>
+ * <pre>
+ * try (MemoryBudget.Reservation ignored = memoryBudget.reserve(MemoryBudget.estimateImageBytes(width, height))) {
+ *     // 分配位图并处理
+ * }
+ * </pre>
+ */
+@Slf4j
+public class MemoryBudget {
+
+    /**
+     * 预估位图内存时每像素的字节数（按ARGB计算，包含渲染过程中的中间位图余量）
+     */
+    public static final int BYTES_PER_PIXEL = 4;
+
+    private final long budgetBytes;
+    private final long acquireTimeoutMillis;
+    private long reservedBytes = 0;
+
+    /**
+     * @param budgetBytes          总预算（字节），小于等于0表示不限制
+     * @param acquireTimeoutMillis 预算不足时的最长等待时间（毫秒），小于等于0表示不等待直接失败
+     */
+    public MemoryBudget(long budgetBytes, long acquireTimeoutMillis) {
+        this.budgetBytes = budgetBytes;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        if (isLimited()) {
+            log.debug("位图内存预算: {} bytes, 等待超时: {}ms", budgetBytes, acquireTimeoutMillis);
+        }
+    }
+
+    /**
+     * 不限制总量的预算（只统计预留的内存）
+     */
+    public static MemoryBudget unlimited() {
+        return new MemoryBudget(0, 0);
+    }
+
+    /**
+     * 预估指定像素尺寸的位图占用的内存
+     */
+    public static long estimateImageBytes(long width, long height) {
+        return Math.max(0, width) * Math.max(0, height) * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * 预留内存，预算不足时等待其他任务释放
+     *
+     * @param bytes 预估的峰值内存（字节）
+     * @return 预留凭证，处理完成后关闭以释放预算
+     * @throws MemoryBudgetExceededException 单个任务超出总预算或等待超时
+     * @throws ExtractException               等待被中断
+     */
+    public Reservation reserve(long bytes) {
+        if (bytes <= 0) {
+            return new Reservation(0);
+        }
+        if (isLimited() && bytes > budgetBytes) {
+            throw new MemoryBudgetExceededException("任务预计需要" + toMegabytes(bytes) + "MB内存，超出位图内存总预算"
+                    + toMegabytes(budgetBytes) + "MB");
+        }
+
+        synchronized (this) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, acquireTimeoutMillis));
+            while (isLimited() && reservedBytes + bytes > budgetBytes) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new MemoryBudgetExceededException("位图内存预算不足：需要" + toMegabytes(bytes) + "MB，已预留"
+                            + toMegabytes(reservedBytes) + "MB，总预算" + toMegabytes(budgetBytes) + "MB");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ExtractException("等待位图内存预算被中断", e);
+                }
+            }
+            reservedBytes += bytes;
+        }
+        return new Reservation(bytes);
+    }
+
+    /**
+     * 当前已预留的内存（字节）
+     */
+    public synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * 总预算（字节），小于等于0表示不限制
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public boolean isLimited() {
+        return budgetBytes > 0;
+    }
+
+    private synchronized void release(long bytes) {
+        reservedBytes -= bytes;
+        notifyAll();
+    }
+
+    private static long toMegabytes(long bytes) {
+        return (bytes + 1024 * 1024 - 1) / (1024 * 1024);
+    }
+
+    /**
+     * 预留凭证（重复关闭只释放一次）
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final long bytes;
+        private boolean released = false;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            synchronized (MemoryBudget.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            if (bytes > 0) {
+                release(bytes);
+            }
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.github.youzhajun.common.properties;
 
+import com.github.youzhajun.common.enums.DocumentFamily;
+import com.github.youzhajun.common.enums.DocumentRenderStrategy;
 import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 媒体封面抽取配置属性
  */
@@ -16,16 +26,56 @@ public class MediaCoverProperties {
      */
     private FfmpegConfig ffmpeg = new FfmpegConfig();
 
+    /**
+     * 视频配置
+     */
+    private VideoConfig video = new VideoConfig();
+
+    /**
+     * 远程输入配置（HTTP/HTTPS地址的视频和图片）
+     */
+    private RemoteConfig remote = new RemoteConfig();
+
+    /**
+     * 图片配置
+     */
+    private ImageConfig image = new ImageConfig();
+
     /**
      * LibreOffice配置
      */
     private LibreOfficeConfig libreoffice = new LibreOfficeConfig();
 
+    /**
+     * 文档配置
+     */
+    private DocumentConfig document = new DocumentConfig();
+
+    /**
+     * PDF配置
+     */
+    private PdfConfig pdf = new PdfConfig();
+
+    /**
+     * 音频配置
+     */
+    private AudioConfig audio = new AudioConfig();
+
     /**
      * 输出配置
      */
     private OutputConfig output = new OutputConfig();
 
+    /**
+     * 启动预热配置
+     */
+    private WarmupConfig warmup = new WarmupConfig();
+
+    /**
+     * 位图内存预算配置
+     */
+    private MemoryConfig memory = new MemoryConfig();
+
     @Data
     public static class FfmpegConfig {
         /**
@@ -37,6 +87,165 @@ public class MediaCoverProperties {
          * 是否启用FFmpeg功能
          */
         private boolean enabled = true;
+
+        /**
+         * FFprobe路径（可选，不配置则使用FFmpeg同目录下的ffprobe）
+         */
+        private String ffprobePath;
+    }
+
+    @Data
+    public static class VideoConfig {
+        /**
+         * 是否优先使用视频内嵌的封面流（attached_pic，包括MKV图片附件），关闭时始终从视频画面取帧
+         */
+        private boolean attachedPictureEnabled = true;
+
+        /**
+         * 取帧方式（ACCURATE：精确定位，KEYFRAME：只解码关键帧，THUMBNAIL：时间窗口内选取最具代表性的一帧）
+         */
+        private VideoFrameSelectMode frameSelectMode = VideoFrameSelectMode.ACCURATE;
+
+        /**
+         * 取帧时间点：秒数（如 1、2.5）、时间（如 00:01:30）或时长百分比（如 10%），超出视频时长时退回到开头
+         */
+        private String framePosition = "1";
+
+        /**
+         * THUMBNAIL方式下参与比较的最大帧数
+         */
+        private int thumbnailFrames = 100;
+
+        /**
+         * THUMBNAIL方式下最多解码的时间窗口（秒），小于等于0表示不限制
+         */
+        private double thumbnailWindowSeconds = 5;
+
+        /**
+         * 是否读取MP4/MOV的moov索引获取时长（KEYFRAME方式还会直接定位到距离取帧时间点最近的关键帧，其他方式仍精确定位）
+         */
+        private boolean keyframeIndexEnabled = true;
+
+        /**
+         * 故事板（进度条预览）取帧间隔（秒）
+         */
+        private double storyboardIntervalSeconds = 10;
+
+        /**
+         * 故事板缩略图宽度
+         */
+        private int storyboardTileWidth = 160;
+
+        /**
+         * 故事板缩略图高度
+         */
+        private int storyboardTileHeight = 90;
+
+        /**
+         * 故事板每张拼图的列数
+         */
+        private int storyboardColumns = 10;
+
+        /**
+         * 故事板每张拼图的行数
+         */
+        private int storyboardRows = 10;
+
+        /**
+         * 故事板缩略图数量上限，超过时按视频时长加大取帧间隔，小于等于0表示不限制
+         */
+        private int storyboardMaxTiles = 300;
+
+        /**
+         * 生成故事板的FFmpeg执行超时时间（秒），小于等于0表示不限制
+         */
+        private long storyboardTimeoutSeconds = 300;
+
+        /**
+         * 动态预览格式（webp或gif，webp需要FFmpeg编译了libwebp）
+         */
+        private String previewFormat = "webp";
+
+        /**
+         * 动态预览片段数量（均匀分布在视频中）
+         */
+        private int previewSegmentCount = 3;
+
+        /**
+         * 动态预览每个片段的时长（秒）
+         */
+        private double previewSegmentSeconds = 1;
+
+        /**
+         * 动态预览帧率
+         */
+        private int previewFrameRate = 10;
+
+        /**
+         * 动态预览最大宽度
+         */
+        private int previewWidth = 320;
+
+        /**
+         * 动态预览最大高度
+         */
+        private int previewHeight = 180;
+
+        /**
+         * 动态预览文件大小上限（KB），达到上限时提前结束，小于等于0表示不限制
+         */
+        private long previewMaxKilobytes = 1024;
+
+        /**
+         * 生成动态预览的FFmpeg执行超时时间（秒），小于等于0表示不限制
+         */
+        private long previewTimeoutSeconds = 30;
+    }
+
+    @Data
+    public static class RemoteConfig {
+        /**
+         * 探测流信息时最多读取的字节数（FFmpeg默认为5MB）
+         */
+        private long probeSize = 1024 * 1024;
+
+        /**
+         * 探测流信息时最多分析的时长（毫秒，FFmpeg默认为5秒）
+         */
+        private long analyzeDurationMillis = 1000;
+
+        /**
+         * 单次网络读写超时时间（秒），小于等于0表示不限制
+         */
+        private long ioTimeoutSeconds = 15;
+
+        /**
+         * 读取远程文件的FFmpeg执行超时时间（秒），小于等于0表示不限制
+         */
+        private long timeoutSeconds = 60;
+
+        /**
+         * 连接中断时是否自动重连
+         */
+        private boolean reconnect = true;
+    }
+
+    @Data
+    public static class ImageConfig {
+        /**
+         * 是否优先在JVM内用ImageIO处理图片（解码时降采样，不启动FFmpeg进程），无法处理的图片仍由FFmpeg处理
+         */
+        private boolean imageioEnabled = true;
+
+        /**
+         * 是否优先使用JPEG和相机RAW（cr2/nef/arw/dng）EXIF中内嵌的预览图，没有满足封面尺寸的预览图时完整解码原图
+         */
+        private boolean exifPreviewEnabled = true;
+
+        /**
+         * 动图（gif/webp）和多页TIFF用作封面的帧序号（从0开始），只解码到该帧为止
+         */
+        private int frameIndex = 0;
     }
 
     @Data
@@ -50,6 +259,215 @@ public class MediaCoverProperties {
          * 是否启用文档处理功能
          */
         private boolean enabled = true;
+
+        /**
+         * 是否启用常驻实例池（默认false，每次转换都启动新的soffice进程）
+         * 启用后会维护多个常驻监听的LibreOffice实例，每个实例使用独立的用户配置目录
+         */
+        private boolean poolEnabled = false;
+
+        /**
+         * 常驻实例数量
+         */
+        private int poolSize = 2;
+
+        /**
+         * 实例监听起始端口（第i个实例使用 poolPortBase + i）
+         */
+        private int poolPortBase = 2002;
+
+        /**
+         * 单个实例完成多少次转换后重启（小于等于0表示不重启）
+         */
+        private int maxJobsPerInstance = 200;
+
+        /**
+         * 实例用户配置根目录，每个实例在其下使用独立子目录（默认系统临时目录）
+         */
+        private String profileDirectory = System.getProperty("java.io.tmpdir") + File.separator + "media-cover-libreoffice";
+
+        /**
+         * 等待空闲实例的超时时间（秒）
+         */
+        private long leaseTimeoutSeconds = 60;
+
+        /**
+         * 实例启动的超时时间（秒）
+         */
+        private long startupTimeoutSeconds = 30;
+
+        /**
+         * 常驻实例单次转换超时时间（秒），超时后终止转换并重启实例，小于等于0表示不限制
+         */
+        private long jobTimeoutSeconds = 120;
+
+        /**
+         * 是否启用微批转换（默认false）
+         * 启用后会收集时间窗口内到达的文档，通过一次soffice调用批量转换，适合批量回填场景
+         */
+        private boolean batchEnabled = false;
+
+        /**
+         * 微批收集窗口（毫秒），从批次中第一个文档到达开始计时
+         */
+        private long batchWindowMillis = 200;
+
+        /**
+         * 单批最大文档数
+         */
+        private int batchMaxSize = 8;
+
+        /**
+         * 是否仅导出指定页码范围（默认true，封面只需要第一页）
+         * 关闭后会导出完整文档，大型文档转换耗时会明显增加
+         */
+        private boolean pageRangeEnabled = true;
+
+        /**
+         * 导出页码范围（默认"1"，即仅导出第一页），支持 "1-3"、"1,3" 等LibreOffice页码范围写法（仅允许数字、逗号和连字符）
+         */
+        private String pageRange = "1";
+
+        /**
+         * 各文档类别（TEXT/PRESENTATION/SPREADSHEET）的渲染策略，未配置的类别使用PDF方式
+         * 例如 render-strategies.presentation=DIRECT_IMAGE 表示演示文稿由LibreOffice直接导出第一页图片
+         */
+        private Map<DocumentFamily, DocumentRenderStrategy> renderStrategies = new EnumMap<>(DocumentFamily.class);
+    }
+
+    @Data
+    public static class DocumentConfig {
+        /**
+         * 是否优先使用文档内嵌缩略图（docx/pptx/xlsx的docProps/thumbnail.jpeg、odt/ods/odp的Thumbnails/thumbnail.png）
+         * 不存在缩略图时再使用LibreOffice转换
+         */
+        private boolean embeddedThumbnailEnabled = true;
+
+        /**
+         * 是否在JVM内直接绘制纯文本文档封面（不经过LibreOffice和PDFBox）
+         */
+        private boolean textRenderEnabled = true;
+
+        /**
+         * 直接绘制封面的文本扩展名
+         */
+        private List<String> textExtensions = new ArrayList<>(List.of("txt", "csv", "md", "log"));
+
+        /**
+         * 绘制文本封面时最多读取的字节数
+         */
+        private int textMaxBytes = 8192;
+
+        /**
+         * 文本无法识别为UTF-8/UTF-16时使用的字符集
+         */
+        private String textFallbackCharset = "GB18030";
+
+        /**
+         * 多页预览最多抽取的页数
+         */
+        private int previewMaxPages = 10;
+
+        /**
+         * 多页预览时同时渲染的最大页数
+         */
+        private int previewParallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Data
+    public static class PdfConfig {
+        /**
+         * PDF加载方式：DEFAULT-PDFBox默认方式，BUFFERED_FILE-缓冲文件读取，MEMORY_MAPPED-内存映射文件读取
+         */
+        private PdfLoadMode loadMode = PdfLoadMode.BUFFERED_FILE;
+
+        /**
+         * 每个PDF文档可使用的最大堆内存（MB），超出部分写入临时文件（DEFAULT方式下不生效）
+         */
+        private long maxMainMemoryMegabytes = 64;
+
+        /**
+         * 临时文件目录（默认系统临时目录）
+         */
+        private String scratchDirectory = System.getProperty("java.io.tmpdir");
+
+        /**
+         * 第一页带缩略图（/Thumb）或只有一张整页图片（如扫描件）时是否直接读取图片，不渲染页面
+         */
+        private boolean fastPathEnabled = true;
+
+        /**
+         * 是否在独立的子JVM中渲染PDF（与应用进程的堆内存和GC隔离）
+         */
+        private boolean workerEnabled = false;
+
+        /**
+         * 渲染子进程数量
+         */
+        private int workerPoolSize = 2;
+
+        /**
+         * 渲染子进程最大堆内存（MB）
+         */
+        private long workerMaxHeapMegabytes = 512;
+
+        /**
+         * 渲染子进程完成多少次任务后重启（小于等于0表示不重启）
+         */
+        private int workerMaxJobs = 500;
+
+        /**
+         * 等待空闲渲染子进程的超时时间（秒）
+         */
+        private long workerLeaseTimeoutSeconds = 60;
+
+        /**
+         * 单次渲染超时时间（秒），超时后强制终止子进程
+         */
+        private long workerJobTimeoutSeconds = 120;
+
+        /**
+         * 启动子进程使用的java可执行文件（默认当前JVM）
+         */
+        private String workerJavaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        /**
+         * 子进程类路径（默认当前JVM的类路径，需包含document模块及PDFBox）
+         */
+        private String workerClasspath = System.getProperty("java.class.path");
+    }
+
+    @Data
+    public static class AudioConfig {
+        /**
+         * 是否优先抽取音频文件内嵌的封面（ID3v2/FLAC/MP4/Ogg），不存在时使用默认封面
+         */
+        private boolean embeddedArtworkEnabled = true;
+
+        /**
+         * 是否为没有内嵌封面的音频绘制波形图作为封面（需要FFmpeg，绘制失败时使用默认封面）
+         */
+        private boolean waveformEnabled = false;
+
+        /**
+         * 波形颜色（FFmpeg颜色语法，如 0x3A7BD5、red）
+         */
+        private String waveformColor = "0x3A7BD5";
+
+        /**
+         * 波形图背景颜色
+         */
+        private String waveformBackgroundColor = "white";
+
+        /**
+         * 绘制波形时最多解码的音频时长（秒），小于等于0表示解码全部
+         */
+        private long waveformMaxDecodeSeconds = 60;
+
+        /**
+         * 绘制波形的FFmpeg执行超时时间（秒），小于等于0表示不限制
+         */
+        private long waveformTimeoutSeconds = 30;
     }
 
     @Data
@@ -86,5 +504,35 @@ public class MediaCoverProperties {
          */
         private boolean useDateSubdirectory = false;
     }
-}
 
+    @Data
+    public static class WarmupConfig {
+        /**
+         * 是否在应用启动后后台预热（PDFBox字体缓存与渲染、FFmpeg、LibreOffice）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预热完成前是否将就绪状态置为拒绝流量（配合就绪探针使用）
+         */
+        private boolean holdReadiness = true;
+
+        /**
+         * 单个预热任务超时时间（秒），超时后中断该任务（LibreOffice预热转换会终止进程），小于等于0表示不限制
+         */
+        private long taskTimeoutSeconds = 120;
+    }
+
+    @Data
+    public static class MemoryConfig {
+        /**
+         * JVM内位图处理（PDF渲染、图片解码、文本绘制）可同时预留的内存总量（MB），小于等于0表示不限制
+         */
+        private long budgetMegabytes = 0;
+
+        /**
+         * 预算不足时等待其他任务释放的最长时间（秒），0表示不等待直接失败
+         */
+        private long acquireTimeoutSeconds = 30;
+    }
+}
@@ -0,0 +1,252 @@
+package com.github.youzhajun.common.util;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 图片处理工具类（JVM内缩放与编码）
+ * <p>
+ * 缩放规则与FFmpeg路径保持一致：SCALE等比例缩放到指定宽高范围内，CROP强制调整为指定宽高，NONE不处理
+ * </p>
+ */
+public class ImageProcessUtil {
+
+    /**
+     * 每种格式最多缓存的编码器数量
+     */
+    private static final int MAX_POOLED_WRITERS_PER_FORMAT = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, Queue<PooledWriter>> WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * 计算处理后的目标尺寸
+     *
+     * @param sourceWidth  原图宽度
+     * @param sourceHeight 原图高度
+     * @param strategy     图片处理策略
+     * @param width        目标宽度
+     * @param height       目标高度
+     * @return 目标尺寸（不需要处理时返回原图尺寸）
+     */
+    public static Dimension computeTargetSize(int sourceWidth, int sourceHeight,
+                                              ImageProcessStrategy strategy, Integer width, Integer height) {
+        if (strategy == null || strategy == ImageProcessStrategy.NONE || width == null || height == null) {
+            return new Dimension(sourceWidth, sourceHeight);
+        }
+        if (strategy == ImageProcessStrategy.CROP) {
+            return new Dimension(width, height);
+        }
+        double scale = Math.min((double) width / sourceWidth, (double) height / sourceHeight);
+        return new Dimension(
+                Math.max(1, (int) Math.round(sourceWidth * scale)),
+                Math.max(1, (int) Math.round(sourceHeight * scale)));
+    }
+
+    /**
+     * 只读取图片头部获取像素尺寸，不解码像素数据
+     *
+     * @param input 图片来源（File、InputStream等 {@link ImageIO#createImageInputStream} 支持的类型）
+     * @return 图片尺寸，无法识别格式时返回null
+     */
+    public static Dimension readSize(Object input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            if (stream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 按策略缩放图片（尺寸已符合时直接返回原图）
+     */
+    public static BufferedImage resize(BufferedImage image, ImageProcessStrategy strategy, Integer width, Integer height) {
+        Dimension target = computeTargetSize(image.getWidth(), image.getHeight(), strategy, width, height);
+        if (target.width == image.getWidth() && target.height == image.getHeight()) {
+            return image;
+        }
+
+        // 缩小倍数较大时逐级减半，避免双线性插值一次缩放产生明显锯齿
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        while (currentWidth / 2 >= target.width && currentHeight / 2 >= target.height) {
+            currentWidth /= 2;
+            currentHeight /= 2;
+            current = draw(current, currentWidth, currentHeight);
+        }
+        return draw(current, target.width, target.height);
+    }
+
+    /**
+     * 按EXIF方向变换画面（2-8分别为水平翻转、旋转180度、垂直翻转、转置、顺时针旋转90度、反转置、逆时针旋转90度）
+     *
+     * @param orientation EXIF方向（1或无效值时返回原图）
+     */
+    public static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> transform.setTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> transform.setTransform(-1, 0, 0, -1, w, h);
+            case 4 -> transform.setTransform(1, 0, 0, -1, 0, h);
+            case 5 -> transform.setTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> transform.setTransform(0, 1, -1, 0, h, 0);
+            case 7 -> transform.setTransform(0, -1, -1, 0, h, w);
+            default -> transform.setTransform(0, -1, 1, 0, 0, w);
+        }
+        boolean transposed = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(transposed ? h : w, transposed ? w : h, type);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    /**
+     * 将图片编码写入文件（JPG/BMP等不支持透明通道的格式会先铺白色背景）
+     * <p>
+     * 编码器按格式池化复用，编码结果经内存缓冲（不创建磁盘缓存文件）通过缓冲的文件通道写出
+     * </p>
+     */
+    public static void write(BufferedImage image, String format, File outputFile) {
+        BufferedImage output = image;
+        if (image.getColorModel().hasAlpha() && !supportsAlpha(format)) {
+            output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = output.createGraphics();
+            try {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+
+        String key = format.toLowerCase();
+        PooledWriter writer = borrowWriter(key);
+        if (writer == null) {
+            throw new ExtractException("不支持的图片输出格式: " + format);
+        }
+        if (!writer.writer.getOriginatingProvider().canEncodeImage(output)) {
+            returnWriter(key, writer);
+            throw new ExtractException("不支持的图片输出格式: " + format);
+        }
+        try (OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(outputFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)), BUFFER_SIZE);
+             ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+            writer.writer.setOutput(imageOutputStream);
+            writer.writer.write(null, new IIOImage(output, null, null), writer.param);
+        } catch (IOException e) {
+            throw new ExtractException("图片写入失败: " + e.getMessage(), e);
+        } finally {
+            writer.writer.reset();
+            returnWriter(key, writer);
+        }
+    }
+
+    /**
+     * 从池中借用编码器，池中没有时新建（不支持的格式返回null）
+     */
+    private static PooledWriter borrowWriter(String format) {
+        PooledWriter writer = WRITERS.computeIfAbsent(format, key -> new ConcurrentLinkedQueue<>()).poll();
+        if (writer != null) {
+            return writer;
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            return null;
+        }
+        ImageWriter imageWriter = writers.next();
+        return new PooledWriter(imageWriter, imageWriter.getDefaultWriteParam());
+    }
+
+    private static void returnWriter(String format, PooledWriter writer) {
+        Queue<PooledWriter> queue = WRITERS.get(format);
+        // 队列大小为近似值，偶尔多缓存一两个编码器不影响正确性
+        if (queue.size() < MAX_POOLED_WRITERS_PER_FORMAT) {
+            queue.offer(writer);
+        } else {
+            writer.writer.dispose();
+        }
+    }
+
+    /**
+     * 池化的编码器及其写入参数（编码器不是线程安全的，同一时刻只能被一个线程借用）
+     */
+    private static class PooledWriter {
+        private final ImageWriter writer;
+        private final ImageWriteParam param;
+
+        private PooledWriter(ImageWriter writer, ImageWriteParam param) {
+            this.writer = writer;
+            this.param = param;
+        }
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static boolean supportsAlpha(String format) {
+        String lower = format.toLowerCase();
+        return lower.equals("png") || lower.equals("gif") || lower.equals("tif") || lower.equals("tiff");
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.youzhajun.common.util;
+
+import com.github.youzhajun.common.exception.ExtractException;
+
+import java.net.URI;
+
+/**
+ * 远程地址工具类
+ */
+public class RemoteUriUtil {
+
+    /**
+     * 校验远程地址（只支持http和https）
+     *
+     * @param sourceUri 远程地址
+     */
+    public static void validate(URI sourceUri) {
+        if (sourceUri == null) {
+            throw new ExtractException("源文件地址不能为null");
+        }
+        String scheme = sourceUri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            throw new ExtractException("只支持http或https地址: " + sourceUri);
+        }
+    }
+
+    /**
+     * 获取远程地址中的文件名（路径的最后一段）
+     *
+     * @param sourceUri 远程地址
+     * @return 文件名，路径为空时返回空字符串
+     */
+    public static String getFileName(URI sourceUri) {
+        String path = sourceUri.getPath();
+        if (path == null) {
+            return "";
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
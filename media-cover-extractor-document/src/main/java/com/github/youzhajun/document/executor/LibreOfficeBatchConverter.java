@@ -0,0 +1,256 @@
+package com.github.youzhajun.document.executor;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * LibreOffice批量转换器（微批处理）
+ * <p>
+ * 位于 {@link LibreOfficeExecutor} 之前，收集一个时间窗口内到达的转换请求（不超过最大批量），
+ * 通过一次soffice调用转换到私有输出目录，再将每个PDF移动到调用方的输出目录并唤醒等待的调用方，
+ * 使批量回填场景下的进程启动开销由整批文档分摊。
+ * </p>
+ */
+@Slf4j
+public class LibreOfficeBatchConverter implements Closeable {
+
+    private final LibreOfficeExecutor libreOfficeExecutor;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final BlockingQueue<ConvertRequest> requests = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor;
+    private final Thread dispatcher;
+    private volatile boolean closed = false;
+
+    /**
+     * @param libreOfficeExecutor LibreOffice执行器
+     * @param windowMillis        收集窗口（毫秒），从批次中第一个请求到达开始计时
+     * @param maxBatchSize        单批最大文档数
+     * @param concurrency         同时执行的批次数
+     */
+    public LibreOfficeBatchConverter(LibreOfficeExecutor libreOfficeExecutor,
+                                     long windowMillis,
+                                     int maxBatchSize,
+                                     int concurrency) {
+        if (maxBatchSize <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("批量大小与并发数必须大于0");
+        }
+        this.libreOfficeExecutor = libreOfficeExecutor;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.batchExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "libreoffice-batch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatch, "libreoffice-batch-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 将文档转换为PDF（阻塞直到所在批次转换完成）
+     * @param sourceFile 源文件
+     * @param outputDir 输出目录
+     * @return PDF文件
+     */
+    public File convertToPdf(File sourceFile, String outputDir) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+        if (closed) {
+            throw new ExtractException("LibreOffice批量转换器已关闭");
+        }
+
+        ConvertRequest request = new ConvertRequest(sourceFile, outputDir);
+        requests.add(request);
+        // close() 可能在上面的检查之后已清空队列，重新检查并取回请求，避免调用方永久等待
+        if (closed && requests.remove(request)) {
+            request.result.completeExceptionally(new ExtractException("LibreOffice批量转换器已关闭"));
+        }
+        try {
+            return request.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractException("等待文档批量转换被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ExtractException extractException) {
+                throw extractException;
+            }
+            throw new ExtractException("文档批量转换失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        batchExecutor.shutdown();
+        ConvertRequest request;
+        while ((request = requests.poll()) != null) {
+            reject(request);
+        }
+    }
+
+    /**
+     * 收集请求并按批次提交
+     */
+    private void dispatch() {
+        LinkedList<ConvertRequest> deferred = new LinkedList<>();
+        while (!closed) {
+            List<ConvertRequest> batch = new ArrayList<>();
+            try {
+                ConvertRequest first = deferred.isEmpty() ? requests.take() : deferred.poll();
+                Set<String> baseNames = new HashSet<>();
+                addToBatch(first, batch, baseNames, deferred);
+
+                // 先补入上一批次因重名被推迟的请求，再在窗口内等待新请求
+                while (batch.size() < maxBatchSize && !deferred.isEmpty() && deferredFits(deferred, baseNames)) {
+                    addToBatch(deferred.poll(), batch, baseNames, deferred);
+                }
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    ConvertRequest next = remaining > 0 ? requests.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    addToBatch(next, batch, baseNames, deferred);
+                }
+
+                batchExecutor.execute(() -> convertBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // 关闭时正在收集的批次尚未提交，需要唤醒其中的调用方
+                batch.forEach(this::reject);
+                break;
+            } catch (RuntimeException e) {
+                log.error("文档批量转换调度异常", e);
+                batch.forEach(request -> request.result.completeExceptionally(e));
+            }
+        }
+        deferred.forEach(this::reject);
+    }
+
+    private void reject(ConvertRequest request) {
+        request.result.completeExceptionally(new ExtractException("LibreOffice批量转换器已关闭"));
+    }
+
+    private boolean deferredFits(LinkedList<ConvertRequest> deferred, Set<String> baseNames) {
+        return !baseNames.contains(deferred.peek().baseName());
+    }
+
+    /**
+     * 同一批次内源文件名（不含扩展名）不能重复，否则输出的PDF会互相覆盖，重名请求推迟到下一批次
+     */
+    private void addToBatch(ConvertRequest request, List<ConvertRequest> batch, Set<String> baseNames,
+                            LinkedList<ConvertRequest> deferred) {
+        if (baseNames.add(request.baseName())) {
+            batch.add(request);
+        } else {
+            deferred.add(request);
+        }
+    }
+
+    /**
+     * 执行一个批次的转换
+     */
+    private void convertBatch(List<ConvertRequest> batch) {
+        Path batchDirectory = null;
+        try {
+            batchDirectory = Files.createTempDirectory("media-cover-batch-");
+            List<File> sourceFiles = batch.stream().map(request -> request.sourceFile).toList();
+            log.debug("开始批量转换文档，数量: {}", sourceFiles.size());
+
+            Map<File, File> pdfFiles;
+            try {
+                pdfFiles = libreOfficeExecutor.convertToPdf(sourceFiles, batchDirectory.toString());
+            } catch (ExtractException e) {
+                if (batch.size() == 1) {
+                    throw e;
+                }
+                // 整批失败时逐个转换，避免单个异常文档拖累整批
+                log.warn("批量转换失败，改为逐个转换: {}", e.getMessage());
+                pdfFiles = Map.of();
+            }
+
+            for (ConvertRequest request : batch) {
+                try {
+                    File pdfFile = pdfFiles.get(request.sourceFile);
+                    if (pdfFile == null) {
+                        pdfFile = libreOfficeExecutor.convertToPdf(request.sourceFile, batchDirectory.toString());
+                    }
+                    request.result.complete(moveToOutputDirectory(pdfFile, request.outputDir));
+                } catch (Exception e) {
+                    request.result.completeExceptionally(e);
+                }
+            }
+        } catch (Exception e) {
+            batch.forEach(request -> request.result.completeExceptionally(e));
+        } finally {
+            deleteDirectory(batchDirectory);
+        }
+    }
+
+    private File moveToOutputDirectory(File pdfFile, String outputDir) throws IOException {
+        Path target = Path.of(outputDir, UUID.randomUUID() + ".pdf");
+        Files.move(pdfFile.toPath(), target);
+        return target.toFile();
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("清理批量转换临时目录失败: {}", directory, e);
+        }
+    }
+
+    /**
+     * 转换请求
+     */
+    private static class ConvertRequest {
+
+        private final File sourceFile;
+        private final String outputDir;
+        private final CompletableFuture<File> result = new CompletableFuture<>();
+
+        private ConvertRequest(File sourceFile, String outputDir) {
+            this.sourceFile = sourceFile;
+            this.outputDir = outputDir;
+        }
+
+        private String baseName() {
+            return LibreOfficeExecutor.getFileNameWithoutExtension(sourceFile.getName()).toLowerCase();
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.github.youzhajun.document.executor;
 
+import com.github.youzhajun.common.enums.DocumentFamily;
 import com.github.youzhajun.common.exception.ExtractException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
+import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.PumpStreamHandler;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * LibreOffice命令执行器
@@ -16,59 +26,313 @@ import java.io.IOException;
 @Slf4j
 public class LibreOfficeExecutor {
 
+    /**
+     * 页码范围只允许数字、逗号、连字符和空格（会拼接进导出过滤器的JSON选项）
+     */
+    private static final Pattern PAGE_RANGE_PATTERN = Pattern.compile("^[0-9,\\- ]+$");
+
+    /**
+     * 默认预热转换超时时间
+     */
+    private static final long DEFAULT_WARM_UP_TIMEOUT_MILLIS = 120_000;
+
     private final String libreOfficePath;
+    private final LibreOfficeInstancePool instancePool;
+    private final String pageRange;
 
     public LibreOfficeExecutor(String libreOfficePath) {
+        this(libreOfficePath, null);
+    }
+
+    /**
+     * @param libreOfficePath LibreOffice路径
+     * @param instancePool    常驻实例池（为null时每次转换启动新进程）
+     */
+    public LibreOfficeExecutor(String libreOfficePath, LibreOfficeInstancePool instancePool) {
+        this(libreOfficePath, instancePool, null);
+    }
+
+    /**
+     * @param libreOfficePath LibreOffice路径
+     * @param instancePool    常驻实例池（为null时每次转换启动新进程）
+     * @param pageRange       默认导出页码范围，例如 "1"、"1-3"（为null时导出全部页面）
+     */
+    public LibreOfficeExecutor(String libreOfficePath, LibreOfficeInstancePool instancePool, String pageRange) {
         this.libreOfficePath = libreOfficePath;
+        this.instancePool = instancePool;
+        this.pageRange = pageRange;
+        validatePageRange(pageRange);
     }
 
     /**
-     * 将文档转换为PDF
+     * 将文档转换为PDF（按默认页码范围导出）
      * @param sourceFile 源文件
      * @param outputDir 输出目录
      * @return PDF文件
      */
     public File convertToPdf(File sourceFile, String outputDir) {
+        return convertToPdf(sourceFile, outputDir, pageRange);
+    }
+
+    /**
+     * 将文档转换为PDF
+     * @param sourceFile 源文件
+     * @param outputDir 输出目录
+     * @param pageRange 导出页码范围，例如 "1"、"1-3"（为null时导出全部页面）
+     * @return PDF文件
+     */
+    public File convertToPdf(File sourceFile, String outputDir, String pageRange) {
+        return convertToPdf(sourceFile, outputDir, pageRange, 0);
+    }
+
+    /**
+     * @param timeoutMillis 超时时间（毫秒），超时后强制终止LibreOffice进程，小于等于0表示不限制
+     */
+    private File convertToPdf(File sourceFile, String outputDir, String pageRange, long timeoutMillis) {
         if (!sourceFile.exists() || !sourceFile.isFile()) {
             throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
         }
 
+        // 构建LibreOffice命令
+        CommandLine commandLine = new CommandLine(libreOfficePath);
+        commandLine.addArgument("--headless");
+        commandLine.addArgument("--convert-to");
+        commandLine.addArgument(buildPdfConvertTo(DocumentFamily.fromFileName(sourceFile.getName()), pageRange), false);
+        commandLine.addArgument("--outdir");
+        commandLine.addArgument(outputDir);
+        commandLine.addArgument(sourceFile.getAbsolutePath());
+
+        execute(commandLine, timeoutMillis);
+
+        // 获取生成的PDF文件
+        String pdfFileName = getFileNameWithoutExtension(sourceFile.getName()) + ".pdf";
+        File pdfFile = new File(outputDir, pdfFileName);
+
+        if (!pdfFile.exists()) {
+            throw new ExtractException("PDF文件生成失败: " + pdfFileName);
+        }
+
+        log.debug("文档转换成功: {} -> {}", sourceFile.getName(), pdfFile.getAbsolutePath());
+        return pdfFile;
+    }
+
+    /**
+     * 预热：转换一个很小的文本文档，提前加载LibreOffice程序文件和用户配置目录
+     */
+    public void warmUp() {
+        warmUp(DEFAULT_WARM_UP_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 预热：转换一个很小的文本文档，超时后强制终止LibreOffice进程
+     *
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制
+     */
+    public void warmUp(long timeoutMillis) {
+        Path warmUpDirectory = null;
         try {
-            // 构建LibreOffice命令
+            warmUpDirectory = Files.createTempDirectory("media-cover-warmup-");
+            File sourceFile = Files.writeString(warmUpDirectory.resolve("warmup.txt"), "warm-up").toFile();
+            convertToPdf(sourceFile, warmUpDirectory.toString(), pageRange, timeoutMillis);
+        } catch (IOException e) {
+            throw new ExtractException("LibreOffice预热失败: " + e.getMessage(), e);
+        } finally {
+            if (warmUpDirectory != null) {
+                File[] files = warmUpDirectory.toFile().listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        file.delete();
+                    }
+                }
+                warmUpDirectory.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * 批量将文档转换为PDF（按默认页码范围导出，同一文档类别的文件通过一次soffice调用完成转换）
+     * <p>
+     * 调用方需保证源文件名（不含扩展名）互不相同，否则生成的PDF会互相覆盖
+     * </p>
+     * @param sourceFiles 源文件列表
+     * @param outputDir 输出目录
+     * @return 源文件与生成的PDF文件的对应关系（未生成PDF的源文件不包含在结果中）
+     */
+    public Map<File, File> convertToPdf(List<File> sourceFiles, String outputDir) {
+        // 页码范围需要通过各文档类别对应的导出过滤器传递，不同类别的文档分开调用
+        Map<String, List<File>> groups = new LinkedHashMap<>();
+        for (File sourceFile : sourceFiles) {
+            String convertTo = buildPdfConvertTo(DocumentFamily.fromFileName(sourceFile.getName()), pageRange);
+            groups.computeIfAbsent(convertTo, key -> new ArrayList<>()).add(sourceFile);
+        }
+
+        for (Map.Entry<String, List<File>> group : groups.entrySet()) {
             CommandLine commandLine = new CommandLine(libreOfficePath);
             commandLine.addArgument("--headless");
             commandLine.addArgument("--convert-to");
-            commandLine.addArgument("pdf");
+            commandLine.addArgument(group.getKey(), false);
             commandLine.addArgument("--outdir");
             commandLine.addArgument(outputDir);
-            commandLine.addArgument(sourceFile.getAbsolutePath());
+            for (File sourceFile : group.getValue()) {
+                commandLine.addArgument(sourceFile.getAbsolutePath());
+            }
+            execute(commandLine);
+        }
+
+        Map<File, File> pdfFiles = new LinkedHashMap<>();
+        for (File sourceFile : sourceFiles) {
+            File pdfFile = new File(outputDir, getFileNameWithoutExtension(sourceFile.getName()) + ".pdf");
+            if (pdfFile.exists()) {
+                pdfFiles.put(sourceFile, pdfFile);
+            } else {
+                log.warn("批量转换未生成PDF文件: {}", sourceFile.getName());
+            }
+        }
+        log.debug("批量文档转换完成: {}/{}", pdfFiles.size(), sourceFiles.size());
+        return pdfFiles;
+    }
+
+    /**
+     * 将文档第一页直接导出为图片（不生成PDF中间文件）
+     * @param sourceFile 源文件
+     * @param outputDir 输出目录
+     * @param format 图片格式（png/jpg）
+     * @param pixelWidth 导出宽度（像素，为null时使用LibreOffice默认尺寸）
+     * @param pixelHeight 导出高度（像素，为null时使用LibreOffice默认尺寸）
+     * @return 图片文件
+     */
+    public File convertToImage(File sourceFile, String outputDir, String format, Integer pixelWidth, Integer pixelHeight) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+        DocumentFamily family = DocumentFamily.fromFileName(sourceFile.getName());
+        if (family == null) {
+            throw new ExtractException("无法识别文档类别，不支持直接导出图片: " + sourceFile.getName());
+        }
+
+        // 例如 png:writer_png_Export:{"PixelWidth":{"type":"long","value":"800"}}
+        StringBuilder options = new StringBuilder();
+        if (pixelWidth != null) {
+            options.append("\"PixelWidth\":{\"type\":\"long\",\"value\":\"").append(pixelWidth).append("\"}");
+        }
+        if (pixelHeight != null) {
+            if (options.length() > 0) {
+                options.append(',');
+            }
+            options.append("\"PixelHeight\":{\"type\":\"long\",\"value\":\"").append(pixelHeight).append("\"}");
+        }
+        String convertTo = format + ":" + family.getImageExportFilter(format);
+        if (options.length() > 0) {
+            convertTo += ":{" + options + "}";
+        }
+
+        CommandLine commandLine = new CommandLine(libreOfficePath);
+        commandLine.addArgument("--headless");
+        commandLine.addArgument("--convert-to");
+        commandLine.addArgument(convertTo, false);
+        commandLine.addArgument("--outdir");
+        commandLine.addArgument(outputDir);
+        commandLine.addArgument(sourceFile.getAbsolutePath());
+
+        execute(commandLine);
+
+        String imageFileName = getFileNameWithoutExtension(sourceFile.getName()) + "." + format;
+        File imageFile = new File(outputDir, imageFileName);
+        if (!imageFile.exists()) {
+            throw new ExtractException("图片文件生成失败: " + imageFileName);
+        }
+
+        log.debug("文档直接导出图片成功: {} -> {}", sourceFile.getName(), imageFile.getAbsolutePath());
+        return imageFile;
+    }
 
+    /**
+     * 构建PDF转换目标参数
+     * <p>
+     * 指定页码范围时通过导出过滤器的JSON选项传递（需要LibreOffice 7.4及以上版本），例如：
+     * pdf:writer_pdf_Export:{"PageRange":{"type":"string","value":"1"}}
+     * </p>
+     */
+    private String buildPdfConvertTo(DocumentFamily family, String pageRange) {
+        if (family == null || pageRange == null || pageRange.isBlank()) {
+            return "pdf";
+        }
+        validatePageRange(pageRange);
+        return "pdf:" + family.getPdfExportFilter()
+                + ":{\"PageRange\":{\"type\":\"string\",\"value\":\"" + pageRange.trim() + "\"}}";
+    }
+
+    private static void validatePageRange(String pageRange) {
+        if (pageRange != null && !pageRange.isBlank() && !PAGE_RANGE_PATTERN.matcher(pageRange).matches()) {
+            throw new IllegalArgumentException("页码范围格式不正确（仅支持数字、逗号和连字符，如 1、1-3、1,3）: " + pageRange);
+        }
+    }
+
+    /**
+     * 执行LibreOffice命令（启用实例池时交由租用的常驻实例执行）
+     */
+    private void execute(CommandLine commandLine) {
+        execute(commandLine, 0);
+    }
+
+    /**
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制；启用实例池时同时受实例池的单次转换超时时间限制
+     */
+    private void execute(CommandLine commandLine, long timeoutMillis) {
+        if (instancePool == null) {
+            doExecute(commandLine, timeoutMillis);
+            return;
+        }
+
+        LibreOfficeInstancePool.Instance instance = instancePool.lease();
+        boolean failed = true;
+        try {
+            CommandLine pooledCommandLine = new CommandLine(commandLine.getExecutable());
+            pooledCommandLine.addArgument(instance.getUserInstallationArgument(), false);
+            pooledCommandLine.addArguments(commandLine.getArguments(), false);
+            // 超时后终止转换命令，实例按失败归还并重启
+            doExecute(pooledCommandLine, minTimeout(timeoutMillis, instancePool.getJobTimeoutMillis()));
+            failed = false;
+        } finally {
+            instancePool.release(instance, failed);
+        }
+    }
+
+    /**
+     * 取两个超时时间中较小的一个（小于等于0表示不限制）
+     */
+    private static long minTimeout(long first, long second) {
+        if (first <= 0) {
+            return second;
+        }
+        return second <= 0 ? first : Math.min(first, second);
+    }
+
+    private void doExecute(CommandLine commandLine, long timeoutMillis) {
+        ExecuteWatchdog watchdog = null;
+        try {
             DefaultExecutor executor = new DefaultExecutor();
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
             PumpStreamHandler streamHandler = new PumpStreamHandler(outputStream, errorStream);
             executor.setStreamHandler(streamHandler);
+            if (timeoutMillis > 0) {
+                watchdog = ExecuteWatchdog.builder().setTimeout(Duration.ofMillis(timeoutMillis)).get();
+                executor.setWatchdog(watchdog);
+            }
 
             log.debug("执行LibreOffice命令: {}", commandLine);
             int exitCode = executor.execute(commandLine);
-            
+
             if (exitCode != 0) {
                 String error = errorStream.toString();
                 log.error("LibreOffice转换失败，退出码: {}, 错误信息: {}", exitCode, error);
                 throw new ExtractException("LibreOffice转换失败: " + error);
             }
-
-            // 获取生成的PDF文件
-            String pdfFileName = getFileNameWithoutExtension(sourceFile.getName()) + ".pdf";
-            File pdfFile = new File(outputDir, pdfFileName);
-            
-            if (!pdfFile.exists()) {
-                throw new ExtractException("PDF文件生成失败: " + pdfFileName);
-            }
-
-            log.debug("文档转换成功: {} -> {}", sourceFile.getName(), pdfFile.getAbsolutePath());
-            return pdfFile;
         } catch (IOException e) {
+            if (watchdog != null && watchdog.killedProcess()) {
+                throw new ExtractException("LibreOffice执行超时（" + timeoutMillis + "ms），进程已终止");
+            }
             log.error("LibreOffice执行异常", e);
             throw new ExtractException("LibreOffice执行异常: " + e.getMessage(), e);
         }
@@ -98,7 +362,7 @@ public class LibreOfficeExecutor {
     /**
      * 获取不含扩展名的文件名
      */
-    private String getFileNameWithoutExtension(String fileName) {
+    static String getFileNameWithoutExtension(String fileName) {
         int lastDotIndex = fileName.lastIndexOf('.');
         if (lastDotIndex > 0) {
             return fileName.substring(0, lastDotIndex);
@@ -0,0 +1,272 @@
+package com.github.youzhajun.document.executor;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LibreOffice常驻实例池
+ * <p>
+ * 维护多个以 --accept 方式常驻监听的LibreOffice实例，每个实例使用独立的用户配置目录（-env:UserInstallation）。
+ * 转换时租用一个空闲实例，使用相同用户配置目录调用soffice，转换请求会通过进程间管道交给已启动的常驻实例执行，
+ * 从而省去每次转换的启动开销，同时避免并发转换争用同一个默认用户配置目录。
+ * --accept 监听端口只用于健康检查。每次转换限制超时时间，超时后终止转换命令并将实例按失败归还（重启实例），
+ * 卡住的实例不会一直占用租用线程。
+ * </p>
+ */
+@Slf4j
+public class LibreOfficeInstancePool implements Closeable {
+
+    private static final String LOCALHOST = "127.0.0.1";
+
+    /**
+     * 默认单次转换超时时间
+     */
+    private static final long DEFAULT_JOB_TIMEOUT_SECONDS = 120;
+
+    private final String libreOfficePath;
+    private final int maxJobsPerInstance;
+    private final long leaseTimeoutSeconds;
+    private final long startupTimeoutSeconds;
+    private final long jobTimeoutSeconds;
+    private final List<Instance> instances = new ArrayList<>();
+    private final BlockingQueue<Instance> idleInstances;
+    private volatile boolean closed = false;
+
+    public LibreOfficeInstancePool(String libreOfficePath,
+                                   int poolSize,
+                                   int portBase,
+                                   int maxJobsPerInstance,
+                                   String profileDirectory,
+                                   long leaseTimeoutSeconds,
+                                   long startupTimeoutSeconds) {
+        this(libreOfficePath, poolSize, portBase, maxJobsPerInstance, profileDirectory, leaseTimeoutSeconds,
+                startupTimeoutSeconds, DEFAULT_JOB_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * @param libreOfficePath       LibreOffice路径
+     * @param poolSize              实例数量
+     * @param portBase              第一个实例的监听端口（后续实例依次加1）
+     * @param maxJobsPerInstance    实例完成多少次转换后重启（小于等于0表示不重启）
+     * @param profileDirectory      实例用户配置目录的父目录
+     * @param leaseTimeoutSeconds   等待空闲实例的超时时间
+     * @param startupTimeoutSeconds 实例启动超时时间
+     * @param jobTimeoutSeconds     单次转换超时时间，超时后终止转换并重启实例（小于等于0表示不限制）
+     */
+    public LibreOfficeInstancePool(String libreOfficePath,
+                                   int poolSize,
+                                   int portBase,
+                                   int maxJobsPerInstance,
+                                   String profileDirectory,
+                                   long leaseTimeoutSeconds,
+                                   long startupTimeoutSeconds,
+                                   long jobTimeoutSeconds) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("LibreOffice实例池大小必须大于0");
+        }
+        this.libreOfficePath = libreOfficePath;
+        this.maxJobsPerInstance = maxJobsPerInstance;
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.startupTimeoutSeconds = startupTimeoutSeconds;
+        this.jobTimeoutSeconds = jobTimeoutSeconds;
+        this.idleInstances = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            Instance instance = new Instance(i, portBase + i, Paths.get(profileDirectory, "instance-" + i));
+            instances.add(instance);
+            idleInstances.add(instance);
+        }
+    }
+
+    /**
+     * 租用一个空闲实例（实例未启动或健康检查失败时会先启动/重启）
+     */
+    public Instance lease() {
+        if (closed) {
+            throw new ExtractException("LibreOffice实例池已关闭");
+        }
+        Instance instance;
+        try {
+            instance = idleInstances.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractException("等待LibreOffice实例被中断", e);
+        }
+        if (instance == null) {
+            throw new ExtractException("等待空闲LibreOffice实例超时（" + leaseTimeoutSeconds + "秒）");
+        }
+
+        try {
+            if (!instance.isHealthy()) {
+                log.debug("LibreOffice实例[{}]不可用，正在(重新)启动", instance.index);
+                instance.restart();
+            }
+            return instance;
+        } catch (RuntimeException e) {
+            idleInstances.offer(instance);
+            throw e;
+        }
+    }
+
+    /**
+     * 归还实例
+     *
+     * @param instance 实例
+     * @param failed   本次转换是否失败（失败时重启实例）
+     */
+    public void release(Instance instance, boolean failed) {
+        try {
+            instance.jobCount++;
+            if (closed) {
+                instance.stop();
+            } else if (failed) {
+                log.warn("LibreOffice实例[{}]转换失败，准备重启", instance.index);
+                instance.stop();
+            } else if (maxJobsPerInstance > 0 && instance.jobCount >= maxJobsPerInstance) {
+                log.info("LibreOffice实例[{}]已完成{}次转换，准备重启", instance.index, instance.jobCount);
+                instance.stop();
+            }
+        } finally {
+            idleInstances.offer(instance);
+        }
+    }
+
+    /**
+     * 单次转换超时时间（毫秒），小于等于0表示不限制
+     */
+    public long getJobTimeoutMillis() {
+        return TimeUnit.SECONDS.toMillis(jobTimeoutSeconds);
+    }
+
+    /**
+     * 启动所有实例（可选，未调用时实例在首次租用时启动）
+     */
+    public void start() {
+        List<Instance> leased = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances.size(); i++) {
+                leased.add(lease());
+            }
+        } finally {
+            leased.forEach(idleInstances::offer);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Instance instance : instances) {
+            instance.stop();
+        }
+        log.debug("LibreOffice实例池已关闭");
+    }
+
+    /**
+     * 常驻LibreOffice实例
+     */
+    public class Instance {
+
+        private final int index;
+        private final int port;
+        private final Path profileDirectory;
+        private Process process;
+        private int jobCount;
+
+        private Instance(int index, int port, Path profileDirectory) {
+            this.index = index;
+            this.port = port;
+            this.profileDirectory = profileDirectory;
+        }
+
+        /**
+         * 用户配置目录参数，转换时传递给soffice以将请求交给该实例处理
+         */
+        public String getUserInstallationArgument() {
+            return "-env:UserInstallation=" + profileDirectory.toUri();
+        }
+
+        private boolean isHealthy() {
+            if (process == null || !process.isAlive()) {
+                return false;
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(LOCALHOST, port), 1000);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private void restart() {
+            stop();
+            try {
+                Files.createDirectories(profileDirectory);
+                process = new ProcessBuilder(
+                        libreOfficePath,
+                        getUserInstallationArgument(),
+                        "--headless",
+                        "--invisible",
+                        "--nocrashreport",
+                        "--nodefault",
+                        "--nologo",
+                        "--nofirststartwizard",
+                        "--norestore",
+                        "--accept=socket,host=" + LOCALHOST + ",port=" + port + ";urp;StarOffice.ComponentContext")
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+            } catch (IOException e) {
+                throw new ExtractException("LibreOffice实例启动失败: " + e.getMessage(), e);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(startupTimeoutSeconds);
+            while (!isHealthy()) {
+                if (!process.isAlive()) {
+                    throw new ExtractException("LibreOffice实例启动后异常退出，退出码: " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    stop();
+                    throw new ExtractException("LibreOffice实例启动超时（" + startupTimeoutSeconds + "秒）");
+                }
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stop();
+                    throw new ExtractException("等待LibreOffice实例启动被中断", e);
+                }
+            }
+            jobCount = 0;
+            log.info("LibreOffice实例[{}]已启动，端口: {}", index, port);
+        }
+
+        private void stop() {
+            if (process == null) {
+                return;
+            }
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+            process = null;
+            log.debug("LibreOffice实例[{}]已停止", index);
+        }
+    }
+}
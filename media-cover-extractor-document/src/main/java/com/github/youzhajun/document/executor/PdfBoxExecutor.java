@@ -1,51 +1,181 @@
 package com.github.youzhajun.document.executor;
 
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
 import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
 
-import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * PDFBox执行器
  */
 @Slf4j
-public class PdfBoxExecutor {
+public class PdfBoxExecutor implements AutoCloseable {
 
     /**
-     * 从PDF提取第一页作为图片
+     * 未指定目标尺寸时的渲染DPI
+     */
+    static final float DEFAULT_DPI = 300;
+
+    /**
+     * 渲染画布池中空闲画布最多占用的内存（约两张300DPI的A4画布）
+     */
+    private static final long MAX_IDLE_RASTER_BYTES = 64L * 1024 * 1024;
+
+    private final PdfLoadMode loadMode;
+    private final long maxMainMemoryBytes;
+    private final File scratchDirectory;
+    private final boolean fastPathEnabled;
+    private final int renderParallelism;
+    private final PdfRenderWorkerPool workerPool;
+    private final RasterPool rasterPool;
+    private final MemoryBudget memoryBudget;
+    private final PdfPageImageExtractor pageImageExtractor;
+    private final ThreadPoolExecutor renderExecutor;
+
+    public PdfBoxExecutor() {
+        this(PdfLoadMode.DEFAULT, -1, null, false, 1);
+    }
+
+    public PdfBoxExecutor(PdfLoadMode loadMode, long maxMainMemoryBytes, String scratchDirectory, boolean fastPathEnabled) {
+        this(loadMode, maxMainMemoryBytes, scratchDirectory, fastPathEnabled, 1);
+    }
+
+    /**
+     * @param loadMode           PDF加载方式
+     * @param maxMainMemoryBytes 每个文档流缓存可使用的最大堆内存，超出部分写入临时文件（小于0表示不限制）
+     * @param scratchDirectory   临时文件目录（为null时使用系统临时目录）
+     * @param fastPathEnabled    第一页带缩略图或只有一张整页图片时是否直接读取图片（不渲染页面）
+     * @param renderParallelism  多页预览时同时渲染的最大页数
+     */
+    public PdfBoxExecutor(PdfLoadMode loadMode, long maxMainMemoryBytes, String scratchDirectory,
+                          boolean fastPathEnabled, int renderParallelism) {
+        this(loadMode, maxMainMemoryBytes, scratchDirectory, fastPathEnabled, renderParallelism, null);
+    }
+
+    /**
+     * @param workerPool 渲染子进程池（不为null时渲染在子进程中执行，与宿主进程的堆内存隔离）
+     */
+    public PdfBoxExecutor(PdfLoadMode loadMode, long maxMainMemoryBytes, String scratchDirectory,
+                          boolean fastPathEnabled, int renderParallelism, PdfRenderWorkerPool workerPool) {
+        this(loadMode, maxMainMemoryBytes, scratchDirectory, fastPathEnabled, renderParallelism, workerPool,
+                MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（宿主进程内渲染或解码页面图片前按目标像素尺寸预留）
+     */
+    public PdfBoxExecutor(PdfLoadMode loadMode, long maxMainMemoryBytes, String scratchDirectory,
+                          boolean fastPathEnabled, int renderParallelism, PdfRenderWorkerPool workerPool,
+                          MemoryBudget memoryBudget) {
+        this.loadMode = loadMode != null ? loadMode : PdfLoadMode.DEFAULT;
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.scratchDirectory = scratchDirectory != null ? new File(scratchDirectory) : null;
+        this.fastPathEnabled = fastPathEnabled;
+        this.renderParallelism = Math.max(1, renderParallelism);
+        this.workerPool = workerPool;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+        // 空闲画布不计入位图内存预算，限制预算时最多占用总预算的1/4
+        long maxIdleRasterBytes = this.memoryBudget.isLimited()
+                ? Math.min(MAX_IDLE_RASTER_BYTES, this.memoryBudget.getBudgetBytes() / 4) : MAX_IDLE_RASTER_BYTES;
+        this.rasterPool = new RasterPool(Math.max(2, this.renderParallelism), maxIdleRasterBytes);
+        this.pageImageExtractor = new PdfPageImageExtractor(this.memoryBudget);
+        this.renderExecutor = this.renderParallelism > 1 ? createRenderExecutor(this.renderParallelism) : null;
+        if (this.scratchDirectory != null && !this.scratchDirectory.exists() && !this.scratchDirectory.mkdirs()) {
+            log.warn("创建PDF临时文件目录失败: {}", scratchDirectory);
+        }
+        log.debug("PDF加载方式: {}, 单文档内存上限: {} bytes", this.loadMode, maxMainMemoryBytes);
+    }
+
+    /**
+     * 从PDF提取第一页作为图片（DPI=300）
      * @param pdfFile PDF文件
      * @param outputFile 输出图片文件
      * @param format 图片格式
      */
     public void extractFirstPage(File pdfFile, File outputFile, String format) {
+        extractFirstPage(pdfFile, outputFile, format, ImageProcessStrategy.NONE, null, null);
+    }
+
+    /**
+     * 从PDF提取第一页作为图片，按目标尺寸计算所需的最小缩放比例直接渲染，不再先渲染300DPI大图后缩放
+     * @param pdfFile PDF文件
+     * @param outputFile 输出图片文件
+     * @param format 图片格式
+     * @param strategy 图片处理策略
+     * @param width 图片宽度
+     * @param height 图片高度
+     */
+    public void extractFirstPage(File pdfFile, File outputFile, String format,
+                                 ImageProcessStrategy strategy, Integer width, Integer height) {
         if (!pdfFile.exists() || !pdfFile.isFile()) {
             throw new ExtractException("PDF文件不存在或不是文件: " + pdfFile.getAbsolutePath());
         }
 
+        if (workerPool != null) {
+            byte[] image = workerPool.renderFirstPage(pdfFile, format, strategy, width, height);
+            writeBytes(image, outputFile);
+            log.debug("PDF第一页提取成功（子进程）: {} -> {}", pdfFile.getName(), outputFile.getAbsolutePath());
+            return;
+        }
+
         PDDocument document = null;
         try {
-            // 加载PDF文档
-            document = Loader.loadPDF(pdfFile);
+            // 加载PDF文档（对象按需解析，只渲染第一页时不会解析其他页面的资源）
+            document = load(pdfFile);
             
             if (document.getNumberOfPages() == 0) {
                 throw new ExtractException("PDF文档没有页面");
             }
 
+            PDPage page = document.getPage(0);
+            if (fastPathEnabled && tryExtractPageImage(page, outputFile, format, strategy, width, height)) {
+                log.debug("PDF第一页图片直接抽取成功: {} -> {}", pdfFile.getName(), outputFile.getAbsolutePath());
+                return;
+            }
+
             // 创建PDF渲染器
             PDFRenderer renderer = new PDFRenderer(document);
-            
-            // 渲染第一页（索引为0），DPI设置为300以获得高质量图片
-            BufferedImage image = renderer.renderImageWithDPI(0, 300);
 
-            // 保存图片
-            ImageIO.write(image, format, outputFile);
-            
+            // 渲染第一页（索引为0）并保存图片
+            renderPage(0, page, renderer, outputFile, format, strategy, width, height);
+
             log.debug("PDF第一页提取成功: {} -> {}", pdfFile.getName(), outputFile.getAbsolutePath());
         } catch (IOException e) {
             log.error("PDF页面提取失败", e);
@@ -60,5 +190,300 @@ public class PdfBoxExecutor {
             }
         }
     }
-}
 
+    /**
+     * 从PDF提取前几页作为预览图片
+     * <p>
+     * PDDocument及其随机访问源不是线程安全的：每个渲染线程使用单独打开的文档（同时渲染的页数不超过renderParallelism），
+     * 渲染任务提交到所有调用共享的有界线程池。
+     * </p>
+     * @param pdfFile PDF文件
+     * @param outputDirectory 输出目录
+     * @param maxPages 最多提取的页数
+     * @param format 图片格式
+     * @param strategy 图片处理策略
+     * @param width 图片宽度
+     * @param height 图片高度
+     * @return 按页码排列的预览图片
+     */
+    public List<File> extractPages(File pdfFile, String outputDirectory, int maxPages, String format,
+                                   ImageProcessStrategy strategy, Integer width, Integer height) {
+        if (!pdfFile.exists() || !pdfFile.isFile()) {
+            throw new ExtractException("PDF文件不存在或不是文件: " + pdfFile.getAbsolutePath());
+        }
+
+        if (workerPool != null) {
+            return extractPagesInWorker(pdfFile, outputDirectory, maxPages, format, strategy, width, height);
+        }
+
+        List<File> outputFiles = new ArrayList<>();
+        List<PDDocument> documents = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            PDDocument document = load(pdfFile);
+            documents.add(document);
+            int pageCount = Math.min(maxPages, document.getNumberOfPages());
+            if (pageCount <= 0) {
+                throw new ExtractException("PDF文档没有页面");
+            }
+            for (int i = 0; i < pageCount; i++) {
+                outputFiles.add(new File(outputDirectory, UUID.randomUUID() + "." + format));
+            }
+
+            int parallelism = renderExecutor != null ? Math.min(renderParallelism, pageCount) : 1;
+            if (parallelism == 1) {
+                PDFRenderer renderer = new PDFRenderer(document);
+                for (int i = 0; i < pageCount; i++) {
+                    extractPage(i, document.getPage(i), renderer, outputFiles.get(i), format, strategy, width, height);
+                }
+                log.debug("PDF前{}页提取成功: {}", pageCount, pdfFile.getName());
+                return outputFiles;
+            }
+
+            // 每个渲染线程独占一个文档，读取内容流时不会与其他线程交错定位同一个随机访问源
+            BlockingQueue<PDDocument> idleDocuments = new ArrayBlockingQueue<>(parallelism);
+            idleDocuments.add(document);
+            for (int i = 1; i < parallelism; i++) {
+                PDDocument copy = load(pdfFile);
+                documents.add(copy);
+                idleDocuments.add(copy);
+            }
+
+            for (int i = 0; i < pageCount; i++) {
+                int pageIndex = i;
+                futures.add(renderExecutor.submit(() -> {
+                    if (aborted.get()) {
+                        return null;
+                    }
+                    PDDocument owned = idleDocuments.take();
+                    try {
+                        extractPage(pageIndex, owned.getPage(pageIndex), new PDFRenderer(owned),
+                                outputFiles.get(pageIndex), format, strategy, width, height);
+                    } finally {
+                        idleDocuments.add(owned);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            log.debug("PDF前{}页提取成功: {}，并行度 {}", pageCount, pdfFile.getName(), parallelism);
+            return outputFiles;
+        } catch (Exception e) {
+            aborted.set(true);
+            outputFiles.forEach(File::delete);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("PDF多页提取失败", cause);
+            throw new ExtractException("PDF多页提取失败: " + cause.getMessage(), cause);
+        } finally {
+            // 出错时尚未开始的页面不再渲染，正在渲染的页面仍在使用文档，等待其结束后再关闭
+            awaitQuietly(futures);
+            for (PDDocument document : documents) {
+                try {
+                    document.close();
+                } catch (IOException e) {
+                    log.warn("关闭PDF文档失败", e);
+                }
+            }
+        }
+    }
+
+    private void awaitQuietly(List<Future<?>> futures) {
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (!future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (Exception e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 关闭共享的渲染线程池
+     */
+    @Override
+    public void close() {
+        if (renderExecutor != null) {
+            renderExecutor.shutdown();
+        }
+    }
+
+    private List<File> extractPagesInWorker(File pdfFile, String outputDirectory, int maxPages, String format,
+                                            ImageProcessStrategy strategy, Integer width, Integer height) {
+        List<File> outputFiles = new ArrayList<>();
+        try {
+            for (byte[] image : workerPool.renderPages(pdfFile, maxPages, format, strategy, width, height)) {
+                File outputFile = new File(outputDirectory, UUID.randomUUID() + "." + format);
+                outputFiles.add(outputFile);
+                writeBytes(image, outputFile);
+            }
+            log.debug("PDF前{}页提取成功（子进程）: {}", outputFiles.size(), pdfFile.getName());
+            return outputFiles;
+        } catch (RuntimeException e) {
+            outputFiles.forEach(File::delete);
+            throw e;
+        }
+    }
+
+    private void writeBytes(byte[] image, File outputFile) {
+        try {
+            Files.write(outputFile.toPath(), image);
+        } catch (IOException e) {
+            throw new ExtractException("图片写入失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 提取单个页面（优先直接读取页面图片，否则渲染）
+     */
+    private void extractPage(int pageIndex, PDPage page, PDFRenderer renderer, File outputFile, String format,
+                             ImageProcessStrategy strategy, Integer width, Integer height) throws IOException {
+        if (fastPathEnabled && tryExtractPageImage(page, outputFile, format, strategy, width, height)) {
+            return;
+        }
+        renderPage(pageIndex, page, renderer, outputFile, format, strategy, width, height);
+    }
+
+    /**
+     * 预热：构建字体缓存（首次使用时会扫描全部系统字体）并渲染一个内置的单页PDF，
+     * 提前加载渲染相关的类和本地库
+     */
+    public void warmUp() {
+        FontMappers.instance().getFontBoxFont("Helvetica", null);
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(new PDRectangle(72, 72));
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(8, 30);
+                content.showText("warm-up");
+                content.endText();
+            }
+            new PDFRenderer(document).renderImageWithDPI(0, 72, ImageType.RGB);
+        } catch (IOException e) {
+            throw new ExtractException("PDFBox预热失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 第一页带缩略图或只有一张整页图片时直接读取图片，失败时回退到渲染
+     */
+    private boolean tryExtractPageImage(PDPage page, File outputFile, String format,
+                                        ImageProcessStrategy strategy, Integer width, Integer height) {
+        try {
+            return pageImageExtractor.tryExtract(page, outputFile, format, strategy, width, height);
+        } catch (MemoryBudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.debug("PDF页面图片直接抽取失败，回退到渲染: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 多页预览共享的渲染线程池：线程数不超过renderParallelism，空闲时回收线程
+     */
+    private static ThreadPoolExecutor createRenderExecutor(int parallelism) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 按配置的加载方式打开PDF（文档关闭时会一并关闭随机访问源）
+     */
+    private PDDocument load(File pdfFile) throws IOException {
+        if (loadMode == PdfLoadMode.DEFAULT) {
+            return Loader.loadPDF(pdfFile);
+        }
+
+        MemoryUsageSetting memoryUsage = maxMainMemoryBytes < 0
+                ? MemoryUsageSetting.setupMainMemoryOnly()
+                : MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+        if (scratchDirectory != null) {
+            memoryUsage.setTempDir(scratchDirectory);
+        }
+
+        RandomAccessRead source = loadMode == PdfLoadMode.MEMORY_MAPPED
+                ? new RandomAccessReadMemoryMappedFile(pdfFile)
+                : new RandomAccessReadBufferedFile(pdfFile);
+        try {
+            return Loader.loadPDF(source, memoryUsage.streamCache);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 渲染页面并写入文件
+     * <p>
+     * 根据CropBox（考虑页面旋转）计算目标像素尺寸（未指定目标尺寸时按300DPI计算），直接以对应的缩放比例绘制到RGB画布上，
+     * 缩放在渲染时一步完成。画布从复用池中借用，写入完成后归还，避免每次渲染都分配数MB的位图。
+     * 渲染前按目标像素尺寸从位图内存预算中预留内存，预算不足时等待或失败。
+     * </p>
+     */
+    private void renderPage(int pageIndex, PDPage page, PDFRenderer renderer, File outputFile, String format,
+                            ImageProcessStrategy strategy, Integer width, Integer height) throws IOException {
+        // 页面显示尺寸（单位：点，1/72英寸），旋转90/270度时宽高互换
+        PDRectangle cropBox = page.getCropBox();
+        boolean rotated = page.getRotation() % 180 != 0;
+        float pageWidth = rotated ? cropBox.getHeight() : cropBox.getWidth();
+        float pageHeight = rotated ? cropBox.getWidth() : cropBox.getHeight();
+
+        Dimension target;
+        if (strategy == null || strategy == ImageProcessStrategy.NONE || width == null || height == null) {
+            target = new Dimension(
+                    Math.max(1, Math.round(pageWidth * DEFAULT_DPI / 72)),
+                    Math.max(1, Math.round(pageHeight * DEFAULT_DPI / 72)));
+        } else {
+            target = ImageProcessUtil.computeTargetSize(
+                    Math.max(1, Math.round(pageWidth)), Math.max(1, Math.round(pageHeight)), strategy, width, height);
+        }
+        float scaleX = target.width / pageWidth;
+        float scaleY = target.height / pageHeight;
+
+        try (MemoryBudget.Reservation ignored =
+                     memoryBudget.reserve(MemoryBudget.estimateImageBytes(target.width, target.height))) {
+            BufferedImage image = rasterPool.borrow(target.width, target.height);
+            try {
+                Graphics2D graphics = image.createGraphics();
+                try {
+                    graphics.setBackground(Color.WHITE);
+                    graphics.clearRect(0, 0, target.width, target.height);
+                    renderer.renderPageToGraphics(pageIndex, graphics, scaleX, scaleY);
+                } finally {
+                    graphics.dispose();
+                }
+                ImageProcessUtil.write(image, format, outputFile);
+            } finally {
+                rasterPool.release(image);
+            }
+        }
+
+        log.debug("PDF页面渲染: {}x{}pt -> {}x{}px (DPI约{})",
+                pageWidth, pageHeight, target.width, target.height, Math.round(Math.max(scaleX, scaleY) * 72));
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.youzhajun.document.executor;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PDF页面图片快速抽取
+ * <p>
+ * 扫描件的页面通常只有一张铺满页面的JPEG图片，部分PDF还带有页面缩略图（/Thumb）。
+ * 这类页面直接读取图片数据即可得到封面，无需走完整的渲染流程；不需要缩放且格式一致时JPEG数据原样输出。
+ * 未指定目标尺寸时整页图片按300DPI换算的页面尺寸输出（与渲染方式一致），扫描件的原始分辨率（72~600DPI不等）不直接作为封面尺寸。
+ * </p>
+ */
+@Slf4j
+class PdfPageImageExtractor {
+
+    /**
+     * 图片覆盖页面面积的最小比例
+     */
+    private static final double MIN_COVERAGE = 0.95;
+
+    /**
+     * 图片超出页面面积的最大比例（超出过多说明页面只显示了图片的一部分）
+     */
+    private static final double MAX_OVERFLOW = 1.05;
+
+    /**
+     * 不产生可见内容的操作符（图形状态、颜色、文本状态）
+     */
+    private static final Set<String> NEUTRAL_OPERATORS = Set.of(
+            "q", "Q", "cm", "w", "J", "j", "M", "d", "ri", "i",
+            "g", "G", "rg", "RG", "k", "K", "cs", "CS", "sc", "SC", "scn", "SCN",
+            "BT", "ET", "Tc", "Tw", "Tz", "TL", "Tf", "Tr", "Ts", "Td", "TD", "Tm", "T*");
+
+    /**
+     * 文本绘制操作符（仅在不可见渲染模式下允许，常见于带OCR文本层的扫描件）
+     */
+    private static final Set<String> TEXT_SHOWING_OPERATORS = Set.of("Tj", "TJ", "'", "\"");
+
+    /**
+     * 不可见文本渲染模式
+     */
+    private static final int INVISIBLE_TEXT_MODE = 3;
+
+    private final MemoryBudget memoryBudget;
+
+    PdfPageImageExtractor(MemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * 尝试直接从页面图片生成封面
+     *
+     * @return 是否生成成功，返回false时需要调用方渲染页面
+     */
+    boolean tryExtract(PDPage page, File outputFile, String format,
+                       ImageProcessStrategy strategy, Integer width, Integer height) throws IOException {
+        if (page.getRotation() % 360 != 0) {
+            return false;
+        }
+
+        PDImageXObject thumbnail = findThumbnail(page);
+        if (thumbnail != null && isLargeEnough(thumbnail, strategy, width, height)) {
+            write(thumbnail, outputFile, format, strategy, width, height);
+            log.debug("使用PDF页面缩略图生成封面: {}x{}", thumbnail.getWidth(), thumbnail.getHeight());
+            return true;
+        }
+
+        PDImageXObject image = findFullPageImage(page);
+        if (image != null) {
+            if (strategy == null || strategy == ImageProcessStrategy.NONE || width == null || height == null) {
+                PDRectangle cropBox = page.getCropBox();
+                strategy = ImageProcessStrategy.CROP;
+                width = Math.max(1, Math.round(cropBox.getWidth() * PdfBoxExecutor.DEFAULT_DPI / 72));
+                height = Math.max(1, Math.round(cropBox.getHeight() * PdfBoxExecutor.DEFAULT_DPI / 72));
+            }
+            write(image, outputFile, format, strategy, width, height);
+            log.debug("使用PDF整页图片生成封面: {}x{}", image.getWidth(), image.getHeight());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 读取页面缩略图（/Thumb）
+     */
+    private PDImageXObject findThumbnail(PDPage page) throws IOException {
+        COSStream stream = page.getCOSObject().getCOSStream(COSName.THUMB);
+        return stream != null ? new PDImageXObject(new PDStream(stream), null) : null;
+    }
+
+    /**
+     * 页面缩略图通常很小，只有在指定了目标尺寸且缩略图不需要放大时才使用
+     */
+    private boolean isLargeEnough(PDImageXObject thumbnail, ImageProcessStrategy strategy, Integer width, Integer height) {
+        if (strategy == null || strategy == ImageProcessStrategy.NONE || width == null || height == null) {
+            return false;
+        }
+        Dimension target = ImageProcessUtil.computeTargetSize(
+                thumbnail.getWidth(), thumbnail.getHeight(), strategy, width, height);
+        return thumbnail.getWidth() >= target.width && thumbnail.getHeight() >= target.height;
+    }
+
+    /**
+     * 解析页面内容流，判断页面是否只绘制了一张铺满页面的图片
+     *
+     * @return 整页图片，不满足条件时返回null
+     */
+    private PDImageXObject findFullPageImage(PDPage page) throws IOException {
+        PDResources resources = page.getResources();
+        if (resources == null || !page.hasContents()) {
+            return null;
+        }
+
+        Deque<AffineTransform> transformStack = new ArrayDeque<>();
+        Deque<Integer> textModeStack = new ArrayDeque<>();
+        AffineTransform transform = new AffineTransform();
+        int textMode = 0;
+        PDImageXObject image = null;
+        Rectangle2D imageBounds = null;
+
+        List<COSBase> operands = new ArrayList<>();
+        PDFStreamParser parser = new PDFStreamParser(page);
+        for (Object token = parser.parseNextToken(); token != null; token = parser.parseNextToken()) {
+            if (!(token instanceof Operator)) {
+                operands.add((COSBase) token);
+                continue;
+            }
+
+            String name = ((Operator) token).getName();
+            switch (name) {
+                case "q":
+                    transformStack.push(new AffineTransform(transform));
+                    textModeStack.push(textMode);
+                    break;
+                case "Q":
+                    if (transformStack.isEmpty()) {
+                        return null;
+                    }
+                    transform = transformStack.pop();
+                    textMode = textModeStack.pop();
+                    break;
+                case "cm":
+                    float[] matrix = toNumbers(operands, 6);
+                    if (matrix == null) {
+                        return null;
+                    }
+                    transform.concatenate(new AffineTransform(matrix));
+                    break;
+                case "Tr":
+                    float[] mode = toNumbers(operands, 1);
+                    if (mode == null) {
+                        return null;
+                    }
+                    textMode = (int) mode[0];
+                    break;
+                case "Do":
+                    if (image != null || operands.size() != 1 || !(operands.get(0) instanceof COSName)) {
+                        return null;
+                    }
+                    PDXObject xObject = resources.getXObject((COSName) operands.get(0));
+                    if (!(xObject instanceof PDImageXObject)) {
+                        return null;
+                    }
+                    // 只接受无旋转、无翻转的图片
+                    if (transform.getShearX() != 0 || transform.getShearY() != 0
+                            || transform.getScaleX() <= 0 || transform.getScaleY() <= 0) {
+                        return null;
+                    }
+                    image = (PDImageXObject) xObject;
+                    imageBounds = transform.createTransformedShape(new Rectangle2D.Double(0, 0, 1, 1)).getBounds2D();
+                    break;
+                default:
+                    boolean invisibleText = TEXT_SHOWING_OPERATORS.contains(name) && textMode == INVISIBLE_TEXT_MODE;
+                    if (!invisibleText && !NEUTRAL_OPERATORS.contains(name)) {
+                        return null;
+                    }
+                    break;
+            }
+            operands.clear();
+        }
+
+        if (image == null || image.isStencil() || image.getSoftMask() != null || image.getMask() != null) {
+            return null;
+        }
+        return coversPage(imageBounds, page.getCropBox()) ? image : null;
+    }
+
+    private boolean coversPage(Rectangle2D imageBounds, PDRectangle cropBox) {
+        Rectangle2D page = new Rectangle2D.Double(
+                cropBox.getLowerLeftX(), cropBox.getLowerLeftY(), cropBox.getWidth(), cropBox.getHeight());
+        Rectangle2D visible = imageBounds.createIntersection(page);
+        double pageArea = page.getWidth() * page.getHeight();
+        double visibleArea = Math.max(0, visible.getWidth()) * Math.max(0, visible.getHeight());
+        double imageArea = imageBounds.getWidth() * imageBounds.getHeight();
+        return pageArea > 0 && visibleArea / pageArea >= MIN_COVERAGE && imageArea / pageArea <= MAX_OVERFLOW;
+    }
+
+    /**
+     * 输出图片：不需要缩放的JPEG直接复制原始数据，否则按目标尺寸降采样解码后缩放
+     */
+    private void write(PDImageXObject image, File outputFile, String format,
+                       ImageProcessStrategy strategy, Integer width, Integer height) throws IOException {
+        Dimension target = ImageProcessUtil.computeTargetSize(
+                image.getWidth(), image.getHeight(), strategy, width, height);
+        boolean resizeNeeded = target.width != image.getWidth() || target.height != image.getHeight();
+
+        if (!resizeNeeded && isJpegFormat(format) && isPassThroughJpeg(image)) {
+            try (InputStream inputStream = image.getStream()
+                    .createInputStream(List.of(COSName.DCT_DECODE.getName(), COSName.DCT_DECODE_ABBREVIATION.getName()))) {
+                Files.copy(inputStream, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+
+        // 按整数倍降采样解码，避免把扫描件全分辨率解码到内存中
+        int subsampling = Math.max(1, Math.min(image.getWidth() / target.width, image.getHeight() / target.height));
+        long estimatedBytes = MemoryBudget.estimateImageBytes(image.getWidth() / subsampling, image.getHeight() / subsampling)
+                + MemoryBudget.estimateImageBytes(target.width, target.height);
+        try (MemoryBudget.Reservation ignored = memoryBudget.reserve(estimatedBytes)) {
+            BufferedImage decoded = image.getImage(new Rectangle(0, 0, image.getWidth(), image.getHeight()), subsampling);
+            ImageProcessUtil.write(ImageProcessUtil.resize(decoded, strategy, target.width, target.height), format, outputFile);
+        }
+    }
+
+    /**
+     * 只有DeviceRGB/DeviceGray且没有Decode数组的JPEG数据可以原样输出
+     */
+    private boolean isPassThroughJpeg(PDImageXObject image) throws IOException {
+        if (!"jpg".equals(image.getSuffix()) || image.getDecode() != null) {
+            return false;
+        }
+        PDColorSpace colorSpace = image.getColorSpace();
+        return colorSpace instanceof PDDeviceRGB || colorSpace instanceof PDDeviceGray;
+    }
+
+    private boolean isJpegFormat(String format) {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+
+    private float[] toNumbers(List<COSBase> operands, int count) {
+        if (operands.size() != count) {
+            return null;
+        }
+        float[] numbers = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (!(operands.get(i) instanceof COSNumber)) {
+                return null;
+            }
+            numbers[i] = ((COSNumber) operands.get(i)).floatValue();
+        }
+        return numbers;
+    }
+}
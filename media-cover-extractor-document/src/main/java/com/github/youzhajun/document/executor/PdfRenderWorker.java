@@ -0,0 +1,142 @@
+package com.github.youzhajun.document.executor;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PDF渲染子进程入口
+ * <p>
+ * 由 {@link PdfRenderWorkerPool} 以独立JVM启动，通过标准输入/输出与宿主进程通信，渲染结果以编码后的图片字节返回。
+ * 标准输出专用于通信协议，启动时将 System.out 重定向到标准错误，避免日志等输出破坏协议数据。
+ * </p>
+ * <pre>
+ * 启动:  worker -> READY(int)
+ * 请求:  type(byte) pdfPath(UTF) format(UTF) strategy(UTF) width(int) height(int) maxPages(int)
+ * 响应:  true(boolean) count(int) [length(int) bytes]...  或  false(boolean) message(UTF)
+ * </pre>
+ * 启动参数: loadMode maxMainMemoryBytes scratchDirectory fastPathEnabled（scratchDirectory为空字符串表示系统临时目录）
+ */
+public class PdfRenderWorker {
+
+    static final int READY = 0x50444657;
+    static final int REQUEST_FIRST_PAGE = 1;
+    static final int REQUEST_PAGES = 2;
+
+    /**
+     * 宽高未指定时在协议中的取值
+     */
+    static final int NO_SIZE = -1;
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    public static void main(String[] args) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(System.in));
+
+        PdfBoxExecutor executor = new PdfBoxExecutor(
+                PdfLoadMode.valueOf(args[0]),
+                Long.parseLong(args[1]),
+                args[2].isEmpty() ? null : args[2],
+                Boolean.parseBoolean(args[3]));
+
+        output.writeInt(READY);
+        output.flush();
+
+        while (true) {
+            int type;
+            try {
+                type = input.readUnsignedByte();
+            } catch (EOFException e) {
+                // 宿主关闭了标准输入，正常退出
+                return;
+            }
+            File pdfFile = new File(input.readUTF());
+            String format = input.readUTF();
+            ImageProcessStrategy strategy = ImageProcessStrategy.valueOf(input.readUTF());
+            Integer width = toSize(input.readInt());
+            Integer height = toSize(input.readInt());
+            int maxPages = input.readInt();
+
+            Throwable failure = null;
+            List<byte[]> images = null;
+            try {
+                images = render(executor, type, pdfFile, format, strategy, width, height, maxPages);
+            } catch (Throwable e) {
+                failure = e;
+            }
+
+            if (failure == null) {
+                output.writeBoolean(true);
+                output.writeInt(images.size());
+                for (byte[] image : images) {
+                    output.writeInt(image.length);
+                    output.write(image);
+                }
+                output.flush();
+            } else {
+                output.writeBoolean(false);
+                output.writeUTF(truncate(String.valueOf(failure.getMessage())));
+                output.flush();
+                if (failure instanceof Error) {
+                    // 内存溢出等严重错误后进程状态不可信，退出后由宿主重新启动
+                    System.exit(2);
+                }
+            }
+        }
+    }
+
+    private static List<byte[]> render(PdfBoxExecutor executor, int type, File pdfFile, String format,
+                                       ImageProcessStrategy strategy, Integer width, Integer height,
+                                       int maxPages) throws IOException {
+        Path directory = Files.createTempDirectory("media-cover-worker-");
+        try {
+            List<File> files = new ArrayList<>();
+            if (type == REQUEST_FIRST_PAGE) {
+                File outputFile = directory.resolve("cover." + format).toFile();
+                executor.extractFirstPage(pdfFile, outputFile, format, strategy, width, height);
+                files.add(outputFile);
+            } else if (type == REQUEST_PAGES) {
+                files.addAll(executor.extractPages(pdfFile, directory.toString(), maxPages, format, strategy, width, height));
+            } else {
+                throw new IllegalArgumentException("未知的请求类型: " + type);
+            }
+
+            List<byte[]> images = new ArrayList<>();
+            for (File file : files) {
+                images.add(Files.readAllBytes(file.toPath()));
+            }
+            return images;
+        } finally {
+            File[] files = directory.toFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static Integer toSize(int value) {
+        return value == NO_SIZE ? null : value;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+}
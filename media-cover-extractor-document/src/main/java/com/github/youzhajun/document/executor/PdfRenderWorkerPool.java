@@ -0,0 +1,324 @@
+package com.github.youzhajun.document.executor;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.common.exception.ExtractException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PDF渲染子进程池
+ * <p>
+ * 维护多个常驻的子JVM（{@link PdfRenderWorker}），每个子进程限制最大堆内存，通过标准输入/输出接收渲染请求并返回图片字节。
+ * 恶意或超大的PDF只会导致子进程内存溢出或超时被终止，不会影响宿主进程的堆内存和GC；
+ * 子进程在完成指定次数的任务、渲染失败或超时后重启，其余时间保持JIT预热状态。
+ * 子进程的标准错误（日志、内存溢出信息等）逐行转发到宿主进程日志，便于排查子进程退出原因。
+ * </p>
+ */
+@Slf4j
+public class PdfRenderWorkerPool implements Closeable {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 30;
+
+    private final List<String> command;
+    private final int maxJobsPerWorker;
+    private final long leaseTimeoutSeconds;
+    private final long jobTimeoutSeconds;
+    private final List<Worker> workers = new ArrayList<>();
+    private final BlockingQueue<Worker> idleWorkers;
+    private final ScheduledExecutorService watchdog;
+    private volatile boolean closed = false;
+
+    /**
+     * @param javaPath            java可执行文件路径
+     * @param classpath           子进程类路径（需包含本模块及PDFBox）
+     * @param poolSize            子进程数量
+     * @param maxHeapMegabytes    子进程最大堆内存（MB）
+     * @param maxJobsPerWorker    子进程完成多少次任务后重启（小于等于0表示不重启）
+     * @param leaseTimeoutSeconds 等待空闲子进程的超时时间
+     * @param jobTimeoutSeconds   单次渲染超时时间，超时后强制终止子进程
+     * @param loadMode            子进程的PDF加载方式
+     * @param maxMainMemoryBytes  子进程每个文档流缓存可使用的最大堆内存
+     * @param scratchDirectory    子进程临时文件目录
+     * @param fastPathEnabled     子进程是否启用页面图片快速抽取
+     */
+    public PdfRenderWorkerPool(String javaPath,
+                               String classpath,
+                               int poolSize,
+                               long maxHeapMegabytes,
+                               int maxJobsPerWorker,
+                               long leaseTimeoutSeconds,
+                               long jobTimeoutSeconds,
+                               PdfLoadMode loadMode,
+                               long maxMainMemoryBytes,
+                               String scratchDirectory,
+                               boolean fastPathEnabled) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("PDF渲染子进程数量必须大于0");
+        }
+        this.command = List.of(
+                javaPath,
+                "-Xmx" + maxHeapMegabytes + "m",
+                "-XX:+ExitOnOutOfMemoryError",
+                "-Djava.awt.headless=true",
+                "-cp", classpath,
+                PdfRenderWorker.class.getName(),
+                String.valueOf(loadMode != null ? loadMode : PdfLoadMode.DEFAULT),
+                String.valueOf(maxMainMemoryBytes),
+                scratchDirectory != null ? scratchDirectory : "",
+                String.valueOf(fastPathEnabled));
+        this.maxJobsPerWorker = maxJobsPerWorker;
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.jobTimeoutSeconds = jobTimeoutSeconds;
+        this.idleWorkers = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            Worker worker = new Worker(i);
+            workers.add(worker);
+            idleWorkers.add(worker);
+        }
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 在子进程中渲染第一页
+     *
+     * @return 编码后的图片字节
+     */
+    public byte[] renderFirstPage(File pdfFile, String format, ImageProcessStrategy strategy, Integer width, Integer height) {
+        return submit(PdfRenderWorker.REQUEST_FIRST_PAGE, pdfFile, format, strategy, width, height, 1).get(0);
+    }
+
+    /**
+     * 在子进程中渲染前几页
+     *
+     * @return 按页码排列的编码后图片字节
+     */
+    public List<byte[]> renderPages(File pdfFile, int maxPages, String format,
+                                    ImageProcessStrategy strategy, Integer width, Integer height) {
+        return submit(PdfRenderWorker.REQUEST_PAGES, pdfFile, format, strategy, width, height, maxPages);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Worker worker : workers) {
+            worker.stop();
+        }
+        watchdog.shutdownNow();
+        log.debug("PDF渲染子进程池已关闭");
+    }
+
+    private List<byte[]> submit(int type, File pdfFile, String format,
+                                ImageProcessStrategy strategy, Integer width, Integer height, int maxPages) {
+        Worker worker = lease();
+        boolean failed = true;
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            timedOut.set(true);
+            worker.kill();
+        }, jobTimeoutSeconds, TimeUnit.SECONDS);
+        try {
+            worker.output.writeByte(type);
+            worker.output.writeUTF(pdfFile.getAbsolutePath());
+            worker.output.writeUTF(format);
+            worker.output.writeUTF((strategy != null ? strategy : ImageProcessStrategy.NONE).name());
+            worker.output.writeInt(width != null ? width : PdfRenderWorker.NO_SIZE);
+            worker.output.writeInt(height != null ? height : PdfRenderWorker.NO_SIZE);
+            worker.output.writeInt(maxPages);
+            worker.output.flush();
+
+            if (!worker.input.readBoolean()) {
+                String message = worker.input.readUTF();
+                // 子进程已返回错误信息，协议状态完整，可以继续使用
+                failed = false;
+                throw new ExtractException("PDF渲染子进程处理失败: " + message);
+            }
+            int count = worker.input.readInt();
+            List<byte[]> images = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] image = new byte[worker.input.readInt()];
+                worker.input.readFully(image);
+                images.add(image);
+            }
+            failed = false;
+            return images;
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new ExtractException("PDF渲染超时（" + jobTimeoutSeconds + "秒），子进程已终止");
+            }
+            throw new ExtractException("PDF渲染子进程异常退出: " + e.getMessage(), e);
+        } finally {
+            timeout.cancel(false);
+            release(worker, failed);
+        }
+    }
+
+    /**
+     * 租用一个空闲子进程（未启动或已退出时先启动）
+     */
+    private Worker lease() {
+        if (closed) {
+            throw new ExtractException("PDF渲染子进程池已关闭");
+        }
+        Worker worker;
+        try {
+            worker = idleWorkers.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractException("等待PDF渲染子进程被中断", e);
+        }
+        if (worker == null) {
+            throw new ExtractException("等待空闲PDF渲染子进程超时（" + leaseTimeoutSeconds + "秒）");
+        }
+
+        try {
+            if (!worker.isAlive()) {
+                worker.restart();
+            }
+            return worker;
+        } catch (RuntimeException e) {
+            idleWorkers.offer(worker);
+            throw e;
+        }
+    }
+
+    private void release(Worker worker, boolean failed) {
+        try {
+            worker.jobCount++;
+            if (closed) {
+                worker.stop();
+            } else if (failed) {
+                log.warn("PDF渲染子进程[{}]异常，准备重启", worker.index);
+                worker.stop();
+            } else if (maxJobsPerWorker > 0 && worker.jobCount >= maxJobsPerWorker) {
+                log.info("PDF渲染子进程[{}]已完成{}次任务，准备重启", worker.index, worker.jobCount);
+                worker.stop();
+            }
+        } finally {
+            idleWorkers.offer(worker);
+        }
+    }
+
+    /**
+     * 常驻渲染子进程
+     */
+    private class Worker {
+
+        private final int index;
+        /**
+         * 超时监控线程会读取该字段终止子进程
+         */
+        private volatile Process process;
+        private DataOutputStream output;
+        private DataInputStream input;
+        private int jobCount;
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        private boolean isAlive() {
+            Process current = process;
+            return current != null && current.isAlive();
+        }
+
+        private void restart() {
+            stop();
+            try {
+                process = new ProcessBuilder(command).start();
+            } catch (IOException e) {
+                throw new ExtractException("PDF渲染子进程启动失败: " + e.getMessage(), e);
+            }
+            forwardErrorStream(process);
+            output = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            input = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+
+            // 等待子进程就绪信号，超时则终止
+            ScheduledFuture<?> timeout = watchdog.schedule(this::kill, STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            try {
+                if (input.readInt() != PdfRenderWorker.READY) {
+                    throw new IOException("就绪信号不匹配");
+                }
+            } catch (IOException e) {
+                stop();
+                throw new ExtractException("PDF渲染子进程启动失败: " + e.getMessage(), e);
+            } finally {
+                timeout.cancel(false);
+            }
+            jobCount = 0;
+            log.info("PDF渲染子进程[{}]已启动，pid: {}", index, process.pid());
+        }
+
+        /**
+         * 将子进程的标准错误逐行转发到日志（子进程退出后读到EOF，线程自动结束）
+         */
+        private void forwardErrorStream(Process current) {
+            Thread thread = new Thread(() -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(current.getErrorStream(), Charset.defaultCharset()))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        log.info("PDF渲染子进程[{}]: {}", index, line);
+                    }
+                } catch (IOException e) {
+                    log.debug("读取PDF渲染子进程[{}]错误输出结束: {}", index, e.getMessage());
+                }
+            }, "pdf-render-worker-" + index + "-stderr");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void kill() {
+            Process current = process;
+            if (current != null) {
+                current.destroyForcibly();
+            }
+        }
+
+        private void stop() {
+            Process current = process;
+            if (current == null) {
+                return;
+            }
+            try {
+                // 关闭标准输入，子进程读到EOF后正常退出
+                output.close();
+            } catch (IOException e) {
+                log.debug("关闭PDF渲染子进程输入流失败: {}", e.getMessage());
+            }
+            try {
+                if (!current.waitFor(5, TimeUnit.SECONDS)) {
+                    current.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                current.destroyForcibly();
+            }
+            process = null;
+            log.debug("PDF渲染子进程[{}]已停止", index);
+        }
+    }
+}
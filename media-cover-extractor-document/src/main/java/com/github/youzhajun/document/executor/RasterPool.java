@@ -0,0 +1,83 @@
+package com.github.youzhajun.document.executor;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * 渲染画布复用池
+ * <p>
+ * 同一批文档的页面尺寸通常一致，渲染画布（RGB位图）按尺寸复用即可避免每次分配数MB的数组。
+ * 空闲画布同时受数量和总字节数限制，超出时淘汰最久未使用的画布；单个超过字节上限的画布用完直接丢弃，
+ * 避免大量线程各自长期持有大位图，也避免池中的空闲画布在位图内存预算之外占用过多堆内存。
+ * </p>
+ */
+public class RasterPool {
+
+    private final int capacity;
+    private final long maxIdleBytes;
+    private final Deque<BufferedImage> idle = new ArrayDeque<>();
+    private long idleBytes = 0;
+
+    /**
+     * @param capacity     最多保留的空闲画布数量
+     * @param maxIdleBytes 空闲画布最多占用的内存（字节）
+     */
+    public RasterPool(int capacity, long maxIdleBytes) {
+        this.capacity = capacity;
+        this.maxIdleBytes = maxIdleBytes;
+    }
+
+    /**
+     * 借用指定尺寸的画布（内容未清空，调用方需自行填充背景）
+     */
+    public synchronized BufferedImage borrow(int width, int height) {
+        Iterator<BufferedImage> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            BufferedImage image = iterator.next();
+            if (image.getWidth() == width && image.getHeight() == height) {
+                iterator.remove();
+                idleBytes -= sizeOf(image);
+                return image;
+            }
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    /**
+     * 归还画布
+     */
+    public synchronized void release(BufferedImage image) {
+        long bytes = sizeOf(image);
+        if (capacity <= 0 || bytes > maxIdleBytes) {
+            return;
+        }
+        while (!idle.isEmpty() && (idle.size() >= capacity || idleBytes + bytes > maxIdleBytes)) {
+            idleBytes -= sizeOf(idle.removeLast());
+        }
+        idle.addFirst(image);
+        idleBytes += bytes;
+    }
+
+    /**
+     * 当前空闲画布数量
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * 当前空闲画布占用的内存（字节）
+     */
+    public synchronized long getIdleBytes() {
+        return idleBytes;
+    }
+
+    /**
+     * 画布像素数据占用的内存（TYPE_3BYTE_BGR每像素3字节）
+     */
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 3;
+    }
+}
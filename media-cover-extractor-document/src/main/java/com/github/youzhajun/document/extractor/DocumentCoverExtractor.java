@@ -1,38 +1,110 @@
 package com.github.youzhajun.document.extractor;
 
+import com.github.youzhajun.common.enums.DocumentFamily;
+import com.github.youzhajun.common.enums.DocumentRenderStrategy;
 import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
 import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
 import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.extractor.PagePreviewExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
 import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.document.executor.LibreOfficeBatchConverter;
 import com.github.youzhajun.document.executor.LibreOfficeExecutor;
 import com.github.youzhajun.document.executor.PdfBoxExecutor;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * 文档封面抽取器
  */
 @Slf4j
-public class DocumentCoverExtractor implements CoverExtractor {
+public class DocumentCoverExtractor implements CoverExtractor, PagePreviewExtractor {
 
     private final LibreOfficeExecutor libreOfficeExecutor;
     private final PdfBoxExecutor pdfBoxExecutor;
     private final String baseOutputDirectory;
     private final boolean useDateSubdirectory;
     private final String outputFormat;
+    private final LibreOfficeBatchConverter batchConverter;
+    private final Map<DocumentFamily, DocumentRenderStrategy> renderStrategies;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final int previewMaxPages;
+    private final MemoryBudget memoryBudget;
 
     public DocumentCoverExtractor(LibreOfficeExecutor libreOfficeExecutor,
                                   PdfBoxExecutor pdfBoxExecutor,
                                   String baseOutputDirectory,
                                   boolean useDateSubdirectory,
                                   String outputFormat) {
+        this(libreOfficeExecutor, pdfBoxExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat,
+                null, Map.of(), ImageProcessStrategy.NONE, null, null, 1);
+    }
+
+    /**
+     * @param batchConverter   批量转换器（为null时每个文档单独转换）
+     * @param renderStrategies 各文档类别的渲染策略（未配置的类别使用PDF方式）
+     * @param strategy         图片处理策略
+     * @param width            图片宽度
+     * @param height           图片高度
+     * @param previewMaxPages  多页预览最多抽取的页数
+     */
+    public DocumentCoverExtractor(LibreOfficeExecutor libreOfficeExecutor,
+                                  PdfBoxExecutor pdfBoxExecutor,
+                                  String baseOutputDirectory,
+                                  boolean useDateSubdirectory,
+                                  String outputFormat,
+                                  LibreOfficeBatchConverter batchConverter,
+                                  Map<DocumentFamily, DocumentRenderStrategy> renderStrategies,
+                                  ImageProcessStrategy strategy,
+                                  Integer width,
+                                  Integer height,
+                                  int previewMaxPages) {
+        this(libreOfficeExecutor, pdfBoxExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat,
+                batchConverter, renderStrategies, strategy, width, height, previewMaxPages, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（LibreOffice直接导出的图片解码前按图片尺寸预留）
+     */
+    public DocumentCoverExtractor(LibreOfficeExecutor libreOfficeExecutor,
+                                  PdfBoxExecutor pdfBoxExecutor,
+                                  String baseOutputDirectory,
+                                  boolean useDateSubdirectory,
+                                  String outputFormat,
+                                  LibreOfficeBatchConverter batchConverter,
+                                  Map<DocumentFamily, DocumentRenderStrategy> renderStrategies,
+                                  ImageProcessStrategy strategy,
+                                  Integer width,
+                                  Integer height,
+                                  int previewMaxPages,
+                                  MemoryBudget memoryBudget) {
         this.libreOfficeExecutor = libreOfficeExecutor;
         this.pdfBoxExecutor = pdfBoxExecutor;
         this.baseOutputDirectory = baseOutputDirectory;
         this.useDateSubdirectory = useDateSubdirectory;
         this.outputFormat = outputFormat;
+        this.batchConverter = batchConverter;
+        this.renderStrategies = renderStrategies != null ? renderStrategies : Map.of();
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.previewMaxPages = previewMaxPages;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
     }
 
     @Override
@@ -53,18 +125,36 @@ public class DocumentCoverExtractor implements CoverExtractor {
             if ("pdf".equalsIgnoreCase(extension)) {
                 pdfFile = sourceFile;
             } else {
+                // 配置为直接导出图片的文档类别，优先跳过PDF中间文件
+                DocumentFamily family = DocumentFamily.fromFileName(sourceFile.getName());
+                if (family != null && renderStrategies.get(family) == DocumentRenderStrategy.DIRECT_IMAGE) {
+                    if (isResizable()) {
+                        File outputFile = extractDirectImage(sourceFile, actualDirectory);
+                        if (outputFile != null) {
+                            return outputFile;
+                        }
+                    } else {
+                        // 不缩放时直接导出只能得到LibreOffice默认分辨率（约96DPI），与PDF方式的300DPI不一致
+                        log.debug("未指定封面尺寸，使用PDF方式渲染: {}", sourceFile.getName());
+                    }
+                }
+
                 // 非PDF文档，先转换为PDF（临时文件也放在实际目录中）
-                pdfFile = libreOfficeExecutor.convertToPdf(sourceFile, actualDirectory);
+                pdfFile = batchConverter != null
+                        ? batchConverter.convertToPdf(sourceFile, actualDirectory)
+                        : libreOfficeExecutor.convertToPdf(sourceFile, actualDirectory);
                 isPdfConverted = true;
             }
 
             // 从PDF提取第一页作为封面
             String outputFileName = UUID.randomUUID() + "." + outputFormat;
             File outputFile = new File(actualDirectory, outputFileName);
-            pdfBoxExecutor.extractFirstPage(pdfFile, outputFile, outputFormat);
+            pdfBoxExecutor.extractFirstPage(pdfFile, outputFile, outputFormat, strategy, width, height);
 
             log.info("文档封面抽取成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
             return outputFile;
+        } catch (MemoryBudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExtractException("文档封面抽取失败: " + e.getMessage(), e);
         } finally {
@@ -78,6 +168,47 @@ public class DocumentCoverExtractor implements CoverExtractor {
         }
     }
 
+    @Override
+    public List<File> extractPreviews(File sourceFile, int pageCount) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+        int maxPages = Math.min(pageCount, previewMaxPages);
+        if (maxPages <= 0) {
+            throw new ExtractException("预览页数必须大于0: " + pageCount);
+        }
+
+        File pdfFile = null;
+        boolean isPdfConverted = false;
+
+        try {
+            String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+
+            // 非PDF文档只转换一次，导出需要的前几页
+            if ("pdf".equalsIgnoreCase(getFileExtension(sourceFile.getName()))) {
+                pdfFile = sourceFile;
+            } else {
+                pdfFile = libreOfficeExecutor.convertToPdf(sourceFile, actualDirectory, "1-" + maxPages);
+                isPdfConverted = true;
+            }
+
+            List<File> outputFiles = pdfBoxExecutor.extractPages(
+                    pdfFile, actualDirectory, maxPages, outputFormat, strategy, width, height);
+
+            log.info("文档预览抽取成功: {} -> {}页", sourceFile.getName(), outputFiles.size());
+            return outputFiles;
+        } catch (Exception e) {
+            throw new ExtractException("文档预览抽取失败: " + e.getMessage(), e);
+        } finally {
+            if (isPdfConverted && pdfFile != null && pdfFile.exists()) {
+                boolean deleted = pdfFile.delete();
+                if (deleted) {
+                    log.debug("临时PDF文件已删除: {}", pdfFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
     @Override
     public boolean support(FileType fileType) {
         return FileType.DOCUMENT.equals(fileType);
@@ -88,6 +219,83 @@ public class DocumentCoverExtractor implements CoverExtractor {
         return 300;
     }
 
+    /**
+     * 是否指定了封面尺寸（直接导出图片只在需要缩放时使用）
+     */
+    private boolean isResizable() {
+        return strategy != null && strategy != ImageProcessStrategy.NONE && width != null && height != null;
+    }
+
+    /**
+     * 由LibreOffice直接导出第一页图片
+     *
+     * @return 封面文件，导出失败时返回null（由调用方回退到PDF方式）
+     */
+    private File extractDirectImage(File sourceFile, String actualDirectory) {
+        // LibreOffice只支持直接导出png/jpg，其他输出格式先导出png再转码
+        String exportFormat = "jpg".equalsIgnoreCase(outputFormat) || "jpeg".equalsIgnoreCase(outputFormat)
+                ? "jpg" : "png";
+        // CROP强制调整为指定宽高；SCALE只指定宽度，高度按页面比例计算后再校正
+        Integer pixelWidth = width;
+        Integer pixelHeight = strategy == ImageProcessStrategy.CROP ? height : null;
+
+        Path exportDirectory = null;
+        try {
+            // 使用私有目录导出，避免同名文档并发转换互相覆盖
+            exportDirectory = Files.createTempDirectory(Path.of(actualDirectory), ".export-");
+            File imageFile = libreOfficeExecutor.convertToImage(
+                    sourceFile, exportDirectory.toString(), exportFormat, pixelWidth, pixelHeight);
+
+            File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+            Dimension size = ImageProcessUtil.readSize(imageFile);
+            if (size == null) {
+                throw new ExtractException("无法识别导出的图片: " + imageFile.getName());
+            }
+            Dimension target = ImageProcessUtil.computeTargetSize(size.width, size.height, strategy, width, height);
+            try (MemoryBudget.Reservation ignored = memoryBudget.reserve(
+                    MemoryBudget.estimateImageBytes(size.width, size.height)
+                            + MemoryBudget.estimateImageBytes(target.width, target.height))) {
+                BufferedImage image = ImageIO.read(imageFile);
+                if (image == null) {
+                    throw new ExtractException("无法读取导出的图片: " + imageFile.getName());
+                }
+                BufferedImage resized = ImageProcessUtil.resize(image, strategy, width, height);
+                if (resized == image && exportFormat.equalsIgnoreCase(outputFormat)) {
+                    Files.move(imageFile.toPath(), outputFile.toPath());
+                } else {
+                    ImageProcessUtil.write(resized, outputFormat, outputFile);
+                }
+            }
+
+            log.info("文档封面直接导出成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
+            return outputFile;
+        } catch (MemoryBudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("文档直接导出图片失败，回退到PDF方式: {}, 原因: {}", sourceFile.getName(), e.getMessage());
+            return null;
+        } finally {
+            deleteDirectory(exportDirectory);
+        }
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warn("清理临时导出目录失败: {}", directory);
+        }
+    }
+
     /**
      * 获取文件扩展名
      */
@@ -99,4 +307,3 @@ public class DocumentCoverExtractor implements CoverExtractor {
         return "";
     }
 }
-
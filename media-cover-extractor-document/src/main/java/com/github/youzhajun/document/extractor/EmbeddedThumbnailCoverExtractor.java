@@ -0,0 +1,195 @@
+package com.github.youzhajun.document.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
+import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 文档内嵌缩略图封面抽取器
+ * <p>
+ * Office保存的OOXML文档（docx/pptx/xlsx）通常带有 docProps/thumbnail.jpeg，ODF文档（odt/ods/odp）带有
+ * Thumbnails/thumbnail.png。通过zip中央目录随机读取该条目即可在毫秒级得到封面，
+ * 不存在可用缩略图时交由 {@link DocumentCoverExtractor} 使用LibreOffice处理。
+ * </p>
+ */
+@Slf4j
+public class EmbeddedThumbnailCoverExtractor implements CoverExtractor {
+
+    /**
+     * 基于zip的文档格式
+     */
+    private static final Set<String> PACKAGE_EXTENSIONS = Set.of("docx", "pptx", "xlsx", "odt", "ods", "odp");
+
+    /**
+     * 缩略图条目（按优先级排列）
+     */
+    private static final List<String> THUMBNAIL_ENTRIES = List.of(
+            "docProps/thumbnail.jpeg",
+            "docProps/thumbnail.jpg",
+            "docProps/thumbnail.png",
+            "Thumbnails/thumbnail.png");
+
+    /**
+     * 缩略图条目大小上限，超过时视为异常文件不读取
+     */
+    private static final long MAX_THUMBNAIL_SIZE = 16 * 1024 * 1024;
+
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final MemoryBudget memoryBudget;
+
+    public EmbeddedThumbnailCoverExtractor(String baseOutputDirectory,
+                                           boolean useDateSubdirectory,
+                                           String outputFormat,
+                                           ImageProcessStrategy strategy,
+                                           Integer width,
+                                           Integer height) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（解码缩略图前按图片头部记录的尺寸预留）
+     */
+    public EmbeddedThumbnailCoverExtractor(String baseOutputDirectory,
+                                           boolean useDateSubdirectory,
+                                           String outputFormat,
+                                           ImageProcessStrategy strategy,
+                                           Integer width,
+                                           Integer height,
+                                           MemoryBudget memoryBudget) {
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+    }
+
+    @Override
+    public File extract(File sourceFile) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+
+        byte[] thumbnail;
+        String thumbnailFormat;
+        try (ZipFile zipFile = new ZipFile(sourceFile)) {
+            ZipEntry entry = findThumbnailEntry(zipFile);
+            if (entry == null) {
+                throw new ExtractSkipException("文档不包含内嵌缩略图");
+            }
+            if (entry.getSize() > MAX_THUMBNAIL_SIZE) {
+                throw new ExtractSkipException("内嵌缩略图过大: " + entry.getSize());
+            }
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                thumbnail = inputStream.readAllBytes();
+            }
+            thumbnailFormat = entry.getName().endsWith(".png") ? "png" : "jpg";
+        } catch (IOException e) {
+            throw new ExtractSkipException("读取文档压缩包失败: " + e.getMessage(), e);
+        }
+
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+        try {
+            Dimension size = ImageProcessUtil.readSize(new ByteArrayInputStream(thumbnail));
+            if (size == null) {
+                throw new ExtractSkipException("无法识别内嵌缩略图格式");
+            }
+            Dimension target = ImageProcessUtil.computeTargetSize(size.width, size.height, strategy, width, height);
+            try (MemoryBudget.Reservation ignored = memoryBudget.reserve(
+                    MemoryBudget.estimateImageBytes(size.width, size.height)
+                            + MemoryBudget.estimateImageBytes(target.width, target.height))) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+                if (image == null) {
+                    throw new ExtractSkipException("无法解码内嵌缩略图");
+                }
+
+                BufferedImage resized = ImageProcessUtil.resize(image, strategy, width, height);
+                if (resized == image && isSameFormat(thumbnailFormat, outputFormat)) {
+                    // 尺寸和格式都符合要求时直接写出原始字节
+                    Files.write(outputFile.toPath(), thumbnail);
+                } else {
+                    ImageProcessUtil.write(resized, outputFormat, outputFile);
+                }
+            }
+
+            log.info("文档内嵌缩略图抽取成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
+            return outputFile;
+        } catch (ExtractSkipException | MemoryBudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractSkipException("内嵌缩略图处理失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean support(FileType fileType) {
+        return FileType.DOCUMENT.equals(fileType);
+    }
+
+    @Override
+    public boolean support(FileType fileType, File sourceFile) {
+        return support(fileType) && PACKAGE_EXTENSIONS.contains(getFileExtension(sourceFile.getName()).toLowerCase());
+    }
+
+    @Override
+    public int getOrder() {
+        return 280;
+    }
+
+    private ZipEntry findThumbnailEntry(ZipFile zipFile) {
+        for (String name : THUMBNAIL_ENTRIES) {
+            ZipEntry entry = zipFile.getEntry(name);
+            if (entry != null && !entry.isDirectory()) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSameFormat(String thumbnailFormat, String format) {
+        String lower = format.toLowerCase();
+        return thumbnailFormat.equals(lower) || ("jpg".equals(thumbnailFormat) && "jpeg".equals(lower));
+    }
+
+    /**
+     * 获取文件扩展名
+     */
+    private String getFileExtension(String fileName) {
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            return fileName.substring(lastDotIndex + 1);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,278 @@
+package com.github.youzhajun.document.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
+import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 纯文本文档封面抽取器
+ * <p>
+ * 只读取文件开头的少量字节，识别字符集后使用Java2D将前几行文本绘制为封面，
+ * 无需启动LibreOffice和PDFBox，适用于txt/csv/md/log等按行组织的文本格式。
+ * </p>
+ */
+@Slf4j
+public class TextCoverExtractor implements CoverExtractor {
+
+    /**
+     * 未配置输出尺寸时的画布尺寸（A4纵向，96DPI）
+     */
+    private static final int DEFAULT_CANVAS_WIDTH = 794;
+    private static final int DEFAULT_CANVAS_HEIGHT = 1123;
+
+    private static final Color BACKGROUND_COLOR = Color.WHITE;
+    private static final Color TEXT_COLOR = new Color(0x33, 0x33, 0x33);
+
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final Set<String> extensions;
+    private final int maxBytes;
+    private final Charset fallbackCharset;
+    private final MemoryBudget memoryBudget;
+
+    /**
+     * @param extensions      处理的文本扩展名
+     * @param maxBytes        最多读取的字节数
+     * @param fallbackCharset 无法识别为UTF-8/UTF-16时使用的字符集
+     */
+    public TextCoverExtractor(String baseOutputDirectory,
+                              boolean useDateSubdirectory,
+                              String outputFormat,
+                              ImageProcessStrategy strategy,
+                              Integer width,
+                              Integer height,
+                              List<String> extensions,
+                              int maxBytes,
+                              String fallbackCharset) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                extensions, maxBytes, fallbackCharset, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（绘制前按画布尺寸预留）
+     */
+    public TextCoverExtractor(String baseOutputDirectory,
+                              boolean useDateSubdirectory,
+                              String outputFormat,
+                              ImageProcessStrategy strategy,
+                              Integer width,
+                              Integer height,
+                              List<String> extensions,
+                              int maxBytes,
+                              String fallbackCharset,
+                              MemoryBudget memoryBudget) {
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.extensions = extensions.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        this.maxBytes = maxBytes;
+        this.fallbackCharset = Charset.isSupported(fallbackCharset)
+                ? Charset.forName(fallbackCharset) : StandardCharsets.ISO_8859_1;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+    }
+
+    @Override
+    public File extract(File sourceFile) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+
+        try {
+            byte[] head = readHead(sourceFile);
+            String text = decode(head);
+
+            Dimension canvas = ImageProcessUtil.computeTargetSize(
+                    DEFAULT_CANVAS_WIDTH, DEFAULT_CANVAS_HEIGHT, strategy, width, height);
+            try (MemoryBudget.Reservation ignored =
+                         memoryBudget.reserve(MemoryBudget.estimateImageBytes(canvas.width, canvas.height))) {
+                BufferedImage image = render(text, canvas.width, canvas.height);
+                ImageProcessUtil.write(image, outputFormat, outputFile);
+            }
+
+            log.info("文本封面生成成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
+            return outputFile;
+        } catch (MemoryBudgetExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractException("文本封面生成失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean support(FileType fileType) {
+        return FileType.DOCUMENT.equals(fileType);
+    }
+
+    @Override
+    public boolean support(FileType fileType, File sourceFile) {
+        return support(fileType) && extensions.contains(getFileExtension(sourceFile.getName()).toLowerCase());
+    }
+
+    @Override
+    public int getOrder() {
+        return 270;
+    }
+
+    /**
+     * 读取文件开头最多 maxBytes 个字节
+     */
+    private byte[] readHead(File sourceFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, channel.size()));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            byte[] head = new byte[buffer.position()];
+            buffer.flip().get(head);
+            return head;
+        }
+    }
+
+    /**
+     * 识别字符集并解码：BOM优先，其次尝试严格UTF-8解码，都不满足时使用备用字符集
+     */
+    private String decode(byte[] data) {
+        if (data.length >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF) {
+            return new String(data, 3, data.length - 3, StandardCharsets.UTF_8);
+        }
+        if (data.length >= 2 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xFE) {
+            return new String(data, 2, data.length - 2, StandardCharsets.UTF_16LE);
+        }
+        if (data.length >= 2 && (data[0] & 0xFF) == 0xFE && (data[1] & 0xFF) == 0xFF) {
+            return new String(data, 2, data.length - 2, StandardCharsets.UTF_16BE);
+        }
+        return isValidUtf8(data)
+                ? new String(data, StandardCharsets.UTF_8)
+                : new String(data, fallbackCharset);
+    }
+
+    /**
+     * 严格校验UTF-8（只读取了文件开头，末尾被截断的多字节字符不视为错误）
+     */
+    private boolean isValidUtf8(byte[] data) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer output = CharBuffer.allocate(data.length);
+        CoderResult result = decoder.decode(ByteBuffer.wrap(data), output, false);
+        return !result.isError();
+    }
+
+    /**
+     * 绘制文本（超出宽度自动换行，超出高度截断）
+     */
+    private BufferedImage render(String text, int canvasWidth, int canvasHeight) {
+        BufferedImage image = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(BACKGROUND_COLOR);
+            graphics.fillRect(0, 0, canvasWidth, canvasHeight);
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setColor(TEXT_COLOR);
+            graphics.setFont(new Font(Font.MONOSPACED, Font.PLAIN, Math.max(8, Math.round(canvasWidth / 48f))));
+
+            FontMetrics metrics = graphics.getFontMetrics();
+            int margin = Math.max(4, Math.round(canvasWidth * 0.06f));
+            int maxLineWidth = canvasWidth - margin * 2;
+            int maxLines = Math.max(1, (canvasHeight - margin * 2) / Math.max(1, metrics.getHeight()));
+            int y = margin + metrics.getAscent();
+            for (String line : wrapLines(text, metrics, maxLineWidth, maxLines)) {
+                if (y + metrics.getDescent() > canvasHeight - margin) {
+                    break;
+                }
+                graphics.drawString(line, margin, y);
+                y += metrics.getHeight();
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * 按宽度折行，最多生成画布可容纳的行数
+     */
+    private List<String> wrapLines(String text, FontMetrics metrics, int maxLineWidth, int maxLines) {
+        List<String> lines = new ArrayList<>();
+        for (String rawLine : text.split("\\R", -1)) {
+            String line = rawLine.replace("\t", "    ").replaceAll("\\p{Cntrl}", "");
+            StringBuilder current = new StringBuilder();
+            int currentWidth = 0;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                int charWidth = metrics.charWidth(c);
+                if (currentWidth + charWidth > maxLineWidth && current.length() > 0) {
+                    lines.add(current.toString());
+                    if (lines.size() >= maxLines) {
+                        return lines;
+                    }
+                    current.setLength(0);
+                    currentWidth = 0;
+                }
+                current.append(c);
+                currentWidth += charWidth;
+            }
+            lines.add(current.toString());
+            if (lines.size() >= maxLines) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 获取文件扩展名
+     */
+    private String getFileExtension(String fileName) {
+        int lastDotIndex = fileName.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            return fileName.substring(lastDotIndex + 1);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.youzhajun.ffmpeg.executor;
+
+/**
+ * 视频文件中的内嵌封面流
+ */
+public class AttachedPicture {
+
+    private final int streamIndex;
+    private final String codecName;
+
+    public AttachedPicture(int streamIndex, String codecName) {
+        this.streamIndex = streamIndex;
+        this.codecName = codecName;
+    }
+
+    /**
+     * 流序号（用于 -map 0:序号）
+     */
+    public int getStreamIndex() {
+        return streamIndex;
+    }
+
+    /**
+     * 图片编码（如 mjpeg、png）
+     */
+    public String getCodecName() {
+        return codecName;
+    }
+}
@@ -4,10 +4,17 @@ import com.github.youzhajun.common.exception.ExtractException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
+import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.PumpStreamHandler;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * FFmpeg命令执行器
@@ -15,16 +22,49 @@ import java.io.IOException;
 @Slf4j
 public class FfmpegExecutor {
 
+    /**
+     * 探测视频信息的超时时间（ffprobe只读取文件头，正常情况下很快返回）
+     */
+    private static final long PROBE_TIMEOUT_MILLIS = 10_000;
+
     private final String ffmpegPath;
+    private final String ffprobePath;
 
     public FfmpegExecutor(String ffmpegPath) {
+        this(ffmpegPath, null);
+    }
+
+    /**
+     * @param ffprobePath FFprobe路径，不配置时使用FFmpeg同目录下的ffprobe
+     */
+    public FfmpegExecutor(String ffmpegPath, String ffprobePath) {
         this.ffmpegPath = ffmpegPath != null ? ffmpegPath : "ffmpeg";
+        this.ffprobePath = ffprobePath != null ? ffprobePath : resolveFfprobePath(this.ffmpegPath);
     }
 
     /**
      * 执行FFmpeg命令
      */
     public void execute(String... args) {
+        execute(0, args);
+    }
+
+    /**
+     * 执行FFmpeg命令，超时后强制终止进程
+     *
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制
+     */
+    public void execute(long timeoutMillis, String... args) {
+        executeWithLog(timeoutMillis, args);
+    }
+
+    /**
+     * 执行FFmpeg命令并返回FFmpeg输出的日志（标准错误输出），超时后强制终止进程
+     *
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制
+     * @return FFmpeg日志
+     */
+    public String executeWithLog(long timeoutMillis, String... args) {
         CommandLine commandLine = new CommandLine(ffmpegPath);
         for (String arg : args) {
             commandLine.addArgument(arg);
@@ -35,6 +75,11 @@ public class FfmpegExecutor {
         ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
         PumpStreamHandler streamHandler = new PumpStreamHandler(outputStream, errorStream);
         executor.setStreamHandler(streamHandler);
+        ExecuteWatchdog watchdog = null;
+        if (timeoutMillis > 0) {
+            watchdog = ExecuteWatchdog.builder().setTimeout(Duration.ofMillis(timeoutMillis)).get();
+            executor.setWatchdog(watchdog);
+        }
 
         try {
             log.debug("执行FFmpeg命令: {}", commandLine);
@@ -45,12 +90,139 @@ public class FfmpegExecutor {
                 throw new ExtractException("FFmpeg执行失败: " + error);
             }
             log.debug("FFmpeg执行成功");
+            return errorStream.toString();
         } catch (IOException e) {
+            if (watchdog != null && watchdog.killedProcess()) {
+                throw new ExtractException("FFmpeg执行超时（" + timeoutMillis + "ms），进程已终止");
+            }
             log.error("FFmpeg执行异常", e);
             throw new ExtractException("FFmpeg执行异常: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 探测媒体时长（只读取容器头部信息，不解码）
+     *
+     * @return 时长（秒），无法获取时返回null
+     */
+    public Double probeDuration(File file) {
+        return probeDuration(file.getAbsolutePath());
+    }
+
+    /**
+     * 探测媒体时长（只读取容器头部信息，不解码）
+     *
+     * @param input 本地文件路径或HTTP/HTTPS地址
+     * @return 时长（秒），无法获取时返回null
+     */
+    public Double probeDuration(String input) {
+        return probeDuration(input, PROBE_TIMEOUT_MILLIS, "-v", "error").getDuration();
+    }
+
+    /**
+     * 探测媒体时长，并返回ffprobe输出的日志（标准错误输出），超时后强制终止进程
+     *
+     * @param input         本地文件路径或HTTP/HTTPS地址
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制
+     * @param options       位于输入之前的ffprobe参数（例如日志级别、远程读取参数）
+     * @return 时长（无法获取时为null）及ffprobe日志
+     */
+    public ProbeResult probeDuration(String input, long timeoutMillis, String... options) {
+        List<String> args = new ArrayList<>(List.of(options));
+        args.addAll(List.of("-show_entries", "format=duration", "-of", "default=noprint_wrappers=1:nokey=1"));
+
+        ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+        String output = probe(input, timeoutMillis, errorStream, args.toArray(new String[0]));
+        Double duration = null;
+        try {
+            double value = output != null ? Double.parseDouble(output.trim()) : 0;
+            duration = value > 0 ? value : null;
+        } catch (NumberFormatException e) {
+            // 部分流媒体格式没有时长信息（输出N/A）
+            log.debug("获取媒体时长失败: {}, {}", input, output);
+        }
+        return new ProbeResult(duration, errorStream.toString());
+    }
+
+    /**
+     * 探测内嵌封面流（disposition为attached_pic的视频流，MKV的图片附件也会以这种形式呈现）
+     *
+     * @return 第一个内嵌封面流，不存在或无法获取时返回null
+     */
+    public AttachedPicture probeAttachedPicture(File file) {
+        String output = probe(file.getAbsolutePath(), "-select_streams", "v",
+                "-show_entries", "stream=index,codec_name:stream_disposition=attached_pic", "-of", "compact=p=0");
+        if (output == null) {
+            return null;
+        }
+        // 每个视频流一行：index=1|codec_name=mjpeg|disposition:attached_pic=1
+        for (String line : output.split("\\R")) {
+            Map<String, String> entries = new HashMap<>();
+            for (String entry : line.trim().split("\\|")) {
+                int separator = entry.indexOf('=');
+                if (separator > 0) {
+                    entries.put(entry.substring(0, separator), entry.substring(separator + 1));
+                }
+            }
+            if ("1".equals(entries.get("disposition:attached_pic")) && entries.containsKey("index")) {
+                try {
+                    return new AttachedPicture(Integer.parseInt(entries.get("index")), entries.get("codec_name"));
+                } catch (NumberFormatException e) {
+                    log.debug("无法解析内嵌封面流信息: {}", line);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 执行ffprobe（只读取容器和流的头部信息）
+     *
+     * @return 标准输出内容，执行失败时返回null
+     */
+    private String probe(String input, String... args) {
+        List<String> options = new ArrayList<>(List.of("-v", "error"));
+        options.addAll(List.of(args));
+        return probe(input, PROBE_TIMEOUT_MILLIS, new ByteArrayOutputStream(), options.toArray(new String[0]));
+    }
+
+    /**
+     * 执行ffprobe，标准错误输出写入errorStream
+     *
+     * @param timeoutMillis 超时时间（毫秒），小于等于0表示不限制
+     * @return 标准输出内容，执行失败时返回null
+     */
+    private String probe(String input, long timeoutMillis, ByteArrayOutputStream errorStream, String... args) {
+        CommandLine commandLine = new CommandLine(ffprobePath);
+        for (String arg : args) {
+            commandLine.addArgument(arg);
+        }
+        commandLine.addArgument(input);
+
+        DefaultExecutor executor = new DefaultExecutor();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        executor.setStreamHandler(new PumpStreamHandler(outputStream, errorStream));
+        if (timeoutMillis > 0) {
+            executor.setWatchdog(ExecuteWatchdog.builder().setTimeout(Duration.ofMillis(timeoutMillis)).get());
+        }
+        try {
+            log.debug("执行FFprobe命令: {}", commandLine);
+            executor.execute(commandLine);
+            return outputStream.toString();
+        } catch (Exception e) {
+            log.debug("FFprobe执行失败: {}, {}", input, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 预热：用lavfi生成一帧空白画面并丢弃输出，提前加载FFmpeg程序和编解码库
+     */
+    public void warmUp() {
+        execute("-hide_banner", "-f", "lavfi", "-i", "color=c=black:s=16x16:d=0.04",
+                "-frames:v", "1", "-f", "null", "-");
+    }
+
     /**
      * 验证FFmpeg是否可用
      */
@@ -71,5 +243,17 @@ public class FfmpegExecutor {
             return false;
         }
     }
-}
 
+    /**
+     * 根据FFmpeg路径推断同目录下的ffprobe（ffmpeg.exe对应ffprobe.exe）
+     */
+    private static String resolveFfprobePath(String ffmpegPath) {
+        File ffmpeg = new File(ffmpegPath);
+        String name = ffmpeg.getName();
+        if (!name.toLowerCase().startsWith("ffmpeg")) {
+            return "ffprobe";
+        }
+        String ffprobeName = "ffprobe" + name.substring("ffmpeg".length());
+        return ffmpeg.getParent() != null ? new File(ffmpeg.getParent(), ffprobeName).getPath() : ffprobeName;
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.youzhajun.ffmpeg.executor;
+
+/**
+ * ffprobe时长探测结果
+ */
+public class ProbeResult {
+
+    private final Double duration;
+    private final String log;
+
+    public ProbeResult(Double duration, String log) {
+        this.duration = duration;
+        this.log = log;
+    }
+
+    /**
+     * 媒体时长（秒），无法获取时为null
+     */
+    public Double getDuration() {
+        return duration;
+    }
+
+    /**
+     * ffprobe日志（标准错误输出）
+     */
+    public String getLog() {
+        return log;
+    }
+}
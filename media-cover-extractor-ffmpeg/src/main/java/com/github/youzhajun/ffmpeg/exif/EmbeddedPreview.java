@@ -0,0 +1,52 @@
+package com.github.youzhajun.ffmpeg.exif;
+
+/**
+ * EXIF/TIFF中内嵌的JPEG预览图（在文件中的位置及像素尺寸）
+ */
+public class EmbeddedPreview {
+
+    private final long offset;
+    private final int length;
+    private final int width;
+    private final int height;
+
+    public EmbeddedPreview(long offset, int length, int width, int height) {
+        this.offset = offset;
+        this.length = length;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * JPEG数据在文件中的起始位置
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * JPEG数据长度（字节）
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * 预览图宽度（未按方向旋转）
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 预览图高度（未按方向旋转）
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return width + "x" + height + "@" + offset;
+    }
+}
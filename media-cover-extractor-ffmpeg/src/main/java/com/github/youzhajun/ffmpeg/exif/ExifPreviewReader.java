@@ -0,0 +1,297 @@
+package com.github.youzhajun.ffmpeg.exif;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * EXIF/TIFF内嵌预览图读取器
+ * <p>
+ * 通过文件通道按位置读取：JPEG文件读取APP1段中的EXIF（TIFF结构），CR2/NEF/ARW/DNG等相机RAW文件本身就是TIFF结构。
+ * 遍历IFD链及SubIFD，收集 JPEGInterchangeFormat 指向的缩略图和JPEG压缩的单条带图像（RAW中的中等尺寸或全尺寸预览），
+ * 再读取每个JPEG的SOF段获得像素尺寸。主图像尺寸取自JPEG主图像的SOF段或TIFF中IFD0的 ImageWidth/ImageLength，
+ * 用于排除宽高比与主图像不同（带黑边或被裁切）的预览图。只读取头部结构和各JPEG的段头，不读取图像数据。
+ * </p>
+ */
+public class ExifPreviewReader {
+
+    private static final int TAG_IMAGE_WIDTH = 0x0100;
+    private static final int TAG_IMAGE_LENGTH = 0x0101;
+    private static final int TAG_COMPRESSION = 0x0103;
+    private static final int TAG_STRIP_OFFSETS = 0x0111;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_STRIP_BYTE_COUNTS = 0x0117;
+    private static final int TAG_SUB_IFDS = 0x014A;
+    private static final int TAG_JPEG_OFFSET = 0x0201;
+    private static final int TAG_JPEG_LENGTH = 0x0202;
+
+    /**
+     * TIFF压缩方式：6为旧式JPEG（CR2的全尺寸预览），7为JPEG（DNG/NEF/ARW的预览）
+     */
+    private static final int COMPRESSION_OLD_JPEG = 6;
+    private static final int COMPRESSION_JPEG = 7;
+
+    /**
+     * 最多解析的IFD数量，避免损坏文件中的循环引用
+     */
+    private static final int MAX_IFDS = 64;
+
+    /**
+     * 单个IFD最多的条目数
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    /**
+     * 查找JPEG的SOF段时最多跳过的段数
+     */
+    private static final int MAX_SEGMENTS = 64;
+
+    /**
+     * 读取内嵌预览图
+     *
+     * @return 内嵌预览图及方向，不是JPEG/TIFF结构或不包含EXIF时返回null
+     */
+    public ExifPreviews read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8) {
+                return null;
+            }
+            ByteBuffer header = read(channel, 0, 4);
+            if ((header.get(0) & 0xFF) == 0xFF && (header.get(1) & 0xFF) == 0xD8) {
+                long tiffBase = findExif(channel, size);
+                if (tiffBase < 0) {
+                    return null;
+                }
+                return parseTiff(channel, size, tiffBase, readJpegSize(channel, 0, size));
+            }
+            if (isTiffHeader(header)) {
+                return parseTiff(channel, size, 0, null);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 在JPEG的段中查找EXIF（APP1，以 "Exif\0\0" 开头），返回其中TIFF结构的起始位置
+     */
+    private long findExif(FileChannel channel, long size) throws IOException {
+        long position = 2;
+        for (int i = 0; i < MAX_SEGMENTS && position + 4 <= size; i++) {
+            ByteBuffer marker = read(channel, position, 4);
+            if ((marker.get(0) & 0xFF) != 0xFF) {
+                return -1;
+            }
+            int type = marker.get(1) & 0xFF;
+            int length = marker.getShort(2) & 0xFFFF;
+            if (type == 0xDA || type == 0xD9) {
+                // 图像数据开始，EXIF只会出现在之前
+                return -1;
+            }
+            if (type == 0xE1 && length >= 8 && position + 10 <= size) {
+                ByteBuffer identifier = read(channel, position + 4, 6);
+                if (identifier.get(0) == 'E' && identifier.get(1) == 'x' && identifier.get(2) == 'i'
+                        && identifier.get(3) == 'f' && identifier.get(4) == 0) {
+                    return position + 10;
+                }
+            }
+            position += 2 + length;
+        }
+        return -1;
+    }
+
+    /**
+     * @param primarySize JPEG主图像尺寸（TIFF结构时为null，从IFD0读取）
+     */
+    private ExifPreviews parseTiff(FileChannel channel, long size, long base, int[] primarySize) throws IOException {
+        ByteBuffer header = read(channel, base, 8);
+        if (!isTiffHeader(header)) {
+            return null;
+        }
+        ByteOrder order = header.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        header.order(order);
+
+        int orientation = 1;
+        int primaryWidth = primarySize != null ? primarySize[0] : 0;
+        int primaryHeight = primarySize != null ? primarySize[1] : 0;
+        List<EmbeddedPreview> previews = new ArrayList<>();
+        Set<Long> candidates = new HashSet<>();
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.add(header.getInt(4) & 0xFFFFFFFFL);
+
+        while (!pending.isEmpty() && visited.size() < MAX_IFDS) {
+            long ifdOffset = pending.poll();
+            if (ifdOffset == 0 || !visited.add(ifdOffset) || base + ifdOffset + 2 > size) {
+                continue;
+            }
+            int count = read(channel, base + ifdOffset, 2).order(order).getShort(0) & 0xFFFF;
+            if (count == 0 || count > MAX_ENTRIES || base + ifdOffset + 2 + count * 12L + 4 > size) {
+                continue;
+            }
+            ByteBuffer entries = read(channel, base + ifdOffset + 2, count * 12 + 4).order(order);
+
+            Ifd ifd = new Ifd();
+            for (int i = 0; i < count; i++) {
+                int entry = i * 12;
+                int tag = entries.getShort(entry) & 0xFFFF;
+                int type = entries.getShort(entry + 2) & 0xFFFF;
+                long valueCount = entries.getInt(entry + 4) & 0xFFFFFFFFL;
+                long value = readValue(entries, entry + 8, type);
+                switch (tag) {
+                    case TAG_IMAGE_WIDTH -> ifd.width = value;
+                    case TAG_IMAGE_LENGTH -> ifd.height = value;
+                    case TAG_COMPRESSION -> ifd.compression = value;
+                    case TAG_ORIENTATION -> ifd.orientation = (int) value;
+                    case TAG_STRIP_OFFSETS -> ifd.stripOffset = valueCount == 1 ? value : -1;
+                    case TAG_STRIP_BYTE_COUNTS -> ifd.stripLength = valueCount == 1 ? value : -1;
+                    case TAG_JPEG_OFFSET -> ifd.jpegOffset = value;
+                    case TAG_JPEG_LENGTH -> ifd.jpegLength = value;
+                    case TAG_SUB_IFDS -> pending.addAll(readOffsets(channel, size, base, entries, entry, valueCount, order));
+                    default -> {
+                    }
+                }
+            }
+            pending.add(entries.getInt(count * 12) & 0xFFFFFFFFL);
+
+            if (visited.size() == 1) {
+                if (ifd.orientation >= 1 && ifd.orientation <= 8) {
+                    orientation = ifd.orientation;
+                }
+                // EXIF中IFD0的宽高可能缺失或描述缩略图，JPEG以主图像的SOF为准
+                if (primarySize == null && ifd.width > 0 && ifd.height > 0
+                        && ifd.width <= Integer.MAX_VALUE && ifd.height <= Integer.MAX_VALUE) {
+                    primaryWidth = (int) ifd.width;
+                    primaryHeight = (int) ifd.height;
+                }
+            }
+            if (ifd.jpegOffset > 0 && ifd.jpegLength > 0) {
+                addPreview(channel, size, base + ifd.jpegOffset, ifd.jpegLength, candidates, previews);
+            }
+            if ((ifd.compression == COMPRESSION_OLD_JPEG || ifd.compression == COMPRESSION_JPEG)
+                    && ifd.stripOffset > 0 && ifd.stripLength > 0) {
+                // 主图像为无损JPEG（SOF3）时会在读取SOF时被排除
+                addPreview(channel, size, base + ifd.stripOffset, ifd.stripLength, candidates, previews);
+            }
+        }
+
+        previews.sort(Comparator.comparingLong(preview -> (long) preview.getWidth() * preview.getHeight()));
+        return new ExifPreviews(orientation, previews, primaryWidth, primaryHeight);
+    }
+
+    /**
+     * 读取SubIFD偏移列表（只有一个时直接存放在条目中）
+     */
+    private List<Long> readOffsets(FileChannel channel, long size, long base, ByteBuffer entries, int entry,
+                                   long count, ByteOrder order) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        if (count == 1) {
+            offsets.add(entries.getInt(entry + 8) & 0xFFFFFFFFL);
+            return offsets;
+        }
+        long position = base + (entries.getInt(entry + 8) & 0xFFFFFFFFL);
+        if (count > MAX_IFDS || position + count * 4 > size) {
+            return offsets;
+        }
+        ByteBuffer values = read(channel, position, (int) count * 4).order(order);
+        for (int i = 0; i < count; i++) {
+            offsets.add(values.getInt(i * 4) & 0xFFFFFFFFL);
+        }
+        return offsets;
+    }
+
+    private void addPreview(FileChannel channel, long size, long offset, long length,
+                            Set<Long> candidates, List<EmbeddedPreview> previews) throws IOException {
+        if (length > Integer.MAX_VALUE || offset + length > size || !candidates.add(offset)) {
+            return;
+        }
+        int[] dimension = readJpegSize(channel, offset, offset + length);
+        if (dimension != null) {
+            previews.add(new EmbeddedPreview(offset, (int) length, dimension[0], dimension[1]));
+        }
+    }
+
+    /**
+     * 读取JPEG的SOF段获取宽高，只接受基线、扩展和渐进式JPEG（ImageIO可以解码）
+     */
+    private int[] readJpegSize(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer soi = read(channel, start, 2);
+        if ((soi.get(0) & 0xFF) != 0xFF || (soi.get(1) & 0xFF) != 0xD8) {
+            return null;
+        }
+        long position = start + 2;
+        for (int i = 0; i < MAX_SEGMENTS && position + 9 <= end; i++) {
+            ByteBuffer segment = read(channel, position, 9);
+            if ((segment.get(0) & 0xFF) != 0xFF) {
+                return null;
+            }
+            int type = segment.get(1) & 0xFF;
+            if (type == 0xC0 || type == 0xC1 || type == 0xC2) {
+                int height = segment.getShort(5) & 0xFFFF;
+                int width = segment.getShort(7) & 0xFFFF;
+                return width > 0 && height > 0 ? new int[]{width, height} : null;
+            }
+            if ((type >= 0xC3 && type <= 0xCF && type != 0xC4 && type != 0xC8 && type != 0xCC) || type == 0xDA) {
+                // 无损/算术编码JPEG，或者在SOF之前就出现了图像数据
+                return null;
+            }
+            position += 2 + (segment.getShort(2) & 0xFFFF);
+        }
+        return null;
+    }
+
+    private static long readValue(ByteBuffer entries, int position, int type) {
+        return switch (type) {
+            case 1 -> entries.get(position) & 0xFF; // BYTE
+            case 3 -> entries.getShort(position) & 0xFFFF; // SHORT
+            default -> entries.getInt(position) & 0xFFFFFFFFL; // LONG、IFD
+        };
+    }
+
+    private static boolean isTiffHeader(ByteBuffer header) {
+        byte first = header.get(0);
+        byte second = header.get(1);
+        if (first == 'I' && second == 'I') {
+            return header.get(2) == 42 && header.get(3) == 0;
+        }
+        if (first == 'M' && second == 'M') {
+            return header.get(2) == 0 && header.get(3) == 42;
+        }
+        return false;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("文件数据不完整");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 单个IFD中与预览图相关的标签
+     */
+    private static class Ifd {
+        private long width = -1;
+        private long height = -1;
+        private long compression = -1;
+        private int orientation = -1;
+        private long stripOffset = -1;
+        private long stripLength = -1;
+        private long jpegOffset = -1;
+        private long jpegLength = -1;
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.youzhajun.ffmpeg.exif;
+
+import java.util.List;
+
+/**
+ * 图片文件中的全部内嵌预览图及方向信息
+ */
+public class ExifPreviews {
+
+    private final int orientation;
+    private final List<EmbeddedPreview> previews;
+    private final int primaryWidth;
+    private final int primaryHeight;
+
+    public ExifPreviews(int orientation, List<EmbeddedPreview> previews) {
+        this(orientation, previews, 0, 0);
+    }
+
+    /**
+     * @param primaryWidth  主图像宽度（未知时为0）
+     * @param primaryHeight 主图像高度（未知时为0）
+     */
+    public ExifPreviews(int orientation, List<EmbeddedPreview> previews, int primaryWidth, int primaryHeight) {
+        this.orientation = orientation;
+        this.previews = List.copyOf(previews);
+        this.primaryWidth = primaryWidth;
+        this.primaryHeight = primaryHeight;
+    }
+
+    /**
+     * EXIF方向（1-8，没有方向标签时为1）
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * 方向为5-8时画面需要旋转90度，显示的宽高与存储的宽高互换
+     */
+    public boolean isTransposed() {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * 主图像宽度（未按方向旋转，未知时为0）：JPEG取自主图像的SOF段，TIFF/RAW取自IFD0的 ImageWidth
+     */
+    public int getPrimaryWidth() {
+        return primaryWidth;
+    }
+
+    /**
+     * 主图像高度（未按方向旋转，未知时为0）
+     */
+    public int getPrimaryHeight() {
+        return primaryHeight;
+    }
+
+    /**
+     * 内嵌预览图，按像素数从小到大排列
+     */
+    public List<EmbeddedPreview> getPreviews() {
+        return previews;
+    }
+}
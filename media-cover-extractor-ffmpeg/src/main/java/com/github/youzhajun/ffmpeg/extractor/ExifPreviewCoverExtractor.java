@@ -0,0 +1,240 @@
+package com.github.youzhajun.ffmpeg.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.ffmpeg.exif.EmbeddedPreview;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviewReader;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviews;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * EXIF内嵌预览图封面抽取器
+ * <p>
+ * 相机和手机拍摄的JPEG以及CR2/NEF/ARW/DNG等RAW文件在EXIF/TIFF结构中内嵌了JPEG预览图，
+ * 选取满足配置宽高（不需要放大）的最小预览图，按EXIF方向旋转后缩放输出，不解码原图。
+ * 宽高比与主图像相差超过1%的预览图（带黑边或被裁切的缩略图）不参与选择。
+ * 没有满足要求的预览图时：JPEG跳过并交由后续抽取器完整解码；RAW无法完整解码，使用尺寸最大的预览图。
+ * </p>
+ */
+@Slf4j
+public class ExifPreviewCoverExtractor implements CoverExtractor {
+
+    /**
+     * 预览图与主图像宽高比允许的相对误差
+     */
+    private static final double ASPECT_RATIO_TOLERANCE = 0.01;
+
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("jpg", "jpeg", "cr2", "nef", "arw", "dng");
+
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final MemoryBudget memoryBudget;
+    private final ExifPreviewReader previewReader = new ExifPreviewReader();
+
+    public ExifPreviewCoverExtractor(String baseOutputDirectory,
+                                     boolean useDateSubdirectory,
+                                     String outputFormat,
+                                     ImageProcessStrategy strategy,
+                                     Integer width,
+                                     Integer height) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（解码预览图前按降采样后的尺寸预留）
+     */
+    public ExifPreviewCoverExtractor(String baseOutputDirectory,
+                                     boolean useDateSubdirectory,
+                                     String outputFormat,
+                                     ImageProcessStrategy strategy,
+                                     Integer width,
+                                     Integer height,
+                                     MemoryBudget memoryBudget) {
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+    }
+
+    @Override
+    public File extract(File sourceFile) {
+        boolean raw = FileType.isRawImage(sourceFile.getName());
+        ExifPreviews previews;
+        try {
+            previews = previewReader.read(sourceFile);
+        } catch (Exception e) {
+            throw new ExtractSkipException("读取EXIF失败: " + e.getMessage(), e);
+        }
+        if (previews == null || previews.getPreviews().isEmpty()) {
+            throw new ExtractSkipException("图片不包含内嵌预览图");
+        }
+        EmbeddedPreview preview = select(previews, raw);
+        if (preview == null) {
+            throw new ExtractSkipException("内嵌预览图尺寸小于封面尺寸");
+        }
+
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+        try {
+            byte[] jpeg = readPreview(sourceFile, preview);
+            Dimension displaySize = displaySize(preview, previews.isTransposed());
+            Dimension target = ImageProcessUtil.computeTargetSize(displaySize.width, displaySize.height, strategy, width, height);
+            if (previews.getOrientation() == 1 && target.equals(displaySize) && isJpegFormat(outputFormat)) {
+                // 不需要旋转和缩放时直接写出预览图的原始数据
+                Files.write(outputFile.toPath(), jpeg);
+            } else {
+                writeImage(jpeg, preview, previews, target, outputFile);
+            }
+            log.info("EXIF内嵌预览图抽取成功: {} -> {}，预览图 {}，方向 {}",
+                    sourceFile.getName(), outputFile.getAbsolutePath(), preview, previews.getOrientation());
+            return outputFile;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractSkipException("内嵌预览图处理失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean support(FileType fileType) {
+        return FileType.IMAGE.equals(fileType);
+    }
+
+    @Override
+    public boolean support(FileType fileType, File sourceFile) {
+        return support(fileType) && SUPPORTED_EXTENSIONS.contains(getExtension(sourceFile.getName()));
+    }
+
+    @Override
+    public int getOrder() {
+        return 180;
+    }
+
+    /**
+     * 选取满足封面尺寸（不需要放大）的最小预览图；RAW文件没有满足要求的预览图时使用最大的预览图
+     */
+    private EmbeddedPreview select(ExifPreviews previews, boolean raw) {
+        List<EmbeddedPreview> candidates = previews.getPreviews().stream()
+                .filter(preview -> matchesAspectRatio(preview, previews))
+                .toList();
+        if (candidates.isEmpty()) {
+            if (!raw) {
+                return null;
+            }
+            // RAW没有其他可用画面，宽高比都不一致时仍然使用预览图
+            candidates = previews.getPreviews();
+        }
+        if (strategy != ImageProcessStrategy.NONE && width != null && height != null) {
+            for (EmbeddedPreview preview : candidates) {
+                Dimension displaySize = displaySize(preview, previews.isTransposed());
+                Dimension target = ImageProcessUtil.computeTargetSize(
+                        displaySize.width, displaySize.height, strategy, width, height);
+                if (target.width <= displaySize.width && target.height <= displaySize.height) {
+                    return preview;
+                }
+            }
+        }
+        // 没有满足尺寸的预览图或不缩放（需要原图尺寸）时，JPEG交由后续抽取器完整解码
+        return raw ? candidates.get(candidates.size() - 1) : null;
+    }
+
+    /**
+     * 预览图宽高比是否与主图像一致（主图像尺寸未知时不过滤）
+     */
+    private boolean matchesAspectRatio(EmbeddedPreview preview, ExifPreviews previews) {
+        if (previews.getPrimaryWidth() <= 0 || previews.getPrimaryHeight() <= 0) {
+            return true;
+        }
+        double primaryRatio = (double) previews.getPrimaryWidth() / previews.getPrimaryHeight();
+        double previewRatio = (double) preview.getWidth() / preview.getHeight();
+        return Math.abs(previewRatio / primaryRatio - 1) <= ASPECT_RATIO_TOLERANCE;
+    }
+
+    private void writeImage(byte[] jpeg, EmbeddedPreview preview, ExifPreviews previews, Dimension target,
+                            File outputFile) throws Exception {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                throw new ExtractSkipException("无法识别内嵌预览图");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                // 目标宽高对应旋转后的画面，按存储方向换算后计算降采样倍数
+                int targetWidth = previews.isTransposed() ? target.height : target.width;
+                int targetHeight = previews.isTransposed() ? target.width : target.height;
+                int subsampling = Math.max(1,
+                        Math.min(preview.getWidth() / targetWidth, preview.getHeight() / targetHeight) / 2);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                long estimatedBytes = 2 * MemoryBudget.estimateImageBytes(
+                        (preview.getWidth() + subsampling - 1) / subsampling,
+                        (preview.getHeight() + subsampling - 1) / subsampling)
+                        + MemoryBudget.estimateImageBytes(target.width, target.height);
+                try (MemoryBudget.Reservation ignored = memoryBudget.reserve(estimatedBytes)) {
+                    BufferedImage image = ImageProcessUtil.orient(reader.read(0, param), previews.getOrientation());
+                    ImageProcessUtil.write(ImageProcessUtil.resize(image, strategy, width, height), outputFormat, outputFile);
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private byte[] readPreview(File sourceFile, EmbeddedPreview preview) throws Exception {
+        try (FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(preview.getLength());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, preview.getOffset() + buffer.position()) < 0) {
+                    throw new ExtractSkipException("内嵌预览图数据不完整");
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    private Dimension displaySize(EmbeddedPreview preview, boolean transposed) {
+        return transposed
+                ? new Dimension(preview.getHeight(), preview.getWidth())
+                : new Dimension(preview.getWidth(), preview.getHeight());
+    }
+
+    private boolean isJpegFormat(String format) {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+
+    private String getExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(dot + 1).toLowerCase() : "";
+    }
+}
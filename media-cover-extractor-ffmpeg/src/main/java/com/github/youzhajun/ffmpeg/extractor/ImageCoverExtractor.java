@@ -4,23 +4,38 @@ import com.github.youzhajun.common.enums.FileType;
 import com.github.youzhajun.common.enums.ImageProcessStrategy;
 import com.github.youzhajun.common.exception.ExtractException;
 import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.extractor.RemoteCoverExtractor;
 import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.common.util.RemoteUriUtil;
 import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
- * 图片封面抽取器（压缩处理）
+ * 图片封面抽取器（压缩处理，支持HTTP/HTTPS地址输入）
+ * <p>
+ * 动图（gif/webp）和多页TIFF只输出指定的一帧（默认第一帧）：通过 -frames:v 1 在该帧输出后立即停止读取和解码。
+ * 只有动图才按帧序号选择，指定的帧超出帧数时退回到第一帧。
+ * 不处理（NONE）时直接复制原图，但相机RAW文件体积大且不能直接显示，仍由FFmpeg转码为输出格式（保持原始尺寸）。
+ * </p>
  */
 @Slf4j
-public class ImageCoverExtractor implements CoverExtractor {
+public class ImageCoverExtractor implements CoverExtractor, RemoteCoverExtractor {
+
+    /**
+     * 可能包含多帧的图片格式（其他格式忽略帧序号）
+     */
+    private static final Set<String> MULTI_FRAME_EXTENSIONS = Set.of("gif", "webp", "apng", "tif", "tiff");
 
     private final FfmpegExecutor ffmpegExecutor;
     private final String baseOutputDirectory;
@@ -29,6 +44,8 @@ public class ImageCoverExtractor implements CoverExtractor {
     private final ImageProcessStrategy strategy;
     private final Integer width;
     private final Integer height;
+    private final RemoteInput remoteInput;
+    private final int frameIndex;
 
     public ImageCoverExtractor(FfmpegExecutor ffmpegExecutor,
                                String baseOutputDirectory,
@@ -37,6 +54,37 @@ public class ImageCoverExtractor implements CoverExtractor {
                                ImageProcessStrategy strategy,
                                Integer width,
                                Integer height) {
+        this(ffmpegExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                new RemoteInput());
+    }
+
+    /**
+     * @param remoteInput 远程图片的读取参数及统计
+     */
+    public ImageCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               ImageProcessStrategy strategy,
+                               Integer width,
+                               Integer height,
+                               RemoteInput remoteInput) {
+        this(ffmpegExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                remoteInput, 0);
+    }
+
+    /**
+     * @param frameIndex 动图用作封面的帧序号（从0开始）
+     */
+    public ImageCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               ImageProcessStrategy strategy,
+                               Integer width,
+                               Integer height,
+                               RemoteInput remoteInput,
+                               int frameIndex) {
         this.ffmpegExecutor = ffmpegExecutor;
         this.baseOutputDirectory = baseOutputDirectory;
         this.useDateSubdirectory = useDateSubdirectory;
@@ -44,6 +92,8 @@ public class ImageCoverExtractor implements CoverExtractor {
         this.strategy = strategy;
         this.width = width;
         this.height = height;
+        this.remoteInput = remoteInput;
+        this.frameIndex = Math.max(0, frameIndex);
     }
 
     @Override
@@ -56,7 +106,7 @@ public class ImageCoverExtractor implements CoverExtractor {
         String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
 
         // 如果不需要处理，直接复制原文件
-        if (strategy == ImageProcessStrategy.NONE) {
+        if (isCopied(sourceFile.getName())) {
             return copyFile(sourceFile, actualDirectory);
         }
 
@@ -65,24 +115,13 @@ public class ImageCoverExtractor implements CoverExtractor {
         File outputFile = new File(actualDirectory, outputFileName);
 
         try {
-            // 构建FFmpeg命令
-            List<String> args = new ArrayList<>();
-            args.add("-i");
-            args.add(sourceFile.getAbsolutePath());
-
-            // 添加图片处理参数
-            if (width != null && height != null) {
-                String filter = buildScaleFilter(strategy, width, height);
-                args.add("-vf");
-                args.add(filter);
+            boolean selectFrame = isFrameSelected(sourceFile.getName());
+            if (!process(sourceFile, outputFile, selectFrame) && selectFrame) {
+                // 指定的帧超出动图帧数时FFmpeg不输出画面，退回到第一帧
+                log.debug("图片帧数不足{}帧，使用第一帧: {}", frameIndex + 1, sourceFile.getName());
+                process(sourceFile, outputFile, false);
             }
 
-            args.add("-y"); // 覆盖已存在的文件
-            args.add(outputFile.getAbsolutePath());
-
-            // 执行FFmpeg命令
-            ffmpegExecutor.execute(args.toArray(new String[0]));
-
             if (!outputFile.exists()) {
                 throw new ExtractException("图片处理失败，输出文件未生成");
             }
@@ -98,6 +137,86 @@ public class ImageCoverExtractor implements CoverExtractor {
         }
     }
 
+    /**
+     * 执行FFmpeg处理本地图片
+     *
+     * @param selectFrame 是否按帧序号选择（否则输出第一帧）
+     * @return 是否生成了输出文件（按帧序号选择失败时返回false）
+     */
+    private boolean process(File sourceFile, File outputFile, boolean selectFrame) {
+        List<String> args = new ArrayList<>();
+        args.add("-i");
+        args.add(sourceFile.getAbsolutePath());
+
+        // 添加帧选择和图片处理参数
+        String filter = buildFilter(selectFrame);
+        if (filter != null) {
+            args.add("-vf");
+            args.add(filter);
+        }
+
+        // 动图只输出一帧，输出后立即停止读取
+        args.add("-frames:v");
+        args.add("1");
+        args.add("-update");
+        args.add("1");
+        args.add("-y"); // 覆盖已存在的文件
+        args.add(outputFile.getAbsolutePath());
+
+        try {
+            ffmpegExecutor.execute(args.toArray(new String[0]));
+        } catch (ExtractException e) {
+            if (!selectFrame) {
+                throw e;
+            }
+            return false;
+        }
+        return outputFile.exists() && outputFile.length() > 0;
+    }
+
+    @Override
+    public File extractRemote(URI sourceUri) {
+        RemoteUriUtil.validate(sourceUri);
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+
+        // 不需要处理时直接复制图片数据（保持原格式），否则按输出格式缩放
+        String fileName = RemoteUriUtil.getFileName(sourceUri);
+        boolean copy = isCopied(fileName);
+        String extension = copy ? getFileExtension(fileName) : outputFormat;
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + extension);
+
+        try {
+            boolean selectFrame = !copy && isFrameSelected(fileName);
+            long bytesRead;
+            try {
+                bytesRead = remoteInput.execute(ffmpegExecutor, List.of(), sourceUri,
+                        buildRemoteArguments(outputFile, copy, selectFrame));
+            } catch (ExtractException e) {
+                if (!selectFrame) {
+                    throw e;
+                }
+                bytesRead = 0;
+            }
+            if (selectFrame && (!outputFile.exists() || outputFile.length() == 0)) {
+                // 指定的帧超出动图帧数时退回到第一帧
+                log.debug("远程图片帧数不足{}帧，使用第一帧: {}", frameIndex + 1, sourceUri);
+                bytesRead += remoteInput.execute(ffmpegExecutor, List.of(), sourceUri,
+                        buildRemoteArguments(outputFile, false, false));
+            }
+            if (!outputFile.exists() || outputFile.length() == 0) {
+                throw new ExtractException("图片处理失败，输出文件未生成");
+            }
+
+            log.info("远程图片处理成功: {} -> {}，读取 {} bytes", sourceUri, outputFile.getAbsolutePath(), bytesRead);
+            return outputFile;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractException("远程图片处理失败: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean support(FileType fileType) {
         return FileType.IMAGE.equals(fileType);
@@ -108,6 +227,38 @@ public class ImageCoverExtractor implements CoverExtractor {
         return 200;
     }
 
+    private List<String> buildRemoteArguments(File outputFile, boolean copy, boolean selectFrame) {
+        List<String> args = new ArrayList<>();
+        if (copy) {
+            args.add("-c");
+            args.add("copy");
+        } else if (buildFilter(selectFrame) != null) {
+            args.add("-vf");
+            args.add(buildFilter(selectFrame));
+        }
+        args.add("-frames:v");
+        args.add("1");
+        args.add("-update");
+        args.add("1");
+        args.add("-y");
+        args.add(outputFile.getAbsolutePath());
+        return args;
+    }
+
+    /**
+     * 是否直接复制原图（RAW文件始终转码）
+     */
+    private boolean isCopied(String fileName) {
+        return strategy == ImageProcessStrategy.NONE && !FileType.isRawImage(fileName);
+    }
+
+    /**
+     * 是否需要按帧序号选择（只对可能包含多帧的格式生效）
+     */
+    private boolean isFrameSelected(String fileName) {
+        return frameIndex > 0 && MULTI_FRAME_EXTENSIONS.contains(getFileExtension(fileName).toLowerCase());
+    }
+
     /**
      * 直接复制文件
      */
@@ -124,6 +275,21 @@ public class ImageCoverExtractor implements CoverExtractor {
         }
     }
 
+    /**
+     * 构建帧选择和缩放过滤器，都不需要时返回null
+     */
+    private String buildFilter(boolean selectFrame) {
+        List<String> filters = new ArrayList<>();
+        if (selectFrame) {
+            // 逗号在过滤器链中是分隔符，需要转义
+            filters.add("select=eq(n\\," + frameIndex + ")");
+        }
+        if (strategy != ImageProcessStrategy.NONE && width != null && height != null) {
+            filters.add(buildScaleFilter(strategy, width, height));
+        }
+        return filters.isEmpty() ? null : String.join(",", filters);
+    }
+
     /**
      * 构建FFmpeg缩放过滤器
      */
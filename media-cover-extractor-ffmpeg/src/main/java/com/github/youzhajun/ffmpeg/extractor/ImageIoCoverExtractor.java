@@ -0,0 +1,206 @@
+package com.github.youzhajun.ffmpeg.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.common.util.ImageProcessUtil;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviewReader;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviews;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * 图片封面抽取器（JVM内处理，不启动FFmpeg进程）
+ * <p>
+ * 处理ImageIO可以解码的图片（JPEG、PNG、BMP、GIF等）：先读取图片头部获取尺寸，
+ * 再通过 {@link ImageReadParam#setSourceSubsampling} 在解码时按整数倍降采样，大尺寸照片不会以全分辨率解码到内存中，
+ * 最后用Java2D缩放并编码。优先于 {@link ImageCoverExtractor}，无法处理的图片（例如CMYK JPEG）跳过并交由FFmpeg处理。
+ * 动图和多页TIFF只解码指定的一帧（默认第一帧），读取到该帧为止；指定的帧超出帧数（包括单帧图片）时使用第一帧。
+ * ImageIO解码时忽略元数据，EXIF方向由 {@link ExifPreviewReader} 单独读取后按方向旋转画面。
+ * </p>
+ */
+@Slf4j
+public class ImageIoCoverExtractor implements CoverExtractor {
+
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final ImageProcessStrategy strategy;
+    private final Integer width;
+    private final Integer height;
+    private final MemoryBudget memoryBudget;
+    private final int frameIndex;
+    private final boolean outputSupported;
+    private final ExifPreviewReader exifReader = new ExifPreviewReader();
+
+    public ImageIoCoverExtractor(String baseOutputDirectory,
+                                 boolean useDateSubdirectory,
+                                 String outputFormat,
+                                 ImageProcessStrategy strategy,
+                                 Integer width,
+                                 Integer height) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height, MemoryBudget.unlimited());
+    }
+
+    /**
+     * @param memoryBudget 位图内存预算（解码前按降采样后的尺寸预留）
+     */
+    public ImageIoCoverExtractor(String baseOutputDirectory,
+                                 boolean useDateSubdirectory,
+                                 String outputFormat,
+                                 ImageProcessStrategy strategy,
+                                 Integer width,
+                                 Integer height,
+                                 MemoryBudget memoryBudget) {
+        this(baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height, memoryBudget, 0);
+    }
+
+    /**
+     * @param frameIndex 动图和多页TIFF用作封面的帧序号（从0开始）
+     */
+    public ImageIoCoverExtractor(String baseOutputDirectory,
+                                 boolean useDateSubdirectory,
+                                 String outputFormat,
+                                 ImageProcessStrategy strategy,
+                                 Integer width,
+                                 Integer height,
+                                 MemoryBudget memoryBudget,
+                                 int frameIndex) {
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.strategy = strategy;
+        this.width = width;
+        this.height = height;
+        this.memoryBudget = memoryBudget != null ? memoryBudget : MemoryBudget.unlimited();
+        this.frameIndex = Math.max(0, frameIndex);
+        this.outputSupported = outputFormat != null && ImageIO.getImageWritersByFormatName(outputFormat).hasNext();
+    }
+
+    @Override
+    public File extract(File sourceFile) {
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+
+        int orientation = readOrientation(sourceFile);
+        try (ImageInputStream stream = ImageIO.createImageInputStream(sourceFile)) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new ExtractSkipException("ImageIO无法识别图片格式");
+            }
+            ImageReader reader = readers.next();
+            try {
+                // 忽略元数据，读取到指定帧为止，不会解析整个动图；指定了非第一帧时允许退回读取第一帧
+                reader.setInput(stream, frameIndex == 0, true);
+                int imageIndex = resolveImageIndex(reader);
+                // EXIF方向只描述第一帧
+                int imageOrientation = imageIndex == 0 ? orientation : 1;
+                boolean transposed = imageOrientation >= 5;
+                int sourceWidth = reader.getWidth(imageIndex);
+                int sourceHeight = reader.getHeight(imageIndex);
+                // 目标尺寸按旋转后的画面计算，再换算回存储方向计算降采样倍数
+                Dimension target = transposed
+                        ? ImageProcessUtil.computeTargetSize(sourceHeight, sourceWidth, strategy, width, height)
+                        : ImageProcessUtil.computeTargetSize(sourceWidth, sourceHeight, strategy, width, height);
+                int targetWidth = transposed ? target.height : target.width;
+                int targetHeight = transposed ? target.width : target.height;
+
+                // 解码尺寸保留目标尺寸的2倍以上，剩余部分由双线性插值逐级缩小，避免直接抽点产生锯齿
+                int subsampling = Math.max(1, Math.min(sourceWidth / targetWidth, sourceHeight / targetHeight) / 2);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                long decodedBytes = MemoryBudget.estimateImageBytes(
+                        (sourceWidth + subsampling - 1) / subsampling, (sourceHeight + subsampling - 1) / subsampling);
+                // 需要旋转时额外计入旋转后的画面
+                long estimatedBytes = (imageOrientation > 1 ? 2 * decodedBytes : decodedBytes)
+                        + MemoryBudget.estimateImageBytes(target.width, target.height);
+                try (MemoryBudget.Reservation ignored = memoryBudget.reserve(estimatedBytes)) {
+                    BufferedImage image = ImageProcessUtil.orient(reader.read(imageIndex, param), imageOrientation);
+                    ImageProcessUtil.write(ImageProcessUtil.resize(image, strategy, width, height),
+                            outputFormat, outputFile);
+                }
+                log.info("图片处理成功（ImageIO）: {} -> {}，{}x{}，降采样 {}，方向 {}", sourceFile.getName(),
+                        outputFile.getAbsolutePath(), sourceWidth, sourceHeight, subsampling, imageOrientation);
+                return outputFile;
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            if (e instanceof ExtractSkipException skip) {
+                throw skip;
+            }
+            // 解码失败、不支持的颜色空间或超出内存预算时交由FFmpeg处理
+            throw new ExtractSkipException("ImageIO处理图片失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取EXIF方向（只读取头部结构），没有EXIF或读取失败时按正常方向处理
+     */
+    private int readOrientation(File sourceFile) {
+        try {
+            ExifPreviews exif = exifReader.read(sourceFile);
+            return exif != null ? exif.getOrientation() : 1;
+        } catch (Exception e) {
+            log.debug("读取EXIF方向失败，按正常方向处理: {}, {}", sourceFile.getName(), e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * 确定要解码的帧：指定的帧不存在时使用第一帧
+     */
+    private int resolveImageIndex(ImageReader reader) throws IOException {
+        if (frameIndex == 0) {
+            return 0;
+        }
+        try {
+            reader.getWidth(frameIndex);
+        } catch (IndexOutOfBoundsException e) {
+            return 0;
+        }
+        if ("gif".equalsIgnoreCase(reader.getFormatName())) {
+            // GIF后续帧只包含变化区域，需要与前面的帧合成
+            throw new ExtractSkipException("GIF非第一帧交由FFmpeg合成");
+        }
+        return frameIndex;
+    }
+
+    @Override
+    public boolean support(FileType fileType) {
+        // 不需要处理时由ImageCoverExtractor直接复制原图
+        return FileType.IMAGE.equals(fileType) && outputSupported && strategy != ImageProcessStrategy.NONE
+                && width != null && height != null;
+    }
+
+    @Override
+    public boolean support(FileType fileType, File sourceFile) {
+        if (!support(fileType)) {
+            return false;
+        }
+        String name = sourceFile.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && ImageIO.getImageReadersBySuffix(name.substring(dot + 1).toLowerCase()).hasNext();
+    }
+
+    @Override
+    public int getOrder() {
+        return 190;
+    }
+}
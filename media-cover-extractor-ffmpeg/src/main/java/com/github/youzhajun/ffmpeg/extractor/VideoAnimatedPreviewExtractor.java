@@ -0,0 +1,189 @@
+package com.github.youzhajun.ffmpeg.extractor;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.extractor.AnimatedPreviewExtractor;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 视频动态预览抽取器
+ * <p>
+ * 在视频中均匀选取几个短片段，每个片段作为一个输入并在输入端定位（只解码片段所在的GOP），
+ * 在同一个过滤器图中降帧率、缩放并拼接，编码为循环播放的WebP或GIF动图。
+ * 帧率、尺寸和输出文件大小都有上限，处理耗时与视频总时长无关。
+ * </p>
+ */
+@Slf4j
+public class VideoAnimatedPreviewExtractor implements AnimatedPreviewExtractor {
+
+    private final FfmpegExecutor ffmpegExecutor;
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String format;
+    private final int segmentCount;
+    private final double segmentSeconds;
+    private final int frameRate;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final long maxBytes;
+    private final long timeoutSeconds;
+
+    /**
+     * @param format         动图格式（webp或gif，webp需要FFmpeg编译了libwebp）
+     * @param segmentCount   片段数量
+     * @param segmentSeconds 每个片段的时长（秒）
+     * @param frameRate      帧率
+     * @param maxWidth       最大宽度（等比例缩放）
+     * @param maxHeight      最大高度（等比例缩放）
+     * @param maxBytes       输出文件大小上限（字节），达到上限时提前结束，小于等于0表示不限制
+     * @param timeoutSeconds FFmpeg执行超时时间（秒），小于等于0表示不限制
+     */
+    public VideoAnimatedPreviewExtractor(FfmpegExecutor ffmpegExecutor,
+                                         String baseOutputDirectory,
+                                         boolean useDateSubdirectory,
+                                         String format,
+                                         int segmentCount,
+                                         double segmentSeconds,
+                                         int frameRate,
+                                         int maxWidth,
+                                         int maxHeight,
+                                         long maxBytes,
+                                         long timeoutSeconds) {
+        String lower = format != null ? format.toLowerCase() : "";
+        if (!"webp".equals(lower) && !"gif".equals(lower)) {
+            throw new IllegalArgumentException("动态预览格式只支持webp或gif: " + format);
+        }
+        if (segmentCount <= 0 || segmentSeconds <= 0 || frameRate <= 0 || maxWidth <= 0 || maxHeight <= 0) {
+            throw new IllegalArgumentException("动态预览的片段数量、片段时长、帧率和尺寸必须大于0");
+        }
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.format = lower;
+        this.segmentCount = segmentCount;
+        this.segmentSeconds = segmentSeconds;
+        this.frameRate = frameRate;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.maxBytes = maxBytes;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public boolean support(FileType fileType) {
+        return FileType.VIDEO.equals(fileType);
+    }
+
+    @Override
+    public File extractAnimatedPreview(File sourceFile) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + format);
+
+        try {
+            List<double[]> segments = planSegments(ffmpegExecutor.probeDuration(sourceFile));
+            ffmpegExecutor.execute(TimeUnit.SECONDS.toMillis(timeoutSeconds),
+                    buildArguments(sourceFile, outputFile, segments));
+
+            if (!outputFile.exists() || outputFile.length() == 0) {
+                throw new ExtractException("动态预览生成失败，输出文件未生成");
+            }
+
+            log.info("视频动态预览生成成功: {} -> {}，{}个片段，{} bytes",
+                    sourceFile.getName(), outputFile.getAbsolutePath(), segments.size(), outputFile.length());
+            return outputFile;
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractException("视频动态预览生成失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 计算各片段的开始时间和时长：片段均匀分布在视频中（避开开头和结尾），
+     * 视频时长未知或不足以容纳全部片段时，从开头取一个连续片段
+     */
+    private List<double[]> planSegments(Double duration) {
+        List<double[]> segments = new ArrayList<>();
+        double totalSeconds = segmentCount * segmentSeconds;
+        if (duration == null || duration <= totalSeconds) {
+            segments.add(new double[]{0, duration != null ? duration : totalSeconds});
+            return segments;
+        }
+        for (int i = 0; i < segmentCount; i++) {
+            double start = duration * (i + 1) / (segmentCount + 1) - segmentSeconds / 2;
+            segments.add(new double[]{Math.max(0, Math.min(start, duration - segmentSeconds)), segmentSeconds});
+        }
+        return segments;
+    }
+
+    /**
+     * 构建FFmpeg命令：每个片段一个输入（-ss/-t 位于 -i 之前），过滤器图中降帧率、缩放后拼接
+     */
+    private String[] buildArguments(File sourceFile, File outputFile, List<double[]> segments) {
+        List<String> args = new ArrayList<>();
+        args.add("-hide_banner");
+        StringBuilder filter = new StringBuilder();
+        StringBuilder concatInputs = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            double[] segment = segments.get(i);
+            if (segment[0] > 0) {
+                args.add("-ss");
+                args.add(formatSeconds(segment[0]));
+            }
+            args.add("-t");
+            args.add(formatSeconds(segment[1]));
+            args.add("-i");
+            args.add(sourceFile.getAbsolutePath());
+
+            filter.append('[').append(i).append(":v:0]fps=").append(frameRate)
+                    .append(",scale=").append(maxWidth).append(':').append(maxHeight)
+                    .append(":force_original_aspect_ratio=decrease,setsar=1[v").append(i).append("];");
+            concatInputs.append("[v").append(i).append(']');
+        }
+        filter.append(concatInputs).append("concat=n=").append(segments.size()).append(":v=1:a=0");
+        if ("gif".equals(format)) {
+            // GIF只有256色，从片段画面生成调色板可明显减少色带
+            filter.append(",split[frames][palette];[palette]palettegen=stats_mode=diff[colors];")
+                    .append("[frames][colors]paletteuse");
+        }
+        filter.append("[out]");
+
+        args.add("-filter_complex");
+        args.add(filter.toString());
+        args.add("-map");
+        args.add("[out]");
+        if ("webp".equals(format)) {
+            args.add("-c:v");
+            args.add("libwebp");
+            args.add("-q:v");
+            args.add("60");
+        }
+        args.add("-loop");
+        args.add("0");
+        if (maxBytes > 0) {
+            args.add("-fs");
+            args.add(String.valueOf(maxBytes));
+        }
+        args.add("-y");
+        args.add(outputFile.getAbsolutePath());
+        return args.toArray(new String[0]);
+    }
+
+    private static String formatSeconds(double seconds) {
+        return String.format(Locale.ROOT, "%.3f", seconds);
+    }
+}
@@ -2,22 +2,41 @@ package com.github.youzhajun.ffmpeg.extractor;
 
 import com.github.youzhajun.common.enums.FileType;
 import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
 import com.github.youzhajun.common.exception.ExtractException;
 import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.extractor.RemoteCoverExtractor;
 import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.common.util.RemoteUriUtil;
+import com.github.youzhajun.ffmpeg.executor.AttachedPicture;
 import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import com.github.youzhajun.ffmpeg.frame.FrameSelection;
+import com.github.youzhajun.ffmpeg.frame.FrameSelector;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * 视频封面抽取器
+ * <p>
+ * 视频包含内嵌封面流（attached_pic，例如MP4封面或MKV图片附件）时优先直接抽取封面，不解码视频画面；
+ * 否则按 {@link FrameSelector} 生成的取帧方案依次尝试，直到取到画面为止。
+ * 远程视频（HTTP/HTTPS）由FFmpeg按范围请求直接读取，不下载整个文件，也不探测内嵌封面流。
+ * </p>
  */
 @Slf4j
-public class VideoCoverExtractor implements CoverExtractor {
+public class VideoCoverExtractor implements CoverExtractor, RemoteCoverExtractor {
+
+    /**
+     * 默认取帧时间点（第1秒）
+     */
+    public static final String DEFAULT_POSITION = "1";
 
     private final FfmpegExecutor ffmpegExecutor;
     private final String baseOutputDirectory;
@@ -26,6 +45,9 @@ public class VideoCoverExtractor implements CoverExtractor {
     private final ImageProcessStrategy strategy;
     private final Integer width;
     private final Integer height;
+    private final FrameSelector frameSelector;
+    private final boolean attachedPictureEnabled;
+    private final RemoteInput remoteInput;
 
     public VideoCoverExtractor(FfmpegExecutor ffmpegExecutor,
                                String baseOutputDirectory,
@@ -34,6 +56,57 @@ public class VideoCoverExtractor implements CoverExtractor {
                                ImageProcessStrategy strategy,
                                Integer width,
                                Integer height) {
+        this(ffmpegExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                new DefaultFrameSelector(ffmpegExecutor, VideoFrameSelectMode.ACCURATE, DEFAULT_POSITION, 1, 0));
+    }
+
+    /**
+     * @param frameSelector 取帧策略
+     */
+    public VideoCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               ImageProcessStrategy strategy,
+                               Integer width,
+                               Integer height,
+                               FrameSelector frameSelector) {
+        this(ffmpegExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                frameSelector, true);
+    }
+
+    /**
+     * @param frameSelector          取帧策略
+     * @param attachedPictureEnabled 是否优先使用内嵌封面流（attached_pic），关闭时始终从视频画面取帧
+     */
+    public VideoCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               ImageProcessStrategy strategy,
+                               Integer width,
+                               Integer height,
+                               FrameSelector frameSelector,
+                               boolean attachedPictureEnabled) {
+        this(ffmpegExecutor, baseOutputDirectory, useDateSubdirectory, outputFormat, strategy, width, height,
+                frameSelector, attachedPictureEnabled, new RemoteInput());
+    }
+
+    /**
+     * @param frameSelector          取帧策略
+     * @param attachedPictureEnabled 是否优先使用内嵌封面流（attached_pic），关闭时始终从视频画面取帧
+     * @param remoteInput            远程视频的读取参数及统计
+     */
+    public VideoCoverExtractor(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               ImageProcessStrategy strategy,
+                               Integer width,
+                               Integer height,
+                               FrameSelector frameSelector,
+                               boolean attachedPictureEnabled,
+                               RemoteInput remoteInput) {
         this.ffmpegExecutor = ffmpegExecutor;
         this.baseOutputDirectory = baseOutputDirectory;
         this.useDateSubdirectory = useDateSubdirectory;
@@ -41,6 +114,9 @@ public class VideoCoverExtractor implements CoverExtractor {
         this.strategy = strategy;
         this.width = width;
         this.height = height;
+        this.frameSelector = frameSelector;
+        this.attachedPictureEnabled = attachedPictureEnabled;
+        this.remoteInput = remoteInput;
     }
 
     @Override
@@ -56,35 +132,34 @@ public class VideoCoverExtractor implements CoverExtractor {
         String outputFileName = UUID.randomUUID() + "." + outputFormat;
         File outputFile = new File(actualDirectory, outputFileName);
 
+        if (attachedPictureEnabled && extractAttachedPicture(sourceFile, outputFile)) {
+            log.info("视频内嵌封面抽取成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
+            return outputFile;
+        }
+
         try {
-            // 构建FFmpeg命令
-            List<String> args = new ArrayList<>();
-            args.add("-i");
-            args.add(sourceFile.getAbsolutePath());
-            args.add("-ss");
-            args.add("00:00:01"); // 从第1秒截取
-            args.add("-vframes");
-            args.add("1"); // 只截取1帧
-
-            // 添加图片处理参数
-            if (strategy != ImageProcessStrategy.NONE && width != null && height != null) {
-                String filter = buildScaleFilter(strategy, width, height);
-                args.add("-vf");
-                args.add(filter);
+            ExtractException lastFailure = null;
+            for (FrameSelection selection : frameSelector.select(sourceFile)) {
+                try {
+                    ffmpegExecutor.execute(buildArguments(sourceFile, outputFile, selection));
+                } catch (ExtractException e) {
+                    // 部分封装格式定位超出结尾时FFmpeg直接报错，继续尝试下一个方案
+                    lastFailure = e;
+                    log.debug("取帧方案执行失败，尝试下一个方案: {} [{}], {}", sourceFile.getName(), selection, e.getMessage());
+                    outputFile.delete();
+                    continue;
+                }
+                if (outputFile.exists() && outputFile.length() > 0) {
+                    log.info("视频封面抽取成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
+                    return outputFile;
+                }
+                lastFailure = null;
+                log.debug("取帧方案未输出画面，尝试下一个方案: {} [{}]", sourceFile.getName(), selection);
             }
-
-            args.add("-y"); // 覆盖已存在的文件
-            args.add(outputFile.getAbsolutePath());
-
-            // 执行FFmpeg命令
-            ffmpegExecutor.execute(args.toArray(new String[0]));
-
-            if (!outputFile.exists()) {
-                throw new ExtractException("视频封面抽取失败，输出文件未生成");
+            if (lastFailure != null) {
+                throw lastFailure;
             }
-
-            log.info("视频封面抽取成功: {} -> {}", sourceFile.getName(), outputFile.getAbsolutePath());
-            return outputFile;
+            throw new ExtractException("视频封面抽取失败，输出文件未生成");
         } catch (Exception e) {
             // 清理可能生成的文件
             if (outputFile.exists()) {
@@ -94,6 +169,45 @@ public class VideoCoverExtractor implements CoverExtractor {
         }
     }
 
+    @Override
+    public File extractRemote(URI sourceUri) {
+        RemoteUriUtil.validate(sourceUri);
+        String actualDirectory = OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory);
+        File outputFile = new File(actualDirectory, UUID.randomUUID() + "." + outputFormat);
+
+        try {
+            ExtractException lastFailure = null;
+            for (FrameSelection selection : frameSelector.select(sourceUri, remoteInput)) {
+                long bytesRead;
+                try {
+                    bytesRead = remoteInput.execute(ffmpegExecutor, selection.getInputArguments(), sourceUri,
+                            buildOutputArguments(outputFile, selection));
+                } catch (ExtractException e) {
+                    lastFailure = e;
+                    log.debug("取帧方案执行失败，尝试下一个方案: {} [{}], {}", sourceUri, selection, e.getMessage());
+                    outputFile.delete();
+                    continue;
+                }
+                if (outputFile.exists() && outputFile.length() > 0) {
+                    log.info("远程视频封面抽取成功: {} -> {}，读取 {} bytes",
+                            sourceUri, outputFile.getAbsolutePath(), bytesRead);
+                    return outputFile;
+                }
+                lastFailure = null;
+                log.debug("取帧方案未输出画面，尝试下一个方案: {} [{}]", sourceUri, selection);
+            }
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+            throw new ExtractException("视频封面抽取失败，输出文件未生成");
+        } catch (Exception e) {
+            if (outputFile.exists()) {
+                outputFile.delete();
+            }
+            throw new ExtractException("远程视频封面抽取失败: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean support(FileType fileType) {
         return FileType.VIDEO.equals(fileType);
@@ -104,6 +218,104 @@ public class VideoCoverExtractor implements CoverExtractor {
         return 100;
     }
 
+    /**
+     * 抽取内嵌封面流：只读取封面流的数据包，不解码视频画面；无需缩放且编码与输出格式一致时直接复制数据
+     *
+     * @return 是否抽取成功，不存在内嵌封面或抽取失败时返回false（改为从视频画面取帧）
+     */
+    private boolean extractAttachedPicture(File sourceFile, File outputFile) {
+        AttachedPicture picture = ffmpegExecutor.probeAttachedPicture(sourceFile);
+        if (picture == null) {
+            return false;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add("-i");
+        args.add(sourceFile.getAbsolutePath());
+        args.add("-map");
+        args.add("0:" + picture.getStreamIndex());
+        if (strategy != ImageProcessStrategy.NONE && width != null && height != null) {
+            args.add("-vf");
+            args.add(buildScaleFilter(strategy, width, height));
+        } else if (isSameFormat(picture.getCodecName(), outputFormat)) {
+            args.add("-c");
+            args.add("copy");
+        }
+        args.add("-frames:v");
+        args.add("1");
+        args.add("-update");
+        args.add("1");
+        args.add("-y");
+        args.add(outputFile.getAbsolutePath());
+
+        try {
+            ffmpegExecutor.execute(args.toArray(new String[0]));
+            if (outputFile.exists() && outputFile.length() > 0) {
+                return true;
+            }
+        } catch (Exception e) {
+            log.debug("内嵌封面抽取失败，改为从视频画面取帧: {}, {}", sourceFile.getName(), e.getMessage());
+        }
+        if (outputFile.exists()) {
+            outputFile.delete();
+        }
+        return false;
+    }
+
+    /**
+     * 判断封面流编码与输出格式是否一致（一致时可直接复制数据）
+     */
+    private boolean isSameFormat(String codecName, String format) {
+        if (codecName == null) {
+            return false;
+        }
+        String lower = format.toLowerCase();
+        return switch (codecName) {
+            case "mjpeg" -> "jpg".equals(lower) || "jpeg".equals(lower);
+            case "png", "bmp", "webp" -> codecName.equals(lower);
+            default -> false;
+        };
+    }
+
+    /**
+     * 构建FFmpeg命令：取帧方案的输入参数位于 -i 之前（输入端定位），取帧过滤器与缩放过滤器串联
+     */
+    private String[] buildArguments(File sourceFile, File outputFile, FrameSelection selection) {
+        List<String> args = new ArrayList<>(selection.getInputArguments());
+        args.add("-i");
+        args.add(sourceFile.getAbsolutePath());
+        args.addAll(buildOutputArguments(outputFile, selection));
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * 构建位于 -i 之后的输出参数
+     */
+    private List<String> buildOutputArguments(File outputFile, FrameSelection selection) {
+        List<String> args = new ArrayList<>();
+        args.add("-frames:v");
+        args.add("1"); // 只截取1帧
+
+        List<String> filters = new ArrayList<>();
+        if (selection.getFilter() != null) {
+            filters.add(selection.getFilter());
+        }
+        // 添加图片处理参数
+        if (strategy != ImageProcessStrategy.NONE && width != null && height != null) {
+            filters.add(buildScaleFilter(strategy, width, height));
+        }
+        if (!filters.isEmpty()) {
+            args.add("-vf");
+            args.add(String.join(",", filters));
+        }
+
+        args.add("-update");
+        args.add("1");
+        args.add("-y"); // 覆盖已存在的文件
+        args.add(outputFile.getAbsolutePath());
+        return args;
+    }
+
     /**
      * 构建FFmpeg缩放过滤器
      */
@@ -0,0 +1,206 @@
+package com.github.youzhajun.ffmpeg.frame;
+
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.mp4.Mp4Index;
+import com.github.youzhajun.ffmpeg.mp4.Mp4IndexReader;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 默认取帧策略
+ * <p>
+ * 取帧时间点支持绝对时间（秒或 HH:MM:SS）和时长百分比（如 10%），百分比方式会先用ffprobe读取视频时长。
+ * 定位参数放在 -i 之前，由FFmpeg直接跳转到目标位置附近的关键帧，不解码之前的内容，超大文件也能快速取帧。
+ * 目标时间点超出视频时长（例如短视频）时自动退回到视频开头取帧。
+ * 配置了 {@link Mp4IndexReader} 时，KEYFRAME方式和百分比时间点会读取MP4/MOV的moov索引：百分比方式从索引中获取时长，
+ * 不再需要ffprobe；KEYFRAME方式根据关键帧表直接定位到距离目标时间最近的关键帧。其他方式的绝对时间点不读取索引，仍精确定位到目标时间。
+ * </p>
+ */
+public class DefaultFrameSelector implements FrameSelector {
+
+    private final FfmpegExecutor ffmpegExecutor;
+    private final VideoFrameSelectMode mode;
+    private final double positionValue;
+    private final boolean percentage;
+    private final int thumbnailFrames;
+    private final double thumbnailWindowSeconds;
+    private final Mp4IndexReader indexReader;
+
+    /**
+     * @param mode                   取帧方式
+     * @param position               取帧时间点：秒数（如 1、2.5）、时间（如 00:01:30）或时长百分比（如 10%）
+     * @param thumbnailFrames        THUMBNAIL方式下参与比较的最大帧数
+     * @param thumbnailWindowSeconds THUMBNAIL方式下最多解码的时间窗口（秒）
+     */
+    public DefaultFrameSelector(FfmpegExecutor ffmpegExecutor,
+                                VideoFrameSelectMode mode,
+                                String position,
+                                int thumbnailFrames,
+                                double thumbnailWindowSeconds) {
+        this(ffmpegExecutor, mode, position, thumbnailFrames, thumbnailWindowSeconds, null);
+    }
+
+    /**
+     * @param indexReader MP4/MOV索引读取器，为null时不读取索引
+     */
+    public DefaultFrameSelector(FfmpegExecutor ffmpegExecutor,
+                                VideoFrameSelectMode mode,
+                                String position,
+                                int thumbnailFrames,
+                                double thumbnailWindowSeconds,
+                                Mp4IndexReader indexReader) {
+        if (position == null || position.trim().isEmpty()) {
+            throw new IllegalArgumentException("取帧时间点不能为空");
+        }
+        String value = position.trim();
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.mode = mode != null ? mode : VideoFrameSelectMode.ACCURATE;
+        this.percentage = value.endsWith("%");
+        this.positionValue = percentage ? parsePercentage(value) : parseSeconds(value);
+        this.thumbnailFrames = Math.max(1, thumbnailFrames);
+        this.thumbnailWindowSeconds = thumbnailWindowSeconds;
+        this.indexReader = indexReader;
+    }
+
+    @Override
+    public List<FrameSelection> select(File sourceFile) {
+        // 绝对时间点的精确定位不需要时长，不读取索引（超出时长时由退回开头的方案兜底），避免重复读取moov
+        boolean needIndex = indexReader != null && (mode == VideoFrameSelectMode.KEYFRAME || percentage);
+        Mp4Index index = needIndex ? indexReader.read(sourceFile) : null;
+        if (index != null && mode == VideoFrameSelectMode.KEYFRAME) {
+            return selectKeyframe(index);
+        }
+
+        Double duration = null;
+        if (index != null) {
+            duration = index.getDurationSeconds();
+        } else if (percentage) {
+            duration = ffmpegExecutor.probeDuration(sourceFile);
+        }
+        return selectByDuration(duration);
+    }
+
+    @Override
+    public List<FrameSelection> select(URI sourceUri) {
+        return select(sourceUri, new RemoteInput());
+    }
+
+    /**
+     * 远程视频不读取MP4索引，由FFmpeg通过范围请求读取容器头部后直接定位；
+     * 百分比方式用ffprobe读取时长，ffprobe使用远程输入的读取参数（超时、探测数据量等）
+     */
+    @Override
+    public List<FrameSelection> select(URI sourceUri, RemoteInput remoteInput) {
+        return selectByDuration(percentage ? remoteInput.probeDuration(ffmpegExecutor, sourceUri) : null);
+    }
+
+    private List<FrameSelection> selectByDuration(Double duration) {
+        double target = positionValue;
+        if (percentage) {
+            target = duration != null ? duration * positionValue / 100 : 0;
+            if (duration != null && mode == VideoFrameSelectMode.THUMBNAIL && thumbnailWindowSeconds > 0) {
+                // 时间窗口尽量完整地落在视频范围内
+                target = Math.max(0, Math.min(target, duration - thumbnailWindowSeconds));
+            }
+        }
+
+        List<FrameSelection> selections = new ArrayList<>();
+        selections.add(build(target));
+        if (target > 0) {
+            // 目标时间点超出视频时长时FFmpeg不输出任何画面，退回到开头
+            selections.add(build(0));
+        }
+        return selections;
+    }
+
+    /**
+     * KEYFRAME方式根据MP4/MOV索引定位到距离目标时间最近的关键帧：关闭精确定位（-noaccurate_seek），
+     * FFmpeg直接从该关键帧开始解码并输出，不再解码关键帧与目标时间之间的画面
+     */
+    private List<FrameSelection> selectKeyframe(Mp4Index index) {
+        double duration = index.getDurationSeconds();
+        double target = percentage ? duration * positionValue / 100 : positionValue;
+        double keyframe = index.nearestKeyframe(Math.min(target, duration));
+        // 定位时间加半帧，避免时间刻度换算误差导致向前定位到上一个关键帧
+        double seekTime = keyframe + index.getFrameDurationSeconds() / 2;
+
+        List<String> args = new ArrayList<>();
+        args.add("-skip_frame");
+        args.add("nokey");
+        args.add("-noaccurate_seek");
+        if (seekTime > 0) {
+            args.add("-ss");
+            args.add(String.format(Locale.ROOT, "%.3f", seekTime));
+        }
+
+        List<FrameSelection> selections = new ArrayList<>();
+        selections.add(new FrameSelection(args, null));
+        if (keyframe > 0) {
+            // 索引与实际数据不一致时退回到开头
+            selections.add(build(0));
+        }
+        return selections;
+    }
+
+    private FrameSelection build(double position) {
+        List<String> args = new ArrayList<>();
+        if (mode == VideoFrameSelectMode.KEYFRAME) {
+            // 解码器跳过所有非关键帧
+            args.add("-skip_frame");
+            args.add("nokey");
+        }
+        if (position > 0) {
+            args.add("-ss");
+            args.add(String.format(Locale.ROOT, "%.3f", position));
+        }
+        String filter = null;
+        if (mode == VideoFrameSelectMode.THUMBNAIL) {
+            if (thumbnailWindowSeconds > 0) {
+                args.add("-t");
+                args.add(String.format(Locale.ROOT, "%.3f", thumbnailWindowSeconds));
+            }
+            filter = "thumbnail=" + thumbnailFrames;
+        }
+        return new FrameSelection(args, filter);
+    }
+
+    private static double parsePercentage(String value) {
+        double percent = parseNumber(value.substring(0, value.length() - 1).trim(), value);
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("取帧时间点百分比必须在0-100之间: " + value);
+        }
+        return percent;
+    }
+
+    /**
+     * 解析秒数或 [HH:]MM:SS[.ms] 格式的时间
+     */
+    private static double parseSeconds(String value) {
+        String[] parts = value.split(":");
+        if (parts.length > 3) {
+            throw new IllegalArgumentException("取帧时间点格式不正确: " + value);
+        }
+        double seconds = 0;
+        for (String part : parts) {
+            seconds = seconds * 60 + parseNumber(part, value);
+        }
+        if (seconds < 0) {
+            throw new IllegalArgumentException("取帧时间点不能为负数: " + value);
+        }
+        return seconds;
+    }
+
+    private static double parseNumber(String text, String value) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("取帧时间点格式不正确: " + value, e);
+        }
+    }
+}
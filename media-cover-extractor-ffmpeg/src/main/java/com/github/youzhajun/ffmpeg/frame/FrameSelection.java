@@ -0,0 +1,35 @@
+package com.github.youzhajun.ffmpeg.frame;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 取帧方案：FFmpeg输入参数（位于 -i 之前）和取帧过滤器
+ */
+public class FrameSelection {
+
+    private final List<String> inputArguments;
+    private final String filter;
+
+    /**
+     * @param inputArguments 输入参数（如 -ss、-skip_frame），作用于输入端，定位时不解码目标时间点之前的内容
+     * @param filter         取帧过滤器（如 thumbnail），不需要时为null
+     */
+    public FrameSelection(List<String> inputArguments, String filter) {
+        this.inputArguments = Collections.unmodifiableList(inputArguments);
+        this.filter = filter;
+    }
+
+    public List<String> getInputArguments() {
+        return inputArguments;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", inputArguments) + (filter != null ? " -vf " + filter : "");
+    }
+}
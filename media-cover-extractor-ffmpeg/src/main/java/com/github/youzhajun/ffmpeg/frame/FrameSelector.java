@@ -0,0 +1,39 @@
+package com.github.youzhajun.ffmpeg.frame;
+
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
+
+import java.io.File;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * 视频封面取帧策略接口（可自定义实现替换默认策略）
+ */
+public interface FrameSelector {
+
+    /**
+     * 生成取帧方案
+     * @param sourceFile 视频文件
+     * @return 按优先级排列的取帧方案，前一个方案没有取到画面（例如定位超出视频时长）时依次尝试下一个
+     */
+    List<FrameSelection> select(File sourceFile);
+
+    /**
+     * 生成远程视频（HTTP/HTTPS）的取帧方案，默认从视频开头取帧
+     * @param sourceUri 视频地址
+     * @return 按优先级排列的取帧方案
+     */
+    default List<FrameSelection> select(URI sourceUri) {
+        return List.of(new FrameSelection(List.of(), null));
+    }
+
+    /**
+     * 生成远程视频（HTTP/HTTPS）的取帧方案，需要读取远程文件（例如探测时长）时使用抽取器的远程读取参数并计入读取统计
+     * @param sourceUri   视频地址
+     * @param remoteInput 远程输入的读取参数及统计
+     * @return 按优先级排列的取帧方案
+     */
+    default List<FrameSelection> select(URI sourceUri, RemoteInput remoteInput) {
+        return select(sourceUri);
+    }
+}
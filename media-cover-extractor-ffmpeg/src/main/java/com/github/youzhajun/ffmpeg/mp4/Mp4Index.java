@@ -0,0 +1,100 @@
+package com.github.youzhajun.ffmpeg.mp4;
+
+import java.util.Arrays;
+
+/**
+ * MP4/MOV索引信息：视频时长、尺寸、旋转角度及关键帧时间表
+ */
+public class Mp4Index {
+
+    private final double durationSeconds;
+    private final int width;
+    private final int height;
+    private final int rotation;
+    private final boolean faststart;
+    private final double frameDurationSeconds;
+    private final double[] keyframeTimes;
+
+    /**
+     * @param keyframeTimes 关键帧显示时间（秒，升序），为null表示每一帧都是关键帧（没有stss）
+     */
+    public Mp4Index(double durationSeconds, int width, int height, int rotation, boolean faststart,
+                    double frameDurationSeconds, double[] keyframeTimes) {
+        this.durationSeconds = durationSeconds;
+        this.width = width;
+        this.height = height;
+        this.rotation = rotation;
+        this.faststart = faststart;
+        this.frameDurationSeconds = frameDurationSeconds;
+        this.keyframeTimes = keyframeTimes;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * 编码宽度（未旋转）
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * 编码高度（未旋转）
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 显示时顺时针旋转的角度（0、90、180、270）
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * moov是否位于mdat之前（faststart）
+     */
+    public boolean isFaststart() {
+        return faststart;
+    }
+
+    /**
+     * 最短的帧时长（秒）
+     */
+    public double getFrameDurationSeconds() {
+        return frameDurationSeconds;
+    }
+
+    /**
+     * 关键帧数量，每一帧都是关键帧时返回-1
+     */
+    public int getKeyframeCount() {
+        return keyframeTimes != null ? keyframeTimes.length : -1;
+    }
+
+    /**
+     * 距离指定时间最近的关键帧时间（距离相同时取较晚的关键帧），每一帧都是关键帧时返回指定时间本身
+     */
+    public double nearestKeyframe(double seconds) {
+        if (keyframeTimes == null || keyframeTimes.length == 0) {
+            return Math.max(0, Math.min(seconds, durationSeconds));
+        }
+        int index = Arrays.binarySearch(keyframeTimes, seconds);
+        if (index >= 0) {
+            return keyframeTimes[index];
+        }
+        int next = -index - 1;
+        if (next == 0) {
+            return keyframeTimes[0];
+        }
+        if (next == keyframeTimes.length) {
+            return keyframeTimes[keyframeTimes.length - 1];
+        }
+        double before = keyframeTimes[next - 1];
+        double after = keyframeTimes[next];
+        return seconds - before < after - seconds ? before : after;
+    }
+}
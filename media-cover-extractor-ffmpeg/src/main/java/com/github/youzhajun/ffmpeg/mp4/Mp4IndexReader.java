@@ -0,0 +1,396 @@
+package com.github.youzhajun.ffmpeg.mp4;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MP4/MOV索引读取器
+ * <p>
+ * 按box头部逐个跳过顶层box（mdat等媒体数据不读取），找到moov后用一次定位读取整个moov，
+ * 解析视频轨道的时长、尺寸、旋转矩阵和关键帧表（stts/stss/ctts/elst）。
+ * moov位于mdat之后的文件（非faststart）在网络存储上会让FFmpeg先读到文件末尾，这类文件单独计数。
+ * </p>
+ */
+@Slf4j
+public class Mp4IndexReader {
+
+    /**
+     * 默认moov大小上限（超过时不解析，交由FFmpeg处理）
+     */
+    public static final long DEFAULT_MAX_MOOV_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 可以出现在文件开头的顶层box
+     */
+    private static final Set<String> LEADING_BOX_TYPES = Set.of("ftyp", "moov", "mdat", "free", "skip", "wide", "pnot", "uuid");
+
+    private final long maxMoovSize;
+    private final AtomicLong indexedFiles = new AtomicLong();
+    private final AtomicLong nonFaststartFiles = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    public Mp4IndexReader() {
+        this(DEFAULT_MAX_MOOV_SIZE);
+    }
+
+    /**
+     * @param maxMoovSize moov大小上限（字节）
+     */
+    public Mp4IndexReader(long maxMoovSize) {
+        this.maxMoovSize = maxMoovSize;
+    }
+
+    /**
+     * 读取视频索引
+     *
+     * @return 索引信息，不是MP4/MOV文件、没有视频轨道或文件损坏时返回null
+     */
+    public Mp4Index read(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Mp4Index index = read(channel);
+            if (index != null) {
+                indexedFiles.incrementAndGet();
+                if (!index.isFaststart()) {
+                    nonFaststartFiles.incrementAndGet();
+                    log.debug("moov位于mdat之后（非faststart）: {}", file.getName());
+                }
+            }
+            return index;
+        } catch (IOException | RuntimeException e) {
+            log.debug("读取MP4索引失败: {}, {}", file.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 已成功读取索引的文件数量
+     */
+    public long getIndexedFiles() {
+        return indexedFiles.get();
+    }
+
+    /**
+     * 其中moov位于mdat之后（非faststart）的文件数量
+     */
+    public long getNonFaststartFiles() {
+        return nonFaststartFiles.get();
+    }
+
+    /**
+     * 累计读取的字节数（box头部和moov）
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    private Mp4Index read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        boolean mediaDataSeen = false;
+        while (position + 8 <= size) {
+            ByteBuffer header = readFully(channel, position, (int) Math.min(16, size - position));
+            long boxSize = header.getInt(0) & 0xFFFFFFFFL;
+            String type = type(header, 4);
+            int headerSize = 8;
+            if (boxSize == 1 && header.limit() >= 16) {
+                boxSize = header.getLong(8);
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - position;
+            }
+            if (position == 0 && !LEADING_BOX_TYPES.contains(type)) {
+                return null;
+            }
+            if (boxSize < headerSize || position + boxSize > size) {
+                return null;
+            }
+
+            if ("moov".equals(type)) {
+                long contentSize = boxSize - headerSize;
+                if (contentSize > maxMoovSize) {
+                    log.debug("moov大小超过上限: {} bytes", contentSize);
+                    return null;
+                }
+                ByteBuffer moov = readFully(channel, position + headerSize, (int) contentSize);
+                return parseMovie(moov, !mediaDataSeen);
+            }
+            if ("mdat".equals(type)) {
+                mediaDataSeen = true;
+            }
+            position += boxSize;
+        }
+        return null;
+    }
+
+    private Mp4Index parseMovie(ByteBuffer moov, boolean faststart) {
+        long movieTimescale = 0;
+        long movieDuration = 0;
+        Track video = null;
+        for (Box box : children(moov)) {
+            if ("mvhd".equals(box.type)) {
+                ByteBuffer mvhd = box.content;
+                int version = mvhd.get(0);
+                movieTimescale = mvhd.getInt(version == 1 ? 20 : 12) & 0xFFFFFFFFL;
+                movieDuration = version == 1 ? mvhd.getLong(24) : mvhd.getInt(16) & 0xFFFFFFFFL;
+            } else if ("trak".equals(box.type)) {
+                Track track = parseTrack(box.content);
+                if (track != null && (video == null || track.sampleCount > video.sampleCount)) {
+                    video = track;
+                }
+            }
+        }
+        if (video == null || video.timescale == 0) {
+            return null;
+        }
+
+        // 空编辑（media_time为-1）表示延迟显示，第一个非空编辑的media_time为显示起点
+        double delay = movieTimescale > 0 ? (double) video.emptyEditDuration / movieTimescale : 0;
+        double[] keyframeTimes = null;
+        if (video.syncSamples != null) {
+            keyframeTimes = new double[video.syncSamples.length];
+            long[] presentationTimes = presentationTimes(video, video.syncSamples);
+            for (int i = 0; i < keyframeTimes.length; i++) {
+                keyframeTimes[i] = Math.max(0, (double) (presentationTimes[i] - video.mediaTime) / video.timescale + delay);
+            }
+            Arrays.sort(keyframeTimes);
+        }
+        double duration = movieTimescale > 0 && movieDuration > 0
+                ? (double) movieDuration / movieTimescale : (double) video.duration / video.timescale;
+        return new Mp4Index(duration, video.width, video.height, video.rotation, faststart,
+                (double) video.minSampleDelta / video.timescale, keyframeTimes);
+    }
+
+    /**
+     * 解析轨道，不是视频轨道时返回null
+     */
+    private Track parseTrack(ByteBuffer trak) {
+        Track track = new Track();
+        boolean isVideo = false;
+        for (Box box : children(trak)) {
+            if ("tkhd".equals(box.type)) {
+                parseTrackHeader(box.content, track);
+            } else if ("edts".equals(box.type)) {
+                Box elst = child(box.content, "elst");
+                if (elst != null) {
+                    parseEditList(elst.content, track);
+                }
+            } else if ("mdia".equals(box.type)) {
+                for (Box media : children(box.content)) {
+                    if ("mdhd".equals(media.type)) {
+                        ByteBuffer mdhd = media.content;
+                        int version = mdhd.get(0);
+                        track.timescale = mdhd.getInt(version == 1 ? 20 : 12) & 0xFFFFFFFFL;
+                        track.duration = version == 1 ? mdhd.getLong(24) : mdhd.getInt(16) & 0xFFFFFFFFL;
+                    } else if ("hdlr".equals(media.type)) {
+                        isVideo = "vide".equals(type(media.content, 8));
+                    } else if ("minf".equals(media.type)) {
+                        Box stbl = child(media.content, "stbl");
+                        if (stbl != null) {
+                            parseSampleTable(stbl.content, track);
+                        }
+                    }
+                }
+            }
+        }
+        return isVideo && track.sampleCount > 0 ? track : null;
+    }
+
+    /**
+     * tkhd：宽高为16.16定点数，3x3变换矩阵的前两列决定旋转角度
+     */
+    private void parseTrackHeader(ByteBuffer tkhd, Track track) {
+        int version = tkhd.get(0);
+        int matrixOffset = version == 1 ? 52 : 40;
+        int a = tkhd.getInt(matrixOffset);
+        int b = tkhd.getInt(matrixOffset + 4);
+        double angle = Math.toDegrees(Math.atan2(b, a));
+        track.rotation = (int) ((Math.round(angle / 90) * 90 % 360 + 360) % 360);
+        track.width = tkhd.getInt(matrixOffset + 36) >>> 16;
+        track.height = tkhd.getInt(matrixOffset + 40) >>> 16;
+    }
+
+    private void parseEditList(ByteBuffer elst, Track track) {
+        int version = elst.get(0);
+        int count = elst.getInt(4);
+        int position = 8;
+        for (int i = 0; i < count; i++) {
+            long segmentDuration = version == 1 ? elst.getLong(position) : elst.getInt(position) & 0xFFFFFFFFL;
+            long mediaTime = version == 1 ? elst.getLong(position + 8) : elst.getInt(position + 4);
+            position += version == 1 ? 20 : 12;
+            if (mediaTime == -1) {
+                track.emptyEditDuration += segmentDuration;
+            } else {
+                track.mediaTime = mediaTime;
+                break;
+            }
+        }
+    }
+
+    private void parseSampleTable(ByteBuffer stbl, Track track) {
+        for (Box box : children(stbl)) {
+            ByteBuffer content = box.content;
+            switch (box.type) {
+                case "stts" -> {
+                    track.timeToSample = readPairs(content);
+                    long minDelta = Long.MAX_VALUE;
+                    for (int i = 0; i < track.timeToSample.length; i += 2) {
+                        track.sampleCount += track.timeToSample[i];
+                        if (track.timeToSample[i + 1] > 0) {
+                            minDelta = Math.min(minDelta, track.timeToSample[i + 1]);
+                        }
+                    }
+                    track.minSampleDelta = minDelta == Long.MAX_VALUE ? 0 : minDelta;
+                }
+                case "ctts" -> track.compositionOffsets = readPairs(content);
+                case "stss" -> {
+                    int count = content.getInt(4);
+                    long[] samples = new long[count];
+                    for (int i = 0; i < count; i++) {
+                        samples[i] = content.getInt(8 + i * 4) & 0xFFFFFFFFL;
+                    }
+                    Arrays.sort(samples);
+                    track.syncSamples = samples;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算样本的显示时间（解码时间 + 合成时间偏移，单位为轨道时间刻度）
+     *
+     * @param samples 样本序号（从1开始，升序）
+     */
+    private long[] presentationTimes(Track track, long[] samples) {
+        long[] times = new long[samples.length];
+        long[] stts = track.timeToSample != null ? track.timeToSample : new long[0];
+        long[] ctts = track.compositionOffsets;
+        int sttsEntry = 0;
+        long sttsFirstSample = 1;
+        long sttsStartTime = 0;
+        int cttsEntry = 0;
+        long cttsFirstSample = 1;
+        for (int i = 0; i < samples.length; i++) {
+            long sample = samples[i];
+            while (sttsEntry < stts.length && sample >= sttsFirstSample + stts[sttsEntry]) {
+                sttsStartTime += stts[sttsEntry] * stts[sttsEntry + 1];
+                sttsFirstSample += stts[sttsEntry];
+                sttsEntry += 2;
+            }
+            long delta = sttsEntry < stts.length ? stts[sttsEntry + 1] : 0;
+            long time = sttsStartTime + (sample - sttsFirstSample) * delta;
+            if (ctts != null) {
+                while (cttsEntry < ctts.length && sample >= cttsFirstSample + ctts[cttsEntry]) {
+                    cttsFirstSample += ctts[cttsEntry];
+                    cttsEntry += 2;
+                }
+                if (cttsEntry < ctts.length) {
+                    // 偏移量按有符号数处理（版本1允许负值，版本0的负值实际也按有符号写入）
+                    time += (int) ctts[cttsEntry + 1];
+                }
+            }
+            times[i] = time;
+        }
+        return times;
+    }
+
+    /**
+     * 读取 (count, value) 形式的表
+     */
+    private static long[] readPairs(ByteBuffer content) {
+        int count = content.getInt(4);
+        long[] pairs = new long[count * 2];
+        for (int i = 0; i < count; i++) {
+            pairs[i * 2] = content.getInt(8 + i * 8) & 0xFFFFFFFFL;
+            pairs[i * 2 + 1] = content.getInt(12 + i * 8) & 0xFFFFFFFFL;
+        }
+        return pairs;
+    }
+
+    private static Box child(ByteBuffer container, String type) {
+        for (Box box : children(container)) {
+            if (type.equals(box.type)) {
+                return box;
+            }
+        }
+        return null;
+    }
+
+    private static List<Box> children(ByteBuffer container) {
+        List<Box> boxes = new ArrayList<>();
+        int position = 0;
+        while (position + 8 <= container.limit()) {
+            long size = container.getInt(position) & 0xFFFFFFFFL;
+            String type = type(container, position + 4);
+            int headerSize = 8;
+            if (size == 1 && position + 16 <= container.limit()) {
+                size = container.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = container.limit() - position;
+            }
+            if (size < headerSize || position + size > container.limit()) {
+                break;
+            }
+            boxes.add(new Box(type, container.slice(position + headerSize, (int) size - headerSize)));
+            position += (int) size;
+        }
+        return boxes;
+    }
+
+    private static String type(ByteBuffer buffer, int offset) {
+        byte[] type = new byte[4];
+        buffer.get(offset, type);
+        return new String(type, StandardCharsets.ISO_8859_1);
+    }
+
+    private ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("文件意外结束");
+            }
+        }
+        bytesRead.addAndGet(length);
+        return buffer.flip();
+    }
+
+    private static class Box {
+        private final String type;
+        private final ByteBuffer content;
+
+        private Box(String type, ByteBuffer content) {
+            this.type = type;
+            this.content = content;
+        }
+    }
+
+    private static class Track {
+        private long timescale;
+        private long duration;
+        private int width;
+        private int height;
+        private int rotation;
+        private long sampleCount;
+        private long minSampleDelta;
+        private long emptyEditDuration;
+        private long mediaTime;
+        private long[] timeToSample;
+        private long[] compositionOffsets;
+        private long[] syncSamples;
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.youzhajun.ffmpeg.remote;
+
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.executor.ProbeResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 远程输入（HTTP/HTTPS）的FFmpeg读取参数及读取统计
+ * <p>
+ * FFmpeg通过HTTP范围请求（Range）按需读取源文件：先读取容器头部（例如MP4的moov），再直接跳转到目标关键帧所在的位置，
+ * 不下载整个文件。probesize和analyzeduration限制探测流信息时读取的数据量，读写超时和总超时避免慢速存储长时间占用线程。
+ * 每次执行后从FFmpeg日志（verbose级别的输入统计）中读取实际读取的字节数并累计；ffprobe探测时长使用相同的读取参数，读取量同样计入统计。
+ * </p>
+ */
+@Slf4j
+public class RemoteInput {
+
+    /**
+     * 默认探测数据量（1MB，FFmpeg默认为5MB）
+     */
+    public static final long DEFAULT_PROBE_SIZE = 1024 * 1024;
+
+    /**
+     * FFmpeg关闭输入时输出的统计信息，例如：Statistics: 65536 bytes read, 1 seeks
+     */
+    private static final Pattern BYTES_READ = Pattern.compile("Statistics: (\\d+) bytes read");
+
+    private final long probeSize;
+    private final long analyzeDurationMillis;
+    private final long ioTimeoutSeconds;
+    private final long timeoutSeconds;
+    private final boolean reconnect;
+
+    private final AtomicLong sources = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    public RemoteInput() {
+        this(DEFAULT_PROBE_SIZE, 1000, 15, 60, true);
+    }
+
+    /**
+     * @param probeSize             探测流信息时最多读取的字节数
+     * @param analyzeDurationMillis 探测流信息时最多分析的时长（毫秒）
+     * @param ioTimeoutSeconds      单次网络读写超时时间（秒），小于等于0表示不限制
+     * @param timeoutSeconds        FFmpeg执行超时时间（秒），小于等于0表示不限制
+     * @param reconnect             连接中断时是否自动重连（从中断位置继续范围请求）
+     */
+    public RemoteInput(long probeSize,
+                       long analyzeDurationMillis,
+                       long ioTimeoutSeconds,
+                       long timeoutSeconds,
+                       boolean reconnect) {
+        this.probeSize = probeSize;
+        this.analyzeDurationMillis = analyzeDurationMillis;
+        this.ioTimeoutSeconds = ioTimeoutSeconds;
+        this.timeoutSeconds = timeoutSeconds;
+        this.reconnect = reconnect;
+    }
+
+    /**
+     * 执行读取远程输入的FFmpeg命令
+     *
+     * @param inputArguments  位于 -i 之前的输入参数（例如定位参数）
+     * @param outputArguments 位于 -i 之后的输出参数
+     * @return 本次从远程读取的字节数（无法获取时为0）
+     */
+    public long execute(FfmpegExecutor ffmpegExecutor, List<String> inputArguments, URI sourceUri,
+                        List<String> outputArguments) {
+        List<String> args = new ArrayList<>();
+        args.add("-hide_banner");
+        // 输入统计信息在verbose级别输出
+        args.add("-v");
+        args.add("verbose");
+        args.addAll(inputArguments);
+        args.addAll(buildInputOptions());
+        args.add("-i");
+        args.add(sourceUri.toString());
+        args.addAll(outputArguments);
+
+        sources.incrementAndGet();
+        String ffmpegLog = ffmpegExecutor.executeWithLog(TimeUnit.SECONDS.toMillis(timeoutSeconds),
+                args.toArray(new String[0]));
+        long read = parseBytesRead(ffmpegLog);
+        bytesRead.addAndGet(read);
+        log.debug("远程输入读取完成: {}，读取 {} bytes", sourceUri, read);
+        return read;
+    }
+
+    /**
+     * 用ffprobe探测远程媒体时长（只读取容器头部信息）
+     *
+     * @return 时长（秒），无法获取时返回null
+     */
+    public Double probeDuration(FfmpegExecutor ffmpegExecutor, URI sourceUri) {
+        List<String> options = new ArrayList<>();
+        options.add("-v");
+        options.add("verbose");
+        options.addAll(buildInputOptions());
+
+        sources.incrementAndGet();
+        ProbeResult result = ffmpegExecutor.probeDuration(sourceUri.toString(),
+                TimeUnit.SECONDS.toMillis(timeoutSeconds), options.toArray(new String[0]));
+        long read = parseBytesRead(result.getLog());
+        bytesRead.addAndGet(read);
+        log.debug("远程输入探测完成: {}，时长 {}，读取 {} bytes", sourceUri, result.getDuration(), read);
+        return result.getDuration();
+    }
+
+    /**
+     * 已读取的远程源数量（FFmpeg和ffprobe执行次数）
+     */
+    public long getSources() {
+        return sources.get();
+    }
+
+    /**
+     * 累计从远程读取的字节数
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    private List<String> buildInputOptions() {
+        List<String> options = new ArrayList<>();
+        options.add("-probesize");
+        options.add(String.valueOf(probeSize));
+        options.add("-analyzeduration");
+        options.add(String.valueOf(TimeUnit.MILLISECONDS.toMicros(analyzeDurationMillis)));
+        if (ioTimeoutSeconds > 0) {
+            options.add("-rw_timeout");
+            options.add(String.valueOf(TimeUnit.SECONDS.toMicros(ioTimeoutSeconds)));
+        }
+        // 同一连接上发送后续的范围请求，定位时不必重新建立连接
+        options.add("-multiple_requests");
+        options.add("1");
+        if (reconnect) {
+            options.add("-reconnect");
+            options.add("1");
+            options.add("-reconnect_on_network_error");
+            options.add("1");
+            options.add("-reconnect_delay_max");
+            options.add("2");
+        }
+        return options;
+    }
+
+    private static long parseBytesRead(String ffmpegLog) {
+        if (ffmpegLog == null) {
+            return 0;
+        }
+        long total = 0;
+        Matcher matcher = BYTES_READ.matcher(ffmpegLog);
+        while (matcher.find()) {
+            total += Long.parseLong(matcher.group(1));
+        }
+        return total;
+    }
+}
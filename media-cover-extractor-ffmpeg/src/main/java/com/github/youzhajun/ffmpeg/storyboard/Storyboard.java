@@ -0,0 +1,82 @@
+package com.github.youzhajun.ffmpeg.storyboard;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 故事板（进度条预览）：缩略图拼图及各缩略图的坐标和时间段
+ */
+public class Storyboard {
+
+    private final List<File> sheets;
+    private final List<StoryboardTile> tiles;
+    private final double intervalSeconds;
+    private final double durationSeconds;
+    private final File webVttFile;
+
+    public Storyboard(List<File> sheets, List<StoryboardTile> tiles, double intervalSeconds, double durationSeconds,
+                      File webVttFile) {
+        this.sheets = Collections.unmodifiableList(sheets);
+        this.tiles = Collections.unmodifiableList(tiles);
+        this.intervalSeconds = intervalSeconds;
+        this.durationSeconds = durationSeconds;
+        this.webVttFile = webVttFile;
+    }
+
+    /**
+     * 拼图文件（按时间顺序）
+     */
+    public List<File> getSheets() {
+        return sheets;
+    }
+
+    /**
+     * 缩略图（按时间顺序）
+     */
+    public List<StoryboardTile> getTiles() {
+        return tiles;
+    }
+
+    /**
+     * 实际取帧间隔（秒），缩略图数量超过上限时会大于配置的间隔
+     */
+    public double getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * 与拼图位于同一目录的WebVTT索引文件
+     */
+    public File getWebVttFile() {
+        return webVttFile;
+    }
+
+    /**
+     * 生成WebVTT索引，每个时间段指向拼图中的一个区域（sprite.jpg#xywh=x,y,w,h），拼图使用相对文件名
+     */
+    public String toWebVtt() {
+        StringBuilder builder = new StringBuilder("WEBVTT\n");
+        for (StoryboardTile tile : tiles) {
+            builder.append('\n')
+                    .append(formatTime(tile.getStartSeconds())).append(" --> ").append(formatTime(tile.getEndSeconds()))
+                    .append('\n')
+                    .append(tile.getSheet().getName())
+                    .append("#xywh=").append(tile.getX()).append(',').append(tile.getY())
+                    .append(',').append(tile.getWidth()).append(',').append(tile.getHeight())
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String formatTime(double seconds) {
+        long millis = Math.round(seconds * 1000);
+        return String.format(Locale.ROOT, "%02d:%02d:%02d.%03d",
+                millis / 3_600_000, millis / 60_000 % 60, millis / 1000 % 60, millis % 1000);
+    }
+}
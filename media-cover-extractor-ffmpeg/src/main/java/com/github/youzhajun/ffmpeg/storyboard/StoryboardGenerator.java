@@ -0,0 +1,194 @@
+package com.github.youzhajun.ffmpeg.storyboard;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.util.OutputDirectoryUtil;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 故事板生成器（视频进度条预览）
+ * <p>
+ * 一次FFmpeg调用完成全部拼图：解码器只解码关键帧，fps过滤器按固定间隔取帧（取每个时间点之前最近的关键帧），
+ * 缩放后由tile过滤器拼接成多张拼图，不需要为每个时间点重复打开和定位文件。
+ * 每次生成的拼图和WebVTT索引保存在输出目录下单独的子目录中。
+ * </p>
+ */
+@Slf4j
+public class StoryboardGenerator {
+
+    private static final String SHEET_PREFIX = "sprite-";
+    private static final String WEB_VTT_FILE_NAME = "storyboard.vtt";
+
+    private final FfmpegExecutor ffmpegExecutor;
+    private final String baseOutputDirectory;
+    private final boolean useDateSubdirectory;
+    private final String outputFormat;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final long intervalMillis;
+    private final int columns;
+    private final int rows;
+    private final int maxTiles;
+    private final long timeoutSeconds;
+
+    /**
+     * @param tileWidth       缩略图宽度
+     * @param tileHeight      缩略图高度（画面按比例缩放后居中，空白处填充黑色）
+     * @param intervalSeconds 取帧间隔（秒）
+     * @param columns         每张拼图的列数
+     * @param rows            每张拼图的行数
+     * @param maxTiles        缩略图数量上限，超过时按视频时长加大取帧间隔，小于等于0表示不限制
+     * @param timeoutSeconds  FFmpeg执行超时时间（秒），小于等于0表示不限制
+     */
+    public StoryboardGenerator(FfmpegExecutor ffmpegExecutor,
+                               String baseOutputDirectory,
+                               boolean useDateSubdirectory,
+                               String outputFormat,
+                               int tileWidth,
+                               int tileHeight,
+                               double intervalSeconds,
+                               int columns,
+                               int rows,
+                               int maxTiles,
+                               long timeoutSeconds) {
+        if (tileWidth <= 0 || tileHeight <= 0 || columns <= 0 || rows <= 0 || intervalSeconds <= 0) {
+            throw new IllegalArgumentException("故事板缩略图尺寸、行列数和取帧间隔必须大于0");
+        }
+        this.ffmpegExecutor = ffmpegExecutor;
+        this.baseOutputDirectory = baseOutputDirectory;
+        this.useDateSubdirectory = useDateSubdirectory;
+        this.outputFormat = outputFormat;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.intervalMillis = Math.max(1, Math.round(intervalSeconds * 1000));
+        this.columns = columns;
+        this.rows = rows;
+        this.maxTiles = maxTiles;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * 生成故事板
+     *
+     * @param sourceFile 视频文件
+     * @return 拼图文件、缩略图坐标和时间段
+     */
+    public Storyboard generate(File sourceFile) {
+        if (!sourceFile.exists() || !sourceFile.isFile()) {
+            throw new ExtractException("源文件不存在或不是文件: " + sourceFile.getAbsolutePath());
+        }
+        Double duration = ffmpegExecutor.probeDuration(sourceFile);
+        if (duration == null) {
+            throw new ExtractException("无法获取视频时长，不能生成故事板: " + sourceFile.getName());
+        }
+
+        long durationMillis = Math.max(1, Math.round(duration * 1000));
+        long interval = intervalMillis;
+        if (maxTiles > 0 && ceilDiv(durationMillis, interval) > maxTiles) {
+            interval = ceilDiv(durationMillis, maxTiles);
+        }
+        int tileCount = (int) ceilDiv(durationMillis, interval);
+        int tilesPerSheet = columns * rows;
+        int sheetCount = (int) ceilDiv(tileCount, tilesPerSheet);
+
+        File directory = new File(OutputDirectoryUtil.getActualDirectory(baseOutputDirectory, useDateSubdirectory),
+                UUID.randomUUID().toString());
+        if (!directory.mkdirs()) {
+            throw new ExtractException("创建故事板目录失败: " + directory.getAbsolutePath());
+        }
+
+        try {
+            ffmpegExecutor.execute(TimeUnit.SECONDS.toMillis(timeoutSeconds),
+                    buildArguments(sourceFile, new File(directory, SHEET_PREFIX + "%03d." + outputFormat),
+                            interval, sheetCount));
+
+            List<File> sheets = new ArrayList<>();
+            for (int i = 1; i <= sheetCount; i++) {
+                File sheet = new File(directory, String.format("%s%03d.%s", SHEET_PREFIX, i, outputFormat));
+                if (!sheet.isFile()) {
+                    // 关键帧提前结束时拼图数量可能少于预期
+                    break;
+                }
+                sheets.add(sheet);
+            }
+            if (sheets.isEmpty()) {
+                throw new ExtractException("故事板生成失败，拼图文件未生成");
+            }
+
+            List<StoryboardTile> tiles = new ArrayList<>();
+            double intervalSeconds = interval / 1000.0;
+            for (int i = 0; i < Math.min(tileCount, sheets.size() * tilesPerSheet); i++) {
+                int position = i % tilesPerSheet;
+                tiles.add(new StoryboardTile(sheets.get(i / tilesPerSheet),
+                        position % columns * tileWidth, position / columns * tileHeight, tileWidth, tileHeight,
+                        i * intervalSeconds, Math.min((i + 1) * intervalSeconds, duration)));
+            }
+
+            File webVttFile = new File(directory, WEB_VTT_FILE_NAME);
+            Storyboard storyboard = new Storyboard(sheets, tiles, intervalSeconds, duration, webVttFile);
+            Files.write(webVttFile.toPath(), storyboard.toWebVtt().getBytes(StandardCharsets.UTF_8));
+
+            log.info("故事板生成成功: {} -> {}，共{}张拼图、{}个缩略图",
+                    sourceFile.getName(), directory.getAbsolutePath(), sheets.size(), tiles.size());
+            return storyboard;
+        } catch (Exception e) {
+            deleteDirectory(directory);
+            if (e instanceof ExtractException) {
+                throw (ExtractException) e;
+            }
+            throw new ExtractException("故事板生成失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 构建FFmpeg命令：-skip_frame nokey 只解码关键帧；fps按间隔取帧（round=up取每个时间点及之前最近的帧），
+     * 缩放并补边到固定尺寸后拼图，-frames:v 限制拼图数量
+     */
+    private String[] buildArguments(File sourceFile, File sheetPattern, long interval, int sheetCount) {
+        String filter = "fps=1000/" + interval + ":round=up,"
+                + "scale=" + tileWidth + ":" + tileHeight + ":force_original_aspect_ratio=decrease,"
+                + "pad=" + tileWidth + ":" + tileHeight + ":(ow-iw)/2:(oh-ih)/2,"
+                + "tile=" + columns + "x" + rows;
+
+        List<String> args = new ArrayList<>();
+        args.add("-hide_banner");
+        args.add("-skip_frame");
+        args.add("nokey");
+        args.add("-i");
+        args.add(sourceFile.getAbsolutePath());
+        args.add("-map");
+        args.add("0:v:0");
+        args.add("-an");
+        args.add("-sn");
+        args.add("-vf");
+        args.add(filter);
+        args.add("-frames:v");
+        args.add(String.valueOf(sheetCount));
+        args.add("-y");
+        args.add(sheetPattern.getAbsolutePath());
+        return args.toArray(new String[0]);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.youzhajun.ffmpeg.storyboard;
+
+import java.io.File;
+
+/**
+ * 故事板中的一个缩略图：所在拼图、坐标及对应的时间段
+ */
+public class StoryboardTile {
+
+    private final File sheet;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final double startSeconds;
+    private final double endSeconds;
+
+    public StoryboardTile(File sheet, int x, int y, int width, int height, double startSeconds, double endSeconds) {
+        this.sheet = sheet;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.startSeconds = startSeconds;
+        this.endSeconds = endSeconds;
+    }
+
+    /**
+     * 所在的拼图文件
+     */
+    public File getSheet() {
+        return sheet;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 时间段开始（秒）
+     */
+    public double getStartSeconds() {
+        return startSeconds;
+    }
+
+    /**
+     * 时间段结束（秒）
+     */
+    public double getEndSeconds() {
+        return endSeconds;
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.DocumentFamily;
+import com.github.youzhajun.common.enums.DocumentRenderStrategy;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import com.github.youzhajun.document.extractor.DocumentCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文档直接导出图片测试（用模拟的LibreOffice执行器，不需要安装LibreOffice）
+ */
+@Slf4j
+class DocumentDirectImageTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testDirectImageUsedWhenResizing() throws IOException {
+        RecordingLibreOffice libreOffice = new RecordingLibreOffice();
+        DocumentCoverExtractor extractor = createExtractor(libreOffice, ImageProcessStrategy.SCALE, 200, 200);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(createDocument()));
+
+        assertEquals(1, libreOffice.imageExports.get(), "指定封面尺寸时应该直接导出图片");
+        assertEquals(0, libreOffice.pdfConversions.get(), "直接导出成功时不应该转换PDF");
+        assertEquals(200, cover.getHeight(), "直接导出的图片应该缩放到200");
+        log.info("缩放时直接导出测试通过");
+    }
+
+    @Test
+    void testNoneStrategyRendersAt300Dpi() throws IOException {
+        RecordingLibreOffice libreOffice = new RecordingLibreOffice();
+        DocumentCoverExtractor extractor = createExtractor(libreOffice, ImageProcessStrategy.NONE, null, null);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(createDocument()));
+
+        assertEquals(0, libreOffice.imageExports.get(), "不缩放时直接导出只有默认分辨率，应该使用PDF方式");
+        assertEquals(1, libreOffice.pdfConversions.get(), "不缩放时应该转换为PDF后渲染");
+        // A6页面为297.64x419.53点，300DPI下约为1240x1748像素
+        assertEquals(1240, cover.getWidth(), "PDF方式应该按300DPI渲染");
+        assertEquals(1748, cover.getHeight(), "PDF方式应该按300DPI渲染");
+        log.info("不缩放时按300DPI渲染测试通过");
+    }
+
+    private DocumentCoverExtractor createExtractor(LibreOfficeExecutor libreOffice, ImageProcessStrategy strategy,
+                                                   Integer width, Integer height) {
+        return new DocumentCoverExtractor(libreOffice, new PdfBoxExecutor(), tempDir.getAbsolutePath(), false, "png",
+                null, Map.of(DocumentFamily.PRESENTATION, DocumentRenderStrategy.DIRECT_IMAGE), strategy, width, height, 1);
+    }
+
+    private File createDocument() throws IOException {
+        File document = new File(tempDir, "slides.pptx");
+        Files.writeString(document.toPath(), "slides");
+        return document;
+    }
+
+    /**
+     * 记录调用次数的LibreOffice执行器：转换PDF时生成A6空白页，直接导出时生成96DPI大小的图片
+     */
+    private static class RecordingLibreOffice extends LibreOfficeExecutor {
+
+        private final AtomicInteger pdfConversions = new AtomicInteger();
+        private final AtomicInteger imageExports = new AtomicInteger();
+
+        RecordingLibreOffice() {
+            super("soffice");
+        }
+
+        @Override
+        public File convertToPdf(File sourceFile, String outputDir) {
+            pdfConversions.incrementAndGet();
+            File pdf = new File(outputDir, UUID.randomUUID() + ".pdf");
+            try (PDDocument document = new PDDocument()) {
+                document.addPage(new PDPage(PDRectangle.A6));
+                document.save(pdf);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return pdf;
+        }
+
+        @Override
+        public File convertToImage(File sourceFile, String outputDir, String format, Integer pixelWidth,
+                                   Integer pixelHeight) {
+            imageExports.incrementAndGet();
+            int imageWidth = pixelWidth != null ? pixelWidth : 397;
+            File image = new File(outputDir, "slides." + format);
+            try {
+                ImageIO.write(new BufferedImage(imageWidth, imageWidth * 1414 / 1000, BufferedImage.TYPE_INT_RGB),
+                        format, image);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return image;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import com.github.youzhajun.document.extractor.DocumentCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文档多页预览测试
+ */
+@Slf4j
+class DocumentPreviewTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testExtractPreviewsInParallel() throws IOException {
+        File pdf = createPdf(6);
+        PdfBoxExecutor pdfBoxExecutor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, true, 3);
+        DocumentCoverExtractor extractor = new DocumentCoverExtractor(
+                new LibreOfficeExecutor(null), pdfBoxExecutor, tempDir.getAbsolutePath(), false, "png",
+                null, Map.of(), ImageProcessStrategy.SCALE, 200, 200, 4);
+
+        List<File> previews = extractor.extractPreviews(pdf, 5);
+
+        assertEquals(4, previews.size(), "预览页数应该受最大页数限制");
+        for (File preview : previews) {
+            BufferedImage image = ImageIO.read(preview);
+            assertNotNull(image, "预览应该是有效图片");
+            assertEquals(200, image.getHeight(), "预览高度应该缩放到200");
+        }
+        log.info("多页预览测试通过: {}页", previews.size());
+    }
+
+    @Test
+    void testPreviewsLimitedByPageCount() throws IOException {
+        File pdf = createPdf(2);
+        PdfBoxExecutor pdfBoxExecutor = new PdfBoxExecutor(PdfLoadMode.DEFAULT, -1, null, false, 4);
+
+        List<File> previews = pdfBoxExecutor.extractPages(
+                pdf, tempDir.getAbsolutePath(), 10, "jpg", ImageProcessStrategy.SCALE, 100, 100);
+
+        assertEquals(2, previews.size(), "预览页数不应该超过文档总页数");
+        log.info("预览页数限制测试通过");
+    }
+
+    @Test
+    void testParallelRenderMatchesSerial() throws IOException {
+        File pdf = createDrawingPdf(8, 4000);
+        PdfBoxExecutor serial = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, false, 1);
+        List<File> expected = serial.extractPages(
+                pdf, tempDir.getAbsolutePath(), 8, "png", ImageProcessStrategy.SCALE, 300, 300);
+
+        try (PdfBoxExecutor parallel = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, false, 4)) {
+            for (int run = 0; run < 5; run++) {
+                List<File> actual = parallel.extractPages(
+                        pdf, tempDir.getAbsolutePath(), 8, "png", ImageProcessStrategy.SCALE, 300, 300);
+                for (int page = 0; page < expected.size(); page++) {
+                    assertSamePixels(ImageIO.read(expected.get(page)), ImageIO.read(actual.get(page)),
+                            "第" + (run + 1) + "次并行渲染的第" + (page + 1) + "页应该与串行渲染一致");
+                }
+            }
+        }
+        log.info("并行渲染与串行渲染一致性测试通过");
+    }
+
+    private void assertSamePixels(BufferedImage expected, BufferedImage actual, String message) {
+        assertEquals(expected.getWidth(), actual.getWidth(), message);
+        assertEquals(expected.getHeight(), actual.getHeight(), message);
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    fail(message + "，像素(" + x + "," + y + ")不同");
+                }
+            }
+        }
+    }
+
+    /**
+     * 生成每页绘制大量矩形的PDF（内容流较大，并行渲染时读取会交错）
+     */
+    private File createDrawingPdf(int pageCount, int rectCount) throws IOException {
+        File pdf = new File(tempDir, "drawing-" + pageCount + ".pdf");
+        Random random = new Random(42);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pageCount; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    for (int j = 0; j < rectCount; j++) {
+                        content.setNonStrokingColor(new Color(random.nextInt(0xFFFFFF)));
+                        content.addRect(random.nextInt(560), random.nextInt(800), 5 + random.nextInt(40),
+                                5 + random.nextInt(40));
+                        content.fill();
+                    }
+                }
+            }
+            document.save(pdf);
+        }
+        return pdf;
+    }
+
+    private File createPdf(int pageCount) throws IOException {
+        File pdf = new File(tempDir, "pages-" + pageCount + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pageCount; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 48);
+                    content.newLineAtOffset(100, 600);
+                    content.showText("Page " + i);
+                    content.endText();
+                }
+            }
+            document.save(pdf);
+        }
+        return pdf;
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.audio.extractor.EmbeddedArtworkCoverExtractor;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 音频内嵌封面抽取器测试
+ */
+@Slf4j
+class EmbeddedArtworkCoverExtractorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testPassThroughId3v2Artwork() throws IOException {
+        byte[] cover = createImage(120, 120, "jpg");
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        frames.write(id3Frame("TIT2", concat(new byte[]{0}, "title".getBytes(StandardCharsets.ISO_8859_1))));
+        // 封底图片在前，应该优先选择正面封面
+        frames.write(id3Frame("APIC", apic("image/png", 4, createImage(10, 10, "png"))));
+        frames.write(id3Frame("APIC", apic("image/jpeg", 3, cover)));
+        File mp3 = write("sample.mp3", concat(id3Tag(frames.toByteArray()), new byte[4096]));
+
+        File output = createExtractor("jpg", ImageProcessStrategy.NONE, null, null).extract(mp3);
+
+        assertArrayEquals(cover, Files.readAllBytes(output.toPath()), "无需处理时应该原样输出正面封面");
+        log.info("ID3v2内嵌封面直通测试通过");
+    }
+
+    @Test
+    void testScaleFlacPicture() throws IOException {
+        ByteArrayOutputStream flac = new ByteArrayOutputStream();
+        flac.write("fLaC".getBytes(StandardCharsets.ISO_8859_1));
+        flac.write(new byte[]{0, 0, 0, 34});
+        flac.write(new byte[34]);
+        byte[] picture = pictureBlock(3, "image/png", createImage(200, 100, "png"));
+        flac.write(new byte[]{(byte) 0x86, (byte) (picture.length >> 16), (byte) (picture.length >> 8), (byte) picture.length});
+        flac.write(picture);
+        flac.write(new byte[4096]);
+        File file = write("sample.flac", flac.toByteArray());
+
+        BufferedImage image = ImageIO.read(createExtractor("png", ImageProcessStrategy.SCALE, 100, 100).extract(file));
+
+        assertEquals(100, image.getWidth(), "宽度应该等比例缩放到100");
+        assertEquals(50, image.getHeight(), "高度应该等比例缩放到50");
+        log.info("FLAC内嵌封面缩放测试通过");
+    }
+
+    @Test
+    void testMp4CoverAfterMediaData() throws IOException {
+        byte[] cover = createImage(64, 64, "png");
+        byte[] data = concat(new byte[]{0, 0, 0, 14, 0, 0, 0, 0}, cover);
+        byte[] hdlr = box("hdlr", new byte[25]);
+        byte[] ilst = box("ilst", box("covr", box("data", data)));
+        byte[] meta = box("meta", concat(new byte[4], concat(hdlr, ilst)));
+        byte[] moov = box("moov", concat(box("mvhd", new byte[100]), box("udta", meta)));
+        // moov位于mdat之后（未做faststart的文件）
+        byte[] file = concat(box("ftyp", "M4A mp42".getBytes(StandardCharsets.ISO_8859_1)),
+                concat(box("mdat", new byte[8192]), moov));
+
+        File output = createExtractor("png", ImageProcessStrategy.NONE, null, null).extract(write("sample.m4a", file));
+
+        assertArrayEquals(cover, Files.readAllBytes(output.toPath()), "应该原样输出covr中的封面");
+        log.info("MP4内嵌封面抽取测试通过");
+    }
+
+    @Test
+    void testOggOpusPicture() throws IOException {
+        byte[] cover = createImage(80, 40, "jpg");
+        String value = Base64.getEncoder().encodeToString(pictureBlock(3, "image/jpeg", cover));
+        byte[] comment = ("METADATA_BLOCK_PICTURE=" + value).getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer tags = ByteBuffer.allocate(8 + 4 + 4 + 4 + comment.length).order(ByteOrder.LITTLE_ENDIAN);
+        tags.put("OpusTags".getBytes(StandardCharsets.US_ASCII)).putInt(0).putInt(1).putInt(comment.length).put(comment);
+
+        byte[] ogg = concat(oggPage(0, "OpusHead0123456789".getBytes(StandardCharsets.US_ASCII)),
+                concat(oggPage(1, tags.array()), oggPage(2, new byte[200])));
+
+        File output = createExtractor("jpg", ImageProcessStrategy.NONE, null, null).extract(write("sample.opus", ogg));
+
+        assertArrayEquals(cover, Files.readAllBytes(output.toPath()), "应该从注释头中解码封面");
+        log.info("Ogg Opus内嵌封面抽取测试通过");
+    }
+
+    @Test
+    void testSkipWithoutArtwork() throws IOException {
+        File mp3 = write("plain.mp3", concat(id3Tag(id3Frame("TIT2", new byte[]{0, 'a'})), new byte[1024]));
+        EmbeddedArtworkCoverExtractor extractor = createExtractor("jpg", ImageProcessStrategy.NONE, null, null);
+
+        assertThrows(ExtractSkipException.class, () -> extractor.extract(mp3),
+                "没有内嵌封面时应该跳过，交由默认音频抽取器处理");
+        log.info("无内嵌封面跳过测试通过");
+    }
+
+    private EmbeddedArtworkCoverExtractor createExtractor(String format, ImageProcessStrategy strategy,
+                                                          Integer width, Integer height) {
+        return new EmbeddedArtworkCoverExtractor(tempDir.getAbsolutePath(), false, format, strategy, width, height);
+    }
+
+    private byte[] id3Tag(byte[] frames) {
+        int size = frames.length;
+        byte[] header = {'I', 'D', '3', 3, 0, 0,
+                (byte) ((size >> 21) & 0x7F), (byte) ((size >> 14) & 0x7F), (byte) ((size >> 7) & 0x7F), (byte) (size & 0x7F)};
+        return concat(header, frames);
+    }
+
+    private byte[] id3Frame(String id, byte[] data) {
+        return concat(ByteBuffer.allocate(10).put(id.getBytes(StandardCharsets.ISO_8859_1)).putInt(data.length)
+                .putShort((short) 0).array(), data);
+    }
+
+    private byte[] apic(String mimeType, int pictureType, byte[] image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(0);
+        output.write(mimeType.getBytes(StandardCharsets.ISO_8859_1));
+        output.write(0);
+        output.write(pictureType);
+        output.write("cover".getBytes(StandardCharsets.ISO_8859_1));
+        output.write(0);
+        output.write(image);
+        return output.toByteArray();
+    }
+
+    private byte[] pictureBlock(int type, String mimeType, byte[] image) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(buffer);
+        output.writeInt(type);
+        output.writeInt(mimeType.length());
+        output.writeBytes(mimeType);
+        output.writeInt(0);
+        output.writeInt(0);
+        output.writeInt(0);
+        output.writeInt(24);
+        output.writeInt(0);
+        output.writeInt(image.length);
+        output.write(image);
+        return buffer.toByteArray();
+    }
+
+    private byte[] box(String type, byte[] content) {
+        return concat(ByteBuffer.allocate(8).putInt(content.length + 8)
+                .put(type.getBytes(StandardCharsets.ISO_8859_1)).array(), content);
+    }
+
+    /**
+     * 创建只包含一个完整包的Ogg页（不计算CRC）
+     */
+    private byte[] oggPage(int sequence, byte[] packet) {
+        int segmentCount = packet.length / 255 + 1;
+        ByteBuffer page = ByteBuffer.allocate(27 + segmentCount + packet.length).order(ByteOrder.LITTLE_ENDIAN);
+        page.put("OggS".getBytes(StandardCharsets.US_ASCII)).put((byte) 0).put((byte) (sequence == 0 ? 2 : 0))
+                .putLong(0).putInt(0x1234).putInt(sequence).putInt(0).put((byte) segmentCount);
+        for (int i = 0; i < segmentCount - 1; i++) {
+            page.put((byte) 255);
+        }
+        page.put((byte) (packet.length % 255));
+        return page.put(packet).array();
+    }
+
+    private byte[] createImage(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private File write(String name, byte[] data) throws IOException {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
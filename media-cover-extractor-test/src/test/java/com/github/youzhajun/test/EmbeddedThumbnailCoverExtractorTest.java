@@ -0,0 +1,91 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.document.extractor.EmbeddedThumbnailCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文档内嵌缩略图封面抽取器测试
+ */
+@Slf4j
+class EmbeddedThumbnailCoverExtractorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testExtractOoxmlThumbnail() throws IOException {
+        File docx = createPackage("sample.docx", "docProps/thumbnail.jpeg", createImage(200, 100, "jpg"));
+        EmbeddedThumbnailCoverExtractor extractor = new EmbeddedThumbnailCoverExtractor(
+                tempDir.getAbsolutePath(), false, "png", ImageProcessStrategy.SCALE, 100, 100);
+
+        assertTrue(extractor.support(FileType.DOCUMENT, docx), "应该支持docx文档");
+
+        File cover = extractor.extract(docx);
+        BufferedImage image = ImageIO.read(cover);
+        assertNotNull(image, "封面应该是有效图片");
+        assertEquals(100, image.getWidth(), "宽度应该等比例缩放到100");
+        assertEquals(50, image.getHeight(), "高度应该等比例缩放到50");
+        log.info("OOXML内嵌缩略图抽取测试通过: {}", cover.getAbsolutePath());
+    }
+
+    @Test
+    void testPassThroughOdfThumbnail() throws IOException {
+        byte[] thumbnail = createImage(160, 120, "png");
+        File odt = createPackage("sample.odt", "Thumbnails/thumbnail.png", thumbnail);
+        EmbeddedThumbnailCoverExtractor extractor = new EmbeddedThumbnailCoverExtractor(
+                tempDir.getAbsolutePath(), false, "png", ImageProcessStrategy.NONE, null, null);
+
+        File cover = extractor.extract(odt);
+        assertArrayEquals(thumbnail, Files.readAllBytes(cover.toPath()), "无需处理时应该直接输出原始缩略图");
+        log.info("ODF内嵌缩略图直通测试通过");
+    }
+
+    @Test
+    void testSkipWithoutThumbnail() throws IOException {
+        File pptx = createPackage("sample.pptx", "ppt/presentation.xml", "<p/>".getBytes(StandardCharsets.UTF_8));
+        EmbeddedThumbnailCoverExtractor extractor = new EmbeddedThumbnailCoverExtractor(
+                tempDir.getAbsolutePath(), false, "jpg", ImageProcessStrategy.NONE, null, null);
+
+        assertThrows(ExtractSkipException.class, () -> extractor.extract(pptx), "没有缩略图时应该跳过");
+        assertFalse(extractor.support(FileType.DOCUMENT, new File("legacy.doc")), "不应该支持非zip格式文档");
+        log.info("无缩略图跳过测试通过");
+    }
+
+    private File createPackage(String fileName, String entryName, byte[] content) throws IOException {
+        File file = new File(tempDir, fileName);
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry(entryName));
+            zip.write(content);
+            zip.closeEntry();
+        }
+        return file;
+    }
+
+    private byte[] createImage(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, format, outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,271 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.autoconfigure.service.MediaCoverExtractorService;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviewReader;
+import com.github.youzhajun.ffmpeg.exif.ExifPreviews;
+import com.github.youzhajun.ffmpeg.extractor.ExifPreviewCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.ImageCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.ImageIoCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EXIF内嵌预览图封面抽取测试
+ */
+@Slf4j
+class ExifPreviewCoverExtractorTest {
+
+    private static final int TAG_IMAGE_WIDTH = 0x0100;
+    private static final int TAG_IMAGE_LENGTH = 0x0101;
+    private static final int TAG_COMPRESSION = 0x0103;
+    private static final int TAG_STRIP_OFFSETS = 0x0111;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_STRIP_BYTE_COUNTS = 0x0117;
+    private static final int TAG_JPEG_OFFSET = 0x0201;
+    private static final int TAG_JPEG_LENGTH = 0x0202;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testJpegThumbnailWithOrientation() throws IOException {
+        File photo = createExifJpeg("photo.jpg", 6, jpeg(400, 300));
+        ExifPreviewCoverExtractor extractor = new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 200, 200);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(photo));
+
+        assertEquals(150, cover.getWidth(), "顺时针旋转90度后宽度应该为150");
+        assertEquals(200, cover.getHeight(), "顺时针旋转90度后高度应该为200");
+        assertTrue(isOrange(cover.getRGB(75, 20)), "预览图左半部分旋转后应该位于上方");
+        assertFalse(isOrange(cover.getRGB(75, 180)), "预览图右半部分旋转后应该位于下方");
+        log.info("JPEG内嵌缩略图及方向测试通过");
+    }
+
+    @Test
+    void testJpegFallsBackToFullDecode() throws IOException {
+        File photo = createExifJpeg("photo.jpg", 1, jpeg(400, 300));
+        ExifPreviewCoverExtractor extractor = new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 800, 800);
+        MediaCoverExtractorService service = new MediaCoverExtractorService(List.of(extractor,
+                new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "jpg", ImageProcessStrategy.SCALE, 800, 800)));
+
+        assertThrows(ExtractSkipException.class, () -> extractor.extract(photo), "预览图小于封面尺寸时应该跳过");
+        BufferedImage cover = ImageIO.read(service.extractCover(photo));
+        assertEquals(800, cover.getWidth(), "应该完整解码原图后缩放到800");
+        assertEquals(600, cover.getHeight(), "应该完整解码原图后缩放到600");
+        log.info("预览图不满足尺寸时完整解码测试通过");
+    }
+
+    @Test
+    void testRawPicksSmallestSatisfyingPreview() throws IOException {
+        File raw = createRaw("sample.cr2", jpeg(1200, 800), jpeg(160, 120));
+
+        ExifPreviews previews = new ExifPreviewReader().read(raw);
+        assertEquals(2, previews.getPreviews().size(), "应该找到条带预览图和缩略图");
+        assertEquals(160, previews.getPreviews().get(0).getWidth(), "预览图应该按尺寸从小到大排列");
+
+        BufferedImage cover = ImageIO.read(new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 400, 400).extract(raw));
+        assertEquals(400, cover.getWidth(), "应该使用1200x800的预览图缩放到400");
+        assertEquals(267, cover.getHeight(), "应该使用1200x800的预览图缩放到267");
+
+        BufferedImage large = ImageIO.read(new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 2400, 2400).extract(raw));
+        assertEquals(2400, large.getWidth(), "RAW没有满足尺寸的预览图时应该使用最大的预览图");
+        log.info("RAW预览图选择测试通过");
+    }
+
+    @Test
+    void testPreviewWithDifferentAspectRatioRejected() throws IOException {
+        // 3:2的原图内嵌了带黑边的4:3缩略图
+        File photo = createExifJpeg("photo.jpg", 1, jpeg(1500, 1000), jpeg(400, 300));
+
+        ExifPreviews previews = new ExifPreviewReader().read(photo);
+        assertEquals(1500, previews.getPrimaryWidth(), "JPEG主图像宽度应该取自SOF段");
+        assertEquals(1000, previews.getPrimaryHeight(), "JPEG主图像高度应该取自SOF段");
+        assertThrows(ExtractSkipException.class, () -> new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false,
+                "png", ImageProcessStrategy.SCALE, 200, 200).extract(photo), "宽高比与原图不一致的缩略图应该跳过");
+
+        File raw = createRaw("sample.nef", jpeg(1200, 800), jpeg(160, 120), 1200, 800);
+        BufferedImage cover = ImageIO.read(new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 100, 100).extract(raw));
+        assertEquals(100, cover.getWidth(), "应该跳过4:3缩略图，使用3:2预览图缩放到100");
+        assertEquals(67, cover.getHeight(), "应该跳过4:3缩略图，使用3:2预览图缩放到67");
+        log.info("预览图宽高比校验测试通过");
+    }
+
+    @Test
+    void testRawNotCopiedWithoutProcessing() throws IOException {
+        File raw = createRaw("sample.cr2", jpeg(1200, 800), jpeg(160, 120));
+        File outputDir = new File(tempDir, "covers");
+        outputDir.mkdirs();
+        ImageCoverExtractor extractor = new ImageCoverExtractor(new FfmpegExecutor("ffmpeg"),
+                outputDir.getAbsolutePath(), false, "jpg", ImageProcessStrategy.NONE, null, null);
+
+        try {
+            File cover = extractor.extract(raw);
+            assertTrue(cover.getName().endsWith(".jpg"), "RAW文件应该转码为输出格式");
+        } catch (ExtractException e) {
+            log.info("FFmpeg无法解码测试RAW文件: {}", e.getMessage());
+        }
+        File[] copies = outputDir.listFiles((dir, name) -> name.endsWith(".cr2"));
+        assertEquals(0, copies == null ? 0 : copies.length, "不处理时也不应该复制整个RAW文件");
+        log.info("RAW文件不直接复制测试通过");
+    }
+
+    @Test
+    void testNoExif() throws IOException {
+        File plain = new File(tempDir, "plain.jpg");
+        Files.write(plain.toPath(), jpeg(320, 240));
+
+        assertNull(new ExifPreviewReader().read(plain), "没有EXIF时应该返回null");
+        assertThrows(ExtractSkipException.class, () -> new ExifPreviewCoverExtractor(tempDir.getAbsolutePath(), false,
+                "jpg", ImageProcessStrategy.SCALE, 100, 100).extract(plain), "没有EXIF时应该跳过");
+        log.info("无EXIF图片测试通过");
+    }
+
+    /**
+     * 生成JPEG：SOI + APP1(EXIF：IFD0方向，IFD1缩略图) + 原图其余部分
+     */
+    private File createExifJpeg(String name, int orientation, byte[] thumbnail) throws IOException {
+        return createExifJpeg(name, orientation, jpeg(1600, 1200), thumbnail);
+    }
+
+    private File createExifJpeg(String name, int orientation, byte[] main, byte[] thumbnail) throws IOException {
+        TiffBuilder tiff = new TiffBuilder();
+        int thumbnailOffset = tiff.append(thumbnail);
+        tiff.addIfd(new int[][]{{TAG_ORIENTATION, 3, orientation}});
+        tiff.addIfd(new int[][]{{TAG_JPEG_OFFSET, 4, thumbnailOffset}, {TAG_JPEG_LENGTH, 4, thumbnail.length}});
+        byte[] exif = tiff.build();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(main, 0, 2);
+        int length = exif.length + 8;
+        output.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        output.write(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        output.write(exif);
+        output.write(main, 2, main.length - 2);
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), output.toByteArray());
+        return file;
+    }
+
+    /**
+     * 生成类似CR2的TIFF结构：IFD0为旧式JPEG压缩的条带预览图，IFD1为缩略图
+     */
+    private File createRaw(String name, byte[] preview, byte[] thumbnail) throws IOException {
+        TiffBuilder tiff = new TiffBuilder();
+        int previewOffset = tiff.append(preview);
+        int thumbnailOffset = tiff.append(thumbnail);
+        tiff.addIfd(new int[][]{{TAG_COMPRESSION, 3, 6}, {TAG_STRIP_OFFSETS, 4, previewOffset},
+                {TAG_ORIENTATION, 3, 1}, {TAG_STRIP_BYTE_COUNTS, 4, preview.length}});
+        tiff.addIfd(new int[][]{{TAG_JPEG_OFFSET, 4, thumbnailOffset}, {TAG_JPEG_LENGTH, 4, thumbnail.length}});
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), tiff.build());
+        return file;
+    }
+
+    /**
+     * 生成IFD0带主图像尺寸（ImageWidth/ImageLength）的RAW
+     */
+    private File createRaw(String name, byte[] preview, byte[] thumbnail, int width, int height) throws IOException {
+        TiffBuilder tiff = new TiffBuilder();
+        int previewOffset = tiff.append(preview);
+        int thumbnailOffset = tiff.append(thumbnail);
+        tiff.addIfd(new int[][]{{TAG_IMAGE_WIDTH, 4, width}, {TAG_IMAGE_LENGTH, 4, height}, {TAG_COMPRESSION, 3, 6},
+                {TAG_STRIP_OFFSETS, 4, previewOffset}, {TAG_ORIENTATION, 3, 1}, {TAG_STRIP_BYTE_COUNTS, 4, preview.length}});
+        tiff.addIfd(new int[][]{{TAG_JPEG_OFFSET, 4, thumbnailOffset}, {TAG_JPEG_LENGTH, 4, thumbnail.length}});
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), tiff.build());
+        return file;
+    }
+
+    private byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+
+    private boolean isOrange(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getGreen() > 150 && color.getGreen() < 230 && color.getBlue() < 60;
+    }
+
+    /**
+     * 小端TIFF结构构造器：先追加数据块，再按顺序添加IFD（自动串成IFD链）
+     */
+    private static class TiffBuilder {
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private final List<int[][]> ifds = new ArrayList<>();
+
+        TiffBuilder() {
+            data.writeBytes(new byte[8]);
+        }
+
+        int append(byte[] bytes) {
+            int offset = data.size();
+            data.writeBytes(bytes);
+            return offset;
+        }
+
+        void addIfd(int[][] entries) {
+            ifds.add(entries);
+        }
+
+        byte[] build() {
+            int ifdStart = data.size();
+            int total = ifdStart;
+            for (int[][] entries : ifds) {
+                total += 2 + entries.length * 12 + 4;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(data.toByteArray());
+            buffer.put(0, (byte) 'I').put(1, (byte) 'I').putShort(2, (short) 42).putInt(4, ifdStart);
+            int position = ifdStart;
+            for (int i = 0; i < ifds.size(); i++) {
+                int[][] entries = ifds.get(i);
+                buffer.putShort((short) entries.length);
+                for (int[] entry : entries) {
+                    buffer.putShort((short) entry[0]).putShort((short) entry[1]).putInt(1);
+                    if (entry[1] == 3) {
+                        buffer.putShort((short) entry[2]).putShort((short) 0);
+                    } else {
+                        buffer.putInt(entry[2]);
+                    }
+                }
+                position += 2 + entries.length * 12 + 4;
+                buffer.putInt(i == ifds.size() - 1 ? 0 : position);
+            }
+            return buffer.array();
+        }
+    }
+}
@@ -29,6 +29,10 @@ class FileTypeTest {
         assertEquals(FileType.IMAGE, FileType.fromExtension("JPEG"));
         assertEquals(FileType.IMAGE, FileType.fromFileName("photo.jpg"));
         assertEquals(FileType.IMAGE, FileType.fromFileName("image.png"));
+        assertEquals(FileType.IMAGE, FileType.fromFileName("IMG_0001.CR2"));
+        assertEquals(FileType.IMAGE, FileType.fromFileName("DSC_0001.nef"));
+        assertTrue(FileType.isRawImage("IMG_0001.CR2"));
+        assertFalse(FileType.isRawImage("photo.jpg"));
         log.info("图片文件类型测试通过");
     }
 
@@ -39,6 +43,9 @@ class FileTypeTest {
         assertEquals(FileType.DOCUMENT, FileType.fromExtension("XLSX"));
         assertEquals(FileType.DOCUMENT, FileType.fromFileName("document.pdf"));
         assertEquals(FileType.DOCUMENT, FileType.fromFileName("spreadsheet.xls"));
+        assertEquals(FileType.DOCUMENT, FileType.fromFileName("document.odt"));
+        assertEquals(FileType.DOCUMENT, FileType.fromFileName("spreadsheet.ods"));
+        assertEquals(FileType.DOCUMENT, FileType.fromFileName("slides.odp"));
         log.info("文档文件类型测试通过");
     }
 
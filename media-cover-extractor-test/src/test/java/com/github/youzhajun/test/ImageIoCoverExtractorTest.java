@@ -0,0 +1,144 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.autoconfigure.service.MediaCoverExtractorService;
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.extractor.CoverExtractor;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.ffmpeg.extractor.ImageIoCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ImageIO图片封面抽取测试
+ */
+@Slf4j
+class ImageIoCoverExtractorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testSubsampledDecodeWithinBudget() throws IOException {
+        File photo = createImage("photo.jpg", 4000, 3000, "jpg");
+        // 全分辨率解码需要约48MB，预算只允许降采样后的解码尺寸
+        MemoryBudget memoryBudget = new MemoryBudget(16L * 1024 * 1024, 0);
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 400, 400, memoryBudget);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(photo));
+
+        assertEquals(400, cover.getWidth(), "宽度应该等比例缩放到400");
+        assertEquals(300, cover.getHeight(), "高度应该等比例缩放到300");
+        assertEquals(0, memoryBudget.getReservedBytes(), "处理完成后应该释放内存预算");
+        log.info("降采样解码测试通过");
+    }
+
+    @Test
+    void testCropStrategy() throws IOException {
+        File image = createImage("sample.png", 640, 480, "png");
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.CROP, 100, 100);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(image));
+
+        assertEquals(100, cover.getWidth(), "CROP应该强制调整为指定宽度");
+        assertEquals(100, cover.getHeight(), "CROP应该强制调整为指定高度");
+        log.info("CROP策略测试通过");
+    }
+
+    @Test
+    void testFallbackToNextExtractor() throws IOException {
+        File broken = new File(tempDir, "broken.jpg");
+        Files.write(broken.toPath(), new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00, 0x01});
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 100, 100);
+        File fallbackCover = new File(tempDir, "fallback.jpg");
+        CoverExtractor fallback = new CoverExtractor() {
+            @Override
+            public File extract(File sourceFile) {
+                return fallbackCover;
+            }
+
+            @Override
+            public boolean support(FileType fileType) {
+                return FileType.IMAGE.equals(fileType);
+            }
+        };
+        MediaCoverExtractorService service = new MediaCoverExtractorService(List.of(fallback, extractor));
+
+        assertThrows(ExtractSkipException.class, () -> extractor.extract(broken), "无法解码时应该跳过");
+        assertSame(fallbackCover, service.extractCover(broken), "无法解码时应该交由下一个抽取器处理");
+        log.info("无法解码时退回测试通过");
+    }
+
+    @Test
+    void testExifOrientationApplied() throws IOException {
+        File photo = createImage("photo.jpg", 400, 300, "jpg");
+        Files.write(photo.toPath(), withOrientation(Files.readAllBytes(photo.toPath()), 6));
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 200, 200);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(photo));
+
+        assertEquals(150, cover.getWidth(), "顺时针旋转90度后宽度应该为150");
+        assertEquals(200, cover.getHeight(), "顺时针旋转90度后高度应该为200");
+        assertEquals(Color.ORANGE.getRed(), new Color(cover.getRGB(75, 20)).getRed(), 16, "原图左半部分旋转后应该位于上方");
+        assertEquals(0, new Color(cover.getRGB(75, 180)).getRed(), 16, "原图右半部分旋转后应该位于下方");
+        log.info("EXIF方向测试通过");
+    }
+
+    @Test
+    void testUnsupportedSources() {
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 100, 100);
+
+        assertTrue(extractor.support(FileType.IMAGE, new File(tempDir, "a.jpeg")), "应该支持JPEG");
+        assertFalse(extractor.support(FileType.IMAGE, new File(tempDir, "a.svg")), "ImageIO不能解码SVG");
+        assertFalse(new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.NONE, 100, 100).support(FileType.IMAGE), "不需要处理时由FFmpeg抽取器复制原图");
+        assertFalse(new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "webp",
+                ImageProcessStrategy.SCALE, 100, 100).support(FileType.IMAGE), "ImageIO不能编码的输出格式应该交由FFmpeg处理");
+        log.info("不支持的图片测试通过");
+    }
+
+    /**
+     * 在JPEG的SOI之后插入只包含方向标签的EXIF段（大端TIFF结构）
+     */
+    private byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer exif = ByteBuffer.allocate(36);
+        exif.put((byte) 0xFF).put((byte) 0xE1).putShort((short) 34).put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        exif.put(new byte[]{'M', 'M', 0, 42}).putInt(8);
+        exif.putShort((short) 1).putShort((short) 0x0112).putShort((short) 3).putInt(1)
+                .putShort((short) orientation).putShort((short) 0);
+        exif.putInt(0);
+        ByteBuffer output = ByteBuffer.allocate(jpeg.length + exif.capacity());
+        output.put(jpeg, 0, 2).put(exif.array()).put(jpeg, 2, jpeg.length - 2);
+        return output.array();
+    }
+
+    private File createImage(String name, int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        File file = new File(tempDir, name);
+        ImageIO.write(image, format, file);
+        return file;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.document.executor.LibreOfficeBatchConverter;
+import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LibreOffice批量转换器关闭测试（不需要安装LibreOffice）
+ */
+@Slf4j
+class LibreOfficeBatchConverterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testCloseWakesRequestsInCollectingBatch() throws Exception {
+        File document = createDocument("a.docx");
+        // 收集窗口足够长，关闭时请求一定还在调度线程正在收集的批次中
+        LibreOfficeBatchConverter converter = new LibreOfficeBatchConverter(
+                new LibreOfficeExecutor("/nonexistent/soffice"), 60_000, 10, 1);
+        List<CompletableFuture<File>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> converter.convertToPdf(document, tempDir.getAbsolutePath())));
+        }
+        Thread.sleep(300);
+
+        converter.close();
+
+        for (CompletableFuture<File> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS),
+                    "关闭后等待中的请求应该被唤醒");
+            assertInstanceOf(ExtractException.class, e.getCause(), "关闭后应该以ExtractException结束");
+        }
+        log.info("关闭唤醒收集中批次测试通过");
+    }
+
+    @Test
+    void testSubmitRacingCloseNeverHangs() throws Exception {
+        File document = createDocument("b.docx");
+        for (int round = 0; round < 20; round++) {
+            LibreOfficeBatchConverter converter = new LibreOfficeBatchConverter(
+                    new LibreOfficeExecutor("/nonexistent/soffice"), 60_000, 100, 1);
+            List<CompletableFuture<File>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> converter.convertToPdf(document, tempDir.getAbsolutePath())));
+            }
+            converter.close();
+
+            for (CompletableFuture<File> future : futures) {
+                assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS),
+                        "与关闭并发提交的请求应该立即失败或被唤醒，不能永久等待");
+            }
+        }
+        log.info("提交与关闭并发测试通过");
+    }
+
+    private File createDocument(String name) throws IOException {
+        File document = new File(tempDir, name);
+        Files.writeString(document.toPath(), "document");
+        return document;
+    }
+}
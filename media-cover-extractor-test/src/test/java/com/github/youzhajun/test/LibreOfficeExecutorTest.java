@@ -0,0 +1,54 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * LibreOffice执行器参数校验测试（不需要安装LibreOffice）
+ */
+@Slf4j
+class LibreOfficeExecutorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testPageRangeValidation() {
+        assertDoesNotThrow(() -> new LibreOfficeExecutor("soffice", null, "1"), "单页应该合法");
+        assertDoesNotThrow(() -> new LibreOfficeExecutor("soffice", null, "1-3, 5"), "范围和列表应该合法");
+        assertDoesNotThrow(() -> new LibreOfficeExecutor("soffice", null, null), "未指定页码范围应该合法");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new LibreOfficeExecutor("soffice", null, "1\"},\"Watermark\":{\"type\":\"string\",\"value\":\"x"),
+                "包含引号的页码范围会破坏JSON选项，应该拒绝");
+        assertThrows(IllegalArgumentException.class, () -> new LibreOfficeExecutor("soffice", null, "first"),
+                "非数字页码范围应该拒绝");
+        log.info("页码范围校验测试通过");
+    }
+
+    @Test
+    void testWarmUpTimeoutKillsProcess() throws IOException {
+        assumeTrue(File.separatorChar == '/', "模拟soffice脚本只支持类Unix系统");
+        File soffice = new File(tempDir, "soffice.sh");
+        Files.writeString(soffice.toPath(), "#!/bin/sh\nexec sleep 60\n");
+        assertTrue(soffice.setExecutable(true), "模拟脚本应该可执行");
+        LibreOfficeExecutor executor = new LibreOfficeExecutor(soffice.getAbsolutePath());
+
+        long start = System.nanoTime();
+        ExtractException e = assertThrows(ExtractException.class, () -> executor.warmUp(500), "卡住的预热转换应该超时");
+        assertTrue(e.getMessage().contains("超时"), "应该报告执行超时: " + e.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30), "超时后应该强制终止LibreOffice进程");
+        log.info("LibreOffice预热超时测试通过");
+    }
+}
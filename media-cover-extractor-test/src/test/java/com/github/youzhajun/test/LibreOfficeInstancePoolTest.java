@@ -0,0 +1,195 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.document.executor.LibreOfficeExecutor;
+import com.github.youzhajun.document.executor.LibreOfficeInstancePool;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * LibreOffice常驻实例池测试（使用模拟的soffice命令，不需要安装LibreOffice）
+ */
+@Slf4j
+class LibreOfficeInstancePoolTest {
+
+    @TempDir
+    File tempDir;
+
+    private File soffice;
+
+    private File events;
+
+    @BeforeEach
+    void createFakeSoffice() throws IOException {
+        assumeTrue(File.separatorChar == '/', "模拟soffice脚本只支持类Unix系统");
+        events = new File(tempDir, "events");
+        soffice = new File(tempDir, "soffice.sh");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Files.writeString(soffice.toPath(), "#!/bin/sh\n"
+                + "exec '" + java + "' -cp '" + System.getProperty("java.class.path") + "' '"
+                + FakeSoffice.class.getName() + "' '" + events.getAbsolutePath() + "' \"$@\"\n");
+        assertTrue(soffice.setExecutable(true), "模拟脚本应该可执行");
+    }
+
+    @Test
+    void testLeaseReleaseAndRestartAfterMaxJobs() throws IOException {
+        try (LibreOfficeInstancePool pool = createPool(2, 60, 60)) {
+            LibreOfficeExecutor executor = new LibreOfficeExecutor(soffice.getAbsolutePath(), pool);
+            for (int i = 0; i < 3; i++) {
+                File pdf = executor.convertToPdf(createDocument("doc" + i + ".docx"), tempDir.getAbsolutePath());
+                assertTrue(pdf.isFile(), "常驻实例应该完成转换");
+            }
+        }
+        assertEquals(2, count("start"), "完成max-jobs-per-instance次转换后应该重启实例");
+        assertEquals(3, count("convert"), "每次转换都应该交由租用的实例执行");
+        assertTrue(lines().stream().filter(line -> line.startsWith("convert"))
+                        .allMatch(line -> line.contains("-env:UserInstallation=")),
+                "转换命令应该使用实例的用户配置目录");
+        log.info("LibreOffice实例租用与重启测试通过");
+    }
+
+    @Test
+    void testRestartAfterFailedHealthCheck() throws Exception {
+        try (LibreOfficeInstancePool pool = createPool(0, 60, 60)) {
+            LibreOfficeExecutor executor = new LibreOfficeExecutor(soffice.getAbsolutePath(), pool);
+            executor.convertToPdf(createDocument("first.docx"), tempDir.getAbsolutePath());
+
+            // 让常驻实例退出，下次租用时健康检查失败
+            Files.writeString(new File(tempDir, "events.exit").toPath(), "exit");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count("exit") == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, count("exit"), "模拟实例应该已退出");
+
+            File pdf = executor.convertToPdf(createDocument("second.docx"), tempDir.getAbsolutePath());
+            assertTrue(pdf.isFile(), "健康检查失败后应该重启实例并完成转换");
+        }
+        assertEquals(2, count("start"), "健康检查失败后应该重启实例");
+        log.info("LibreOffice实例健康检查重启测试通过");
+    }
+
+    @Test
+    void testLeaseTimeout() {
+        try (LibreOfficeInstancePool pool = createPool(0, 1, 60)) {
+            LibreOfficeInstancePool.Instance instance = pool.lease();
+            try {
+                ExtractException e = assertThrows(ExtractException.class, pool::lease, "没有空闲实例时应该等待超时");
+                assertTrue(e.getMessage().contains("超时"), "应该报告等待超时: " + e.getMessage());
+            } finally {
+                pool.release(instance, false);
+            }
+            assertDoesNotThrow(() -> pool.release(pool.lease(), false), "归还后应该可以再次租用");
+        }
+        log.info("LibreOffice实例租用超时测试通过");
+    }
+
+    @Test
+    void testJobTimeoutReleasesInstanceAsFailed() throws IOException {
+        try (LibreOfficeInstancePool pool = createPool(0, 60, 2)) {
+            LibreOfficeExecutor executor = new LibreOfficeExecutor(soffice.getAbsolutePath(), pool);
+
+            long start = System.nanoTime();
+            ExtractException e = assertThrows(ExtractException.class,
+                    () -> executor.convertToPdf(createDocument("hang.docx"), tempDir.getAbsolutePath()),
+                    "卡住的转换应该超时");
+            assertTrue(e.getMessage().contains("超时"), "应该报告转换超时: " + e.getMessage());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30), "超时后应该终止转换命令");
+
+            File pdf = executor.convertToPdf(createDocument("next.docx"), tempDir.getAbsolutePath());
+            assertTrue(pdf.isFile(), "超时的实例应该被重启并继续使用");
+        }
+        assertEquals(2, count("start"), "转换超时后应该重启实例");
+        log.info("LibreOffice转换超时测试通过");
+    }
+
+    private LibreOfficeInstancePool createPool(int maxJobs, long leaseTimeoutSeconds, long jobTimeoutSeconds) {
+        return new LibreOfficeInstancePool(soffice.getAbsolutePath(), 1, freePort(), maxJobs,
+                new File(tempDir, "profiles").getAbsolutePath(), leaseTimeoutSeconds, 30, jobTimeoutSeconds);
+    }
+
+    private File createDocument(String name) throws IOException {
+        return Files.writeString(tempDir.toPath().resolve(name), "document").toFile();
+    }
+
+    private long count(String event) throws IOException {
+        return lines().stream().filter(line -> line.startsWith(event)).count();
+    }
+
+    private List<String> lines() throws IOException {
+        return events.exists() ? Files.readAllLines(events.toPath()) : List.of();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 模拟soffice：带 --accept 参数时作为常驻实例监听端口（出现 事件文件.exit 时退出），
+     * 否则作为转换命令在 --outdir 下生成PDF（源文件名以hang开头时一直不退出）
+     */
+    public static class FakeSoffice {
+
+        public static void main(String[] args) throws Exception {
+            Path events = Path.of(args[0]);
+            String accept = null;
+            String outputDir = null;
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].startsWith("--accept=")) {
+                    accept = args[i];
+                } else if ("--outdir".equals(args[i])) {
+                    outputDir = args[i + 1];
+                }
+            }
+
+            if (accept != null) {
+                int port = Integer.parseInt(accept.replaceAll(".*port=(\\d+);.*", "$1"));
+                Path exit = Path.of(args[0] + ".exit");
+                try (ServerSocket server = new ServerSocket(port)) {
+                    record(events, "start " + port);
+                    server.setSoTimeout(100);
+                    while (!Files.deleteIfExists(exit)) {
+                        try (Socket ignored = server.accept()) {
+                            // 健康检查只需要能建立连接
+                        } catch (SocketTimeoutException e) {
+                            // 继续检查退出标记
+                        }
+                    }
+                }
+                record(events, "exit " + port);
+                return;
+            }
+
+            String source = new File(args[args.length - 1]).getName();
+            record(events, "convert " + String.join(" ", args));
+            if (source.startsWith("hang")) {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+            }
+            Files.writeString(Path.of(outputDir, source.substring(0, source.lastIndexOf('.')) + ".pdf"), "%PDF-1.4");
+        }
+
+        private static void record(Path events, String line) throws IOException {
+            Files.writeString(events, line + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.autoconfigure.config.MediaCoverWarmUp;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.availability.ApplicationAvailabilityAutoConfiguration;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 启动预热测试
+ */
+@Slf4j
+class MediaCoverWarmUpTest {
+
+    private static final CountDownLatch TASK_RUNNING = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE_TASK = new CountDownLatch(1);
+
+    @Test
+    void testWarmUpRunsOnceAndToleratesFailures() throws InterruptedException {
+        List<ReadinessState> states = new CopyOnWriteArrayList<>();
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("PDFBox", new PdfBoxExecutor()::warmUp);
+        tasks.put("失败任务", () -> {
+            throw new IllegalStateException("模拟失败");
+        });
+        MediaCoverWarmUp warmUp = new MediaCoverWarmUp(recorder(states), tasks, true);
+        SpringApplication application = new SpringApplication();
+
+        warmUp.onApplicationEvent(new ApplicationStartedEvent(application, new String[0], null, Duration.ZERO));
+        assertTrue(warmUp.awaitFinished(60, TimeUnit.SECONDS), "单个任务失败不影响预热结束");
+        // 预热已结束时就绪阶段保持框架发布的 ACCEPTING_TRAFFIC
+        warmUp.onReady();
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC), states, "预热开始时应该拒绝流量");
+
+        // 再次收到启动事件不应该重复预热
+        warmUp.onApplicationEvent(new ApplicationStartedEvent(application, new String[0], null, Duration.ZERO));
+        assertEquals(1, states.size(), "预热只应该执行一次");
+        log.info("启动预热测试通过");
+    }
+
+    @Test
+    void testHungTaskTimesOut() throws InterruptedException {
+        List<ReadinessState> states = new CopyOnWriteArrayList<>();
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        AtomicBoolean nextTaskRun = new AtomicBoolean(false);
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("卡住的任务", () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        tasks.put("后续任务", () -> nextTaskRun.set(true));
+        MediaCoverWarmUp warmUp = new MediaCoverWarmUp(recorder(states), tasks, true, 500);
+
+        long start = System.nanoTime();
+        warmUp.onApplicationEvent(new ApplicationStartedEvent(new SpringApplication(), new String[0], null, Duration.ZERO));
+        // 就绪阶段不等待预热，立即返回
+        warmUp.onReady();
+        assertFalse(warmUp.isFinished(), "就绪阶段返回时卡住的任务应该仍在执行");
+
+        assertTrue(warmUp.awaitFinished(30, TimeUnit.SECONDS), "卡住的任务超时后预热应该结束");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30), "预热应该在任务超时后结束");
+        assertTrue(nextTaskRun.get(), "任务超时后应该继续执行后续任务");
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.REFUSING_TRAFFIC,
+                ReadinessState.ACCEPTING_TRAFFIC), states, "预热期间拒绝流量，结束后恢复接收流量");
+        Thread.sleep(200);
+        assertTrue(interrupted.get(), "超时的任务应该被中断");
+        log.info("预热任务超时测试通过");
+    }
+
+    @Test
+    void testReadinessRefusedDuringWarmUpInSpringApplication() throws Exception {
+        SpringApplication application = new SpringApplication(WarmUpTestConfiguration.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            // 启动不等待预热
+            assertTrue(TASK_RUNNING.await(30, TimeUnit.SECONDS), "预热任务应该在启动后执行");
+            MediaCoverWarmUp warmUp = context.getBean(MediaCoverWarmUp.class);
+            assertFalse(warmUp.isFinished(), "应用启动完成时预热应该仍在执行");
+            ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+            assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState(),
+                    "预热期间应该拒绝流量，不被框架发布的就绪事件覆盖");
+
+            RELEASE_TASK.countDown();
+            assertTrue(warmUp.awaitFinished(30, TimeUnit.SECONDS), "预热应该已完成");
+            assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState(), "预热结束后应该接收流量");
+        } finally {
+            RELEASE_TASK.countDown();
+        }
+        log.info("Spring应用预热就绪状态测试通过");
+    }
+
+    private ApplicationEventPublisher recorder(List<ReadinessState> states) {
+        return event -> states.add((ReadinessState) ((AvailabilityChangeEvent<?>) event).getState());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @Import(ApplicationAvailabilityAutoConfiguration.class)
+    static class WarmUpTestConfiguration {
+
+        @Bean
+        public MediaCoverWarmUp mediaCoverWarmUp(ApplicationEventPublisher eventPublisher) {
+            Runnable blockingTask = () -> {
+                TASK_RUNNING.countDown();
+                try {
+                    RELEASE_TASK.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            return new MediaCoverWarmUp(eventPublisher, Map.of("模拟任务", blockingTask), true);
+        }
+    }
+}
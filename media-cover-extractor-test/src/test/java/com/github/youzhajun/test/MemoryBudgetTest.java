@@ -0,0 +1,87 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.common.exception.MemoryBudgetExceededException;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 位图内存预算测试
+ */
+@Slf4j
+class MemoryBudgetTest {
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testWaitUntilReleased() throws Exception {
+        MemoryBudget budget = new MemoryBudget(10 * MEGABYTE, 5000);
+        MemoryBudget.Reservation first = budget.reserve(6 * MEGABYTE);
+
+        CompletableFuture<MemoryBudget.Reservation> second = CompletableFuture.supplyAsync(() -> budget.reserve(6 * MEGABYTE));
+        Thread.sleep(200);
+        assertFalse(second.isDone(), "预算不足时应该等待");
+
+        first.close();
+        first.close();
+        MemoryBudget.Reservation reservation = second.get(5, TimeUnit.SECONDS);
+        assertEquals(6 * MEGABYTE, budget.getReservedBytes(), "重复释放不应该重复归还预算");
+
+        reservation.close();
+        assertEquals(0, budget.getReservedBytes(), "释放后预留内存应该归零");
+        log.info("预算等待测试通过");
+    }
+
+    @Test
+    void testFailFast() {
+        MemoryBudget budget = new MemoryBudget(10 * MEGABYTE, 0);
+
+        assertThrows(MemoryBudgetExceededException.class, () -> budget.reserve(11 * MEGABYTE),
+                "单个任务超出总预算时应该直接失败");
+        try (MemoryBudget.Reservation ignored = budget.reserve(8 * MEGABYTE)) {
+            assertThrows(MemoryBudgetExceededException.class, () -> budget.reserve(4 * MEGABYTE),
+                    "不等待时预算不足应该直接失败");
+        }
+        assertEquals(0, budget.getReservedBytes(), "失败的预留不应该占用预算");
+        log.info("预算快速失败测试通过");
+    }
+
+    @Test
+    void testPdfRenderReservesBudget() throws IOException {
+        File pdf = new File(tempDir, "a4.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.save(pdf);
+        }
+        MemoryBudget budget = new MemoryBudget(8 * MEGABYTE, 0);
+        PdfBoxExecutor executor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, false, 1, null, budget);
+
+        // A4页面按300DPI渲染约需 2480x3508x4 字节，超出8MB预算
+        assertThrows(MemoryBudgetExceededException.class,
+                () -> executor.extractFirstPage(pdf, new File(tempDir, "full.png"), "png"),
+                "预估内存超出预算时应该拒绝渲染");
+
+        File output = new File(tempDir, "small.png");
+        executor.extractFirstPage(pdf, output, "png", ImageProcessStrategy.SCALE, 320, 320);
+        assertTrue(output.isFile(), "预估内存在预算内时应该正常渲染");
+        assertEquals(0, budget.getReservedBytes(), "渲染完成后应该释放预算");
+        log.info("PDF渲染内存预算测试通过");
+    }
+}
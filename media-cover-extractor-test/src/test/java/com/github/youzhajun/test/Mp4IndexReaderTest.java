@@ -0,0 +1,132 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import com.github.youzhajun.ffmpeg.frame.FrameSelection;
+import com.github.youzhajun.ffmpeg.mp4.Mp4Index;
+import com.github.youzhajun.ffmpeg.mp4.Mp4IndexReader;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * MP4/MOV索引读取测试
+ */
+@Slf4j
+class Mp4IndexReaderTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testReadKeyframeIndex() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过MP4索引测试");
+        File video = createVideo(ffmpegExecutor, "sample.mp4");
+        Mp4IndexReader reader = new Mp4IndexReader();
+
+        Mp4Index index = reader.read(video);
+
+        assertNotNull(index, "应该能读取MP4索引");
+        assertEquals(4.0, index.getDurationSeconds(), 0.05, "时长应该为4秒");
+        assertEquals(320, index.getWidth(), "宽度应该为320");
+        assertEquals(240, index.getHeight(), "高度应该为240");
+        assertEquals(0, index.getRotation(), "没有旋转");
+        assertFalse(index.isFaststart(), "默认封装的moov位于mdat之后");
+        assertEquals(4, index.getKeyframeCount(), "每秒一个关键帧应该共4个");
+        assertEquals(1.0, index.nearestKeyframe(1.4), 0.001, "1.4秒最近的关键帧应该是1秒");
+        assertEquals(2.0, index.nearestKeyframe(1.6), 0.001, "1.6秒最近的关键帧应该是2秒");
+        assertEquals(3.0, index.nearestKeyframe(10), 0.001, "超出时长时应该取最后一个关键帧");
+        assertEquals(1, reader.getIndexedFiles(), "应该统计已读取的文件数");
+        assertEquals(1, reader.getNonFaststartFiles(), "应该统计非faststart的文件数");
+        assertTrue(reader.getBytesRead() > 0 && reader.getBytesRead() < video.length(), "只应该读取索引而不是整个文件");
+        log.info("MP4关键帧索引读取测试通过");
+    }
+
+    @Test
+    void testFaststartFile() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过MP4索引测试");
+        File video = createVideo(ffmpegExecutor, "faststart.mp4", "-movflags", "+faststart");
+        Mp4IndexReader reader = new Mp4IndexReader();
+
+        Mp4Index index = reader.read(video);
+
+        assertNotNull(index, "应该能读取MP4索引");
+        assertTrue(index.isFaststart(), "moov应该位于mdat之前");
+        assertEquals(0, reader.getNonFaststartFiles(), "faststart文件不应该计入非faststart统计");
+        log.info("faststart文件索引读取测试通过");
+    }
+
+    @Test
+    void testSelectorSeeksToKeyframe() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过MP4索引测试");
+        File video = createVideo(ffmpegExecutor, "sample.mp4");
+        DefaultFrameSelector selector = new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.KEYFRAME, "45%", 1, 0, new Mp4IndexReader());
+
+        List<FrameSelection> selections = selector.select(video);
+
+        assertEquals(2, selections.size(), "关键帧不在开头时应该有退回到开头的方案");
+        assertEquals(Arrays.asList("-skip_frame", "nokey", "-noaccurate_seek", "-ss", "2.020"),
+                selections.get(0).getInputArguments(), "KEYFRAME方式应该关闭精确定位并定位到2秒的关键帧");
+        log.info("按索引定位关键帧测试通过");
+    }
+
+    @Test
+    void testAccurateSeekUsesIndexOnlyForDuration() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过MP4索引测试");
+        File video = createVideo(ffmpegExecutor, "sample.mp4");
+        Mp4IndexReader reader = new Mp4IndexReader();
+
+        List<FrameSelection> percent = new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.ACCURATE, "45%", 1, 0, reader).select(video);
+        List<FrameSelection> absolute = new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.ACCURATE, "1", 1, 0, reader).select(video);
+        List<FrameSelection> beyond = new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.ACCURATE, "10", 1, 0, reader).select(video);
+
+        assertEquals(Arrays.asList("-ss", "1.800"), percent.get(0).getInputArguments(),
+                "ACCURATE方式应该按索引中的时长计算百分比并精确定位");
+        assertEquals(Arrays.asList("-ss", "1.000"), absolute.get(0).getInputArguments(),
+                "ACCURATE方式不应该吸附到关键帧");
+        assertEquals(2, beyond.size(), "超出时长的时间点应该由退回到开头的方案兜底");
+        assertEquals(1, reader.getIndexedFiles(), "ACCURATE方式只有百分比时间点读取索引获取时长");
+        log.info("精确定位只使用索引时长测试通过");
+    }
+
+    @Test
+    void testNotMp4File() throws IOException {
+        File file = new File(tempDir, "sample.mp4");
+        Files.write(file.toPath(), "not a mp4 file".getBytes());
+        Mp4IndexReader reader = new Mp4IndexReader();
+
+        assertNull(reader.read(file), "不是MP4/MOV文件时应该返回null");
+        assertEquals(0, reader.getIndexedFiles(), "读取失败时不应该计入统计");
+        log.info("非MP4文件索引读取测试通过");
+    }
+
+    private File createVideo(FfmpegExecutor ffmpegExecutor, String name, String... outputOptions) {
+        File video = new File(tempDir, name);
+        String[] args = {"-hide_banner", "-f", "lavfi", "-i", "testsrc=s=320x240:r=25:d=4",
+                "-pix_fmt", "yuv420p", "-g", "25", "-sc_threshold", "0"};
+        String[] all = Arrays.copyOf(args, args.length + outputOptions.length + 2);
+        System.arraycopy(outputOptions, 0, all, args.length, outputOptions.length);
+        all[all.length - 2] = "-y";
+        all[all.length - 1] = video.getAbsolutePath();
+        ffmpegExecutor.execute(all);
+        return video;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.common.memory.MemoryBudget;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.ImageCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.ImageIoCoverExtractor;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 动图和多页图片帧选择测试
+ */
+@Slf4j
+class MultiFrameImageTest {
+
+    private static final Color[] FRAME_COLORS = {Color.RED, Color.GREEN, Color.BLUE};
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testFfmpegFirstFrameOfAnimatedGif() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过动图测试");
+        File gif = createAnimatedGif(ffmpegExecutor);
+        ImageCoverExtractor extractor = new ImageCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "png", ImageProcessStrategy.SCALE, 100, 100);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(gif));
+
+        assertEquals(100, cover.getWidth(), "应该输出缩放后的单帧图片");
+        assertTrue(isColor(cover.getRGB(50, 40), Color.RED), "默认应该使用第一帧");
+        log.info("FFmpeg动图第一帧测试通过");
+    }
+
+    @Test
+    void testFfmpegSelectedFrame() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过动图测试");
+        File gif = createAnimatedGif(ffmpegExecutor);
+        ImageCoverExtractor extractor = new ImageCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "png", ImageProcessStrategy.SCALE, 100, 100, new RemoteInput(), 4);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(gif));
+
+        assertTrue(isColor(cover.getRGB(50, 40), Color.BLUE), "应该使用指定的第5帧");
+        log.info("FFmpeg动图指定帧测试通过");
+    }
+
+    @Test
+    void testImageIoSelectedTiffPage() throws IOException {
+        File tiff = createMultiFrame("pages.tiff", "tiff");
+        ImageIoCoverExtractor extractor = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 100, 100, MemoryBudget.unlimited(), 1);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(tiff));
+
+        assertEquals(100, cover.getWidth(), "应该输出缩放后的单页图片");
+        assertEquals(Color.GREEN.getRGB(), cover.getRGB(50, 40), "应该使用指定的第2页");
+        log.info("ImageIO多页TIFF指定页测试通过");
+    }
+
+    @Test
+    void testImageIoGifFrames() throws IOException {
+        File gif = createMultiFrame("anim.gif", "gif");
+
+        BufferedImage cover = ImageIO.read(new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 100, 100).extract(gif));
+        assertEquals(Color.RED.getRGB(), cover.getRGB(50, 40), "默认应该使用第一帧");
+
+        ImageIoCoverExtractor laterFrame = new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 100, 100, MemoryBudget.unlimited(), 1);
+        assertThrows(ExtractSkipException.class, () -> laterFrame.extract(gif), "GIF后续帧需要合成，应该交由FFmpeg处理");
+        log.info("ImageIO动图帧测试通过");
+    }
+
+    @Test
+    void testFrameIndexIgnoredForStillImage() throws IOException {
+        File photo = new File(tempDir, "still.jpg");
+        BufferedImage still = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = still.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 320, 240);
+        graphics.dispose();
+        ImageIO.write(still, "jpg", photo);
+
+        BufferedImage cover = ImageIO.read(new ImageIoCoverExtractor(tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 100, 100, MemoryBudget.unlimited(), 3).extract(photo));
+        assertEquals(100, cover.getWidth(), "单帧图片应该忽略帧序号");
+        assertTrue(isColor(cover.getRGB(50, 40), Color.RED), "单帧图片应该使用唯一的一帧");
+
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过FFmpeg单帧图片测试");
+        BufferedImage ffmpegCover = ImageIO.read(new ImageCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(),
+                false, "png", ImageProcessStrategy.SCALE, 100, 100, new RemoteInput(), 3).extract(photo));
+        assertEquals(100, ffmpegCover.getWidth(), "FFmpeg处理单帧图片时应该忽略帧序号");
+        log.info("单帧图片忽略帧序号测试通过");
+    }
+
+    @Test
+    void testFrameIndexBeyondFrameCount() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过动图测试");
+        File gif = createAnimatedGif(ffmpegExecutor);
+        ImageCoverExtractor extractor = new ImageCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "png", ImageProcessStrategy.SCALE, 100, 100, new RemoteInput(), 50);
+
+        BufferedImage cover = ImageIO.read(extractor.extract(gif));
+
+        assertTrue(isColor(cover.getRGB(50, 40), Color.RED), "帧序号超出帧数时应该退回到第一帧");
+        log.info("帧序号超出帧数测试通过");
+    }
+
+    /**
+     * 用FFmpeg生成纯色动图（ImageIO写出的GIF没有帧延迟，FFmpeg只识别为一帧）
+     */
+    private File createAnimatedGif(FfmpegExecutor ffmpegExecutor) {
+        File gif = new File(tempDir, "anim.gif");
+        // 每种颜色2帧：第0、1帧红色，第2、3帧绿色，第4、5帧蓝色
+        ffmpegExecutor.execute("-f", "lavfi", "-i", "color=c=red:s=320x240:r=2:d=1[a];"
+                + "color=c=green:s=320x240:r=2:d=1[b];color=c=blue:s=320x240:r=2:d=1[c];[a][b][c]concat=n=3",
+                "-y", gif.getAbsolutePath());
+        return gif;
+    }
+
+    private boolean isColor(int rgb, Color expected) {
+        Color color = new Color(rgb);
+        return Math.abs(color.getRed() - expected.getRed()) < 16 && Math.abs(color.getGreen() - expected.getGreen()) < 16
+                && Math.abs(color.getBlue() - expected.getBlue()) < 16;
+    }
+
+    /**
+     * 生成每帧为不同纯色的多帧图片
+     */
+    private File createMultiFrame(String name, String format) throws IOException {
+        File file = new File(tempDir, name);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            for (Color color : FRAME_COLORS) {
+                BufferedImage frame = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = frame.createGraphics();
+                graphics.setColor(color);
+                graphics.fillRect(0, 0, 320, 240);
+                graphics.dispose();
+                writer.writeToSequence(new IIOImage(frame, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PDFBox执行器测试
+ */
+@Slf4j
+class PdfBoxExecutorTest {
+
+    @TempDir
+    File tempDir;
+
+    private final PdfBoxExecutor executor = new PdfBoxExecutor();
+
+    @Test
+    void testScaleToTargetSize() throws IOException {
+        File pdf = createPdf(0);
+        File output = new File(tempDir, "scale.png");
+
+        executor.extractFirstPage(pdf, output, "png", ImageProcessStrategy.SCALE, 320, 320);
+
+        BufferedImage image = ImageIO.read(output);
+        assertEquals(320, image.getHeight(), "A4纵向页面高度应该缩放到320");
+        assertEquals(226, image.getWidth(), "宽度应该按页面比例计算");
+        log.info("按目标尺寸渲染测试通过: {}x{}", image.getWidth(), image.getHeight());
+    }
+
+    @Test
+    void testCropRotatedPage() throws IOException {
+        File pdf = createPdf(90);
+        File output = new File(tempDir, "crop.jpg");
+
+        executor.extractFirstPage(pdf, output, "jpg", ImageProcessStrategy.CROP, 200, 100);
+
+        BufferedImage image = ImageIO.read(output);
+        assertEquals(200, image.getWidth(), "宽度应该为指定值");
+        assertEquals(100, image.getHeight(), "高度应该为指定值");
+        log.info("旋转页面强制裁剪测试通过");
+    }
+
+    @Test
+    void testDefaultDpiWithoutStrategy() throws IOException {
+        File pdf = createPdf(0);
+        File output = new File(tempDir, "default.png");
+
+        executor.extractFirstPage(pdf, output, "png");
+
+        BufferedImage image = ImageIO.read(output);
+        assertEquals(Math.round(PDRectangle.A4.getWidth() / 72 * 300), image.getWidth(), 1, "未指定尺寸时应该按300DPI渲染");
+        log.info("默认DPI渲染测试通过: {}x{}", image.getWidth(), image.getHeight());
+    }
+
+    @Test
+    void testBoundedMemoryLoadModes() throws IOException {
+        File pdf = createPdf(0);
+        File scratch = new File(tempDir, "scratch");
+
+        for (PdfLoadMode loadMode : PdfLoadMode.values()) {
+            PdfBoxExecutor boundedExecutor = new PdfBoxExecutor(loadMode, 1024 * 1024, scratch.getAbsolutePath(), false);
+            File output = new File(tempDir, loadMode + ".png");
+
+            boundedExecutor.extractFirstPage(pdf, output, "png", ImageProcessStrategy.SCALE, 100, 100);
+
+            assertNotNull(ImageIO.read(output), loadMode + "方式应该能正常渲染");
+        }
+        assertTrue(scratch.isDirectory(), "临时文件目录应该被创建");
+        log.info("PDF加载方式测试通过");
+    }
+
+    @Test
+    void testFastPathForScannedPage() throws IOException {
+        File pdf = createScannedPdf(false, 2480, 3508);
+        PdfBoxExecutor fastExecutor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, true);
+
+        File original = new File(tempDir, "original.jpg");
+        fastExecutor.extractFirstPage(pdf, original, "jpg");
+        BufferedImage image = ImageIO.read(original);
+        assertEquals(2480, image.getWidth(), "300DPI的扫描图片应该直接输出");
+        assertEquals(3508, image.getHeight(), "300DPI的扫描图片应该直接输出");
+
+        File scaled = new File(tempDir, "scaled.png");
+        fastExecutor.extractFirstPage(pdf, scaled, "png", ImageProcessStrategy.SCALE, 150, 150);
+        image = ImageIO.read(scaled);
+        assertEquals(150, image.getHeight(), "扫描图片应该等比例缩放到150");
+        log.info("扫描件快速路径测试通过");
+    }
+
+    @Test
+    void testFastPathNormalizesScanResolutionWithoutTargetSize() throws IOException {
+        PdfBoxExecutor fastExecutor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, true);
+        int expectedWidth = Math.round(PDRectangle.A4.getWidth() / 72 * 300);
+        int expectedHeight = Math.round(PDRectangle.A4.getHeight() / 72 * 300);
+
+        // 72DPI和600DPI的扫描件都应该输出与渲染方式一致的300DPI尺寸
+        for (int[] size : new int[][]{{595, 842}, {4961, 7016}}) {
+            File pdf = createScannedPdf(false, size[0], size[1]);
+            File output = new File(tempDir, "scan-" + size[0] + ".jpg");
+            fastExecutor.extractFirstPage(pdf, output, "jpg", ImageProcessStrategy.NONE, null, null);
+            BufferedImage image = ImageIO.read(output);
+            assertEquals(expectedWidth, image.getWidth(), "未指定尺寸时扫描图片宽度应该按300DPI输出: " + size[0]);
+            assertEquals(expectedHeight, image.getHeight(), "未指定尺寸时扫描图片高度应该按300DPI输出: " + size[1]);
+        }
+        log.info("扫描件快速路径分辨率测试通过");
+    }
+
+    @Test
+    void testFastPathFallsBackWhenPageHasDrawing() throws IOException {
+        File pdf = createScannedPdf(true, 600, 848);
+        PdfBoxExecutor fastExecutor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, true);
+        File output = new File(tempDir, "rendered.jpg");
+
+        fastExecutor.extractFirstPage(pdf, output, "jpg");
+
+        BufferedImage image = ImageIO.read(output);
+        assertEquals(Math.round(PDRectangle.A4.getWidth() / 72 * 300), image.getWidth(), 1, "页面有其他内容时应该渲染整页");
+        log.info("快速路径回退测试通过");
+    }
+
+    /**
+     * 创建模拟扫描件：第一页只有一张铺满页面的JPEG图片
+     */
+    private File createScannedPdf(boolean withDrawing, int width, int height) throws IOException {
+        BufferedImage scan = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scan.createGraphics();
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        File pdf = new File(tempDir, "scan-" + withDrawing + "-" + width + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            PDImageXObject image = JPEGFactory.createFromImage(document, scan);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.drawImage(image, 0, 0, PDRectangle.A4.getWidth(), PDRectangle.A4.getHeight());
+                if (withDrawing) {
+                    content.addRect(10, 10, 100, 100);
+                    content.fill();
+                }
+            }
+            document.save(pdf);
+        }
+        return pdf;
+    }
+
+    private File createPdf(int rotation) throws IOException {
+        File pdf = new File(tempDir, "page-" + rotation + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            page.setRotation(rotation);
+            document.addPage(page);
+            document.save(pdf);
+        }
+        return pdf;
+    }
+}
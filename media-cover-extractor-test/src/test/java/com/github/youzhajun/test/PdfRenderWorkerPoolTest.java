@@ -0,0 +1,161 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.PdfLoadMode;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.document.executor.PdfBoxExecutor;
+import com.github.youzhajun.document.executor.PdfRenderWorkerPool;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * PDF渲染子进程池测试
+ */
+@Slf4j
+class PdfRenderWorkerPoolTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRenderInWorkerProcess() throws IOException {
+        File pdf = new File(tempDir, "worker.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.save(pdf);
+        }
+
+        try (PdfRenderWorkerPool pool = createPool()) {
+            PdfBoxExecutor executor = new PdfBoxExecutor(PdfLoadMode.BUFFERED_FILE, -1, null, true, 1, pool);
+
+            File cover = new File(tempDir, "cover.png");
+            executor.extractFirstPage(pdf, cover, "png", ImageProcessStrategy.SCALE, 200, 200);
+            BufferedImage image = ImageIO.read(cover);
+            assertEquals(200, image.getHeight(), "子进程渲染结果应该缩放到200");
+
+            List<File> pages = executor.extractPages(pdf, tempDir.getAbsolutePath(), 5, "jpg", ImageProcessStrategy.SCALE, 100, 100);
+            assertEquals(2, pages.size(), "子进程应该返回全部页面");
+        }
+        log.info("子进程渲染测试通过");
+    }
+
+    @Test
+    void testWorkerSurvivesInvalidPdf() throws IOException {
+        File invalid = new File(tempDir, "invalid.pdf");
+        Files.writeString(invalid.toPath(), "not a pdf");
+        File pdf = new File(tempDir, "valid.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A6));
+            document.save(pdf);
+        }
+
+        try (PdfRenderWorkerPool pool = createPool()) {
+            assertThrows(ExtractException.class,
+                    () -> pool.renderFirstPage(invalid, "png", ImageProcessStrategy.NONE, null, null),
+                    "无效PDF应该返回错误");
+            byte[] image = pool.renderFirstPage(pdf, "png", ImageProcessStrategy.SCALE, 50, 50);
+            assertNotNull(ImageIO.read(new ByteArrayInputStream(image)), "失败后子进程应该仍可继续使用");
+        }
+        log.info("子进程失败隔离测试通过");
+    }
+
+    @Test
+    void testTimedOutWorkerKilledAndReplaced() throws IOException {
+        assumeTrue(File.separatorChar == '/', "模拟子进程脚本只支持类Unix系统");
+        File pdf = createSinglePagePdf();
+        // 第一次启动的子进程发送就绪信号后不再响应，之后的子进程正常渲染
+        File java = createWrapper("exec sleep 60");
+
+        try (PdfRenderWorkerPool pool = createPool(java.getAbsolutePath(), 5)) {
+            long start = System.nanoTime();
+            ExtractException e = assertThrows(ExtractException.class,
+                    () -> pool.renderFirstPage(pdf, "png", ImageProcessStrategy.SCALE, 50, 50), "无响应的子进程应该超时");
+            assertTrue(e.getMessage().contains("超时"), "应该报告渲染超时: " + e.getMessage());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30), "超时后应该强制终止子进程，不等待其退出");
+
+            byte[] image = pool.renderFirstPage(pdf, "png", ImageProcessStrategy.SCALE, 50, 50);
+            assertNotNull(ImageIO.read(new ByteArrayInputStream(image)), "超时的子进程应该被替换为新进程");
+        }
+        assertEquals(2, startCount(), "超时后应该重新启动子进程");
+        log.info("子进程超时终止测试通过");
+    }
+
+    @Test
+    void testCrashedWorkerRecycled() throws IOException {
+        assumeTrue(File.separatorChar == '/', "模拟子进程脚本只支持类Unix系统");
+        File pdf = createSinglePagePdf();
+        // 第一次启动的子进程发送就绪信号后读取请求即退出，模拟渲染时崩溃
+        File java = createWrapper("head -c 1 > /dev/null; exit 3");
+
+        try (PdfRenderWorkerPool pool = createPool(java.getAbsolutePath(), 60)) {
+            ExtractException e = assertThrows(ExtractException.class,
+                    () -> pool.renderFirstPage(pdf, "png", ImageProcessStrategy.SCALE, 50, 50), "子进程崩溃应该返回错误");
+            assertTrue(e.getMessage().contains("异常退出"), "应该报告子进程异常退出: " + e.getMessage());
+
+            byte[] image = pool.renderFirstPage(pdf, "png", ImageProcessStrategy.SCALE, 50, 50);
+            assertNotNull(ImageIO.read(new ByteArrayInputStream(image)), "崩溃的子进程应该被回收并重新启动");
+        }
+        assertEquals(2, startCount(), "崩溃后应该重新启动子进程");
+        log.info("子进程崩溃回收测试通过");
+    }
+
+    private File createSinglePagePdf() throws IOException {
+        File pdf = new File(tempDir, "single.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A6));
+            document.save(pdf);
+        }
+        return pdf;
+    }
+
+    /**
+     * 生成模拟java命令的脚本：每次启动记录次数，第一次发送就绪信号（"PDFW"）后执行指定的异常行为，之后启动真实的子进程
+     */
+    private File createWrapper(String firstStartBehavior) throws IOException {
+        File script = new File(tempDir, "java.sh");
+        File counter = new File(tempDir, "starts");
+        Files.writeString(script.toPath(), "#!/bin/sh\n"
+                + "echo started >> '" + counter.getAbsolutePath() + "'\n"
+                + "if [ $(wc -l < '" + counter.getAbsolutePath() + "') -eq 1 ]; then\n"
+                + "  printf 'PDFW'\n"
+                + "  " + firstStartBehavior + "\n"
+                + "fi\n"
+                + "exec '" + javaPath() + "' \"$@\"\n");
+        assertTrue(script.setExecutable(true), "模拟脚本应该可执行");
+        return script;
+    }
+
+    private long startCount() throws IOException {
+        return Files.readAllLines(new File(tempDir, "starts").toPath()).size();
+    }
+
+    private PdfRenderWorkerPool createPool() {
+        return createPool(javaPath(), 60);
+    }
+
+    private PdfRenderWorkerPool createPool(String java, long jobTimeoutSeconds) {
+        return new PdfRenderWorkerPool(java, System.getProperty("java.class.path"), 1, 256, 10, 30, jobTimeoutSeconds,
+                PdfLoadMode.BUFFERED_FILE, -1, null, true);
+    }
+
+    private String javaPath() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+}
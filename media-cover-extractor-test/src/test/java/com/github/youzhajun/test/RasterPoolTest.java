@@ -0,0 +1,69 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.document.executor.RasterPool;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 渲染画布复用池测试
+ */
+@Slf4j
+class RasterPoolTest {
+
+    @Test
+    void testReuseSameSize() {
+        RasterPool pool = new RasterPool(2, Long.MAX_VALUE);
+
+        BufferedImage first = pool.borrow(100, 50);
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, first.getType(), "画布应该为3字节BGR格式");
+        pool.release(first);
+        assertEquals(1, pool.getIdleCount(), "归还后应该保留空闲画布");
+        assertEquals(100 * 50 * 3, pool.getIdleBytes(), "空闲字节数应该按每像素3字节统计");
+
+        assertSame(first, pool.borrow(100, 50), "相同尺寸应该复用画布");
+        assertEquals(0, pool.getIdleBytes(), "借出后不应该计入空闲字节数");
+        assertNotSame(first, pool.borrow(100, 60), "尺寸不同时应该新建画布");
+        log.info("画布复用测试通过");
+    }
+
+    @Test
+    void testCountLimitEvictsLeastRecentlyUsed() {
+        RasterPool pool = new RasterPool(2, Long.MAX_VALUE);
+        BufferedImage oldest = pool.borrow(10, 10);
+        BufferedImage middle = pool.borrow(20, 20);
+        BufferedImage newest = pool.borrow(30, 30);
+
+        pool.release(oldest);
+        pool.release(middle);
+        pool.release(newest);
+
+        assertEquals(2, pool.getIdleCount(), "空闲画布数量不应该超过容量");
+        assertNotSame(oldest, pool.borrow(10, 10), "最久未使用的画布应该被淘汰");
+        assertSame(newest, pool.borrow(30, 30), "最近归还的画布应该保留");
+        log.info("数量上限淘汰测试通过");
+    }
+
+    @Test
+    void testByteLimit() {
+        // 上限可以容纳两张100x100画布（每张30000字节）
+        RasterPool pool = new RasterPool(8, 60_000);
+        BufferedImage first = pool.borrow(100, 100);
+        BufferedImage second = pool.borrow(100, 100);
+        BufferedImage third = pool.borrow(100, 100);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        assertEquals(2, pool.getIdleCount(), "超出字节上限时应该淘汰最久未使用的画布");
+        assertTrue(pool.getIdleBytes() <= 60_000, "空闲字节数不应该超过上限");
+
+        pool.release(pool.borrow(200, 200));
+        assertEquals(2, pool.getIdleCount(), "超过字节上限的单个画布用完应该直接丢弃");
+        assertEquals(60_000, pool.getIdleBytes(), "丢弃超大画布不应该淘汰已有画布");
+        log.info("字节上限测试通过");
+    }
+}
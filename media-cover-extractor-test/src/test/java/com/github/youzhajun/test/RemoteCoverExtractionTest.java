@@ -0,0 +1,192 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.autoconfigure.service.MediaCoverExtractorService;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.ImageCoverExtractor;
+import com.github.youzhajun.ffmpeg.extractor.VideoCoverExtractor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import com.github.youzhajun.ffmpeg.remote.RemoteInput;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 远程地址（HTTP范围请求）封面抽取测试
+ */
+@Slf4j
+class RemoteCoverExtractionTest {
+
+    @TempDir
+    File tempDir;
+
+    private HttpServer server;
+
+    private final AtomicLong servedBytes = new AtomicLong();
+
+    private final AtomicLong rangeRequests = new AtomicLong();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // 本地HTTP服务模拟对象存储，支持Range请求并统计写出的字节数
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testVideoCoverWithRangeRequests() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过远程封面测试");
+        File video = new File(tempDir, "sample.mp4");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "testsrc=s=640x360:r=25:d=30",
+                "-pix_fmt", "yuv420p", "-g", "25", "-movflags", "+faststart", "-y", video.getAbsolutePath());
+        RemoteInput remoteInput = new RemoteInput();
+        VideoCoverExtractor extractor = new VideoCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", ImageProcessStrategy.SCALE, 160, 160,
+                new DefaultFrameSelector(ffmpegExecutor, VideoFrameSelectMode.ACCURATE, "20", 1, 0),
+                true, remoteInput);
+        MediaCoverExtractorService service = new MediaCoverExtractorService(List.of(extractor));
+
+        File cover = service.extractCover(uri("sample.mp4"));
+
+        assertTrue(cover.length() > 0, "应该生成封面文件");
+        assertTrue(rangeRequests.get() >= 2, "读取头部后应该用Range请求跳转到目标位置");
+        assertEquals(1, remoteInput.getSources(), "应该统计远程读取次数");
+        assertTrue(remoteInput.getBytesRead() > 0 && remoteInput.getBytesRead() <= servedBytes.get(),
+                "应该统计FFmpeg实际读取的字节数");
+        assertTrue(remoteInput.getBytesRead() < video.length() / 4, "不应该下载整个视频");
+        log.info("远程视频封面测试通过，视频 {} bytes，读取 {} bytes", video.length(), remoteInput.getBytesRead());
+    }
+
+    @Test
+    void testPercentagePositionProbeCounted() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过远程封面测试");
+        File video = new File(tempDir, "sample.mp4");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "testsrc=s=640x360:r=25:d=30",
+                "-pix_fmt", "yuv420p", "-g", "25", "-movflags", "+faststart", "-y", video.getAbsolutePath());
+
+        RemoteInput probeInput = new RemoteInput();
+        Double duration = probeInput.probeDuration(ffmpegExecutor, uri("sample.mp4"));
+        assertNotNull(duration, "应该通过ffprobe读取远程视频时长");
+        assertEquals(30, duration, 0.5, "远程视频时长应该为30秒");
+        assertEquals(1, probeInput.getSources(), "ffprobe探测应该计入远程读取次数");
+        assertTrue(probeInput.getBytesRead() > 0, "应该统计ffprobe实际读取的字节数");
+
+        RemoteInput remoteInput = new RemoteInput();
+        VideoCoverExtractor extractor = new VideoCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", ImageProcessStrategy.SCALE, 160, 160,
+                new DefaultFrameSelector(ffmpegExecutor, VideoFrameSelectMode.ACCURATE, "50%", 1, 0),
+                true, remoteInput);
+
+        File cover = extractor.extractRemote(uri("sample.mp4"));
+
+        assertTrue(cover.length() > 0, "应该生成封面文件");
+        assertEquals(2, remoteInput.getSources(), "百分比时间点的时长探测和取帧都应该计入远程读取次数");
+        assertTrue(remoteInput.getBytesRead() > probeInput.getBytesRead(), "读取量应该包含时长探测和取帧");
+        log.info("远程视频百分比取帧测试通过，探测读取 {} bytes，合计读取 {} bytes",
+                probeInput.getBytesRead(), remoteInput.getBytesRead());
+    }
+
+    @Test
+    void testImageCover() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过远程封面测试");
+        File image = new File(tempDir, "sample.png");
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", image);
+        RemoteInput remoteInput = new RemoteInput();
+        ImageCoverExtractor extractor = new ImageCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", ImageProcessStrategy.SCALE, 100, 100, remoteInput);
+
+        BufferedImage cover = ImageIO.read(extractor.extractRemote(uri("sample.png")));
+
+        assertEquals(100, cover.getWidth(), "宽度应该等比例缩放到100");
+        assertEquals(50, cover.getHeight(), "高度应该等比例缩放到50");
+        assertEquals(image.length(), remoteInput.getBytesRead(), "小图片应该完整读取一次");
+        log.info("远程图片封面测试通过");
+    }
+
+    @Test
+    void testRejectUnsupportedUri() {
+        MediaCoverExtractorService service = new MediaCoverExtractorService(Collections.emptyList());
+
+        assertThrows(ExtractException.class, () -> service.extractCover(URI.create("ftp://127.0.0.1/sample.mp4")),
+                "只支持http或https地址");
+        assertThrows(ExtractException.class, () -> service.extractCover(uri("sample.mp4")),
+                "没有支持远程地址的抽取器时应该抛出异常");
+        log.info("远程地址校验测试通过");
+    }
+
+    private URI uri(String fileName) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/" + fileName);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        File file = new File(tempDir, exchange.getRequestURI().getPath().substring(1));
+        if (!file.isFile()) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        long size = file.length();
+        long start = 0;
+        long end = size - 1;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        if (range != null && range.startsWith("bytes=")) {
+            rangeRequests.incrementAndGet();
+            String[] parts = range.substring("bytes=".length()).split("-", 2);
+            start = Long.parseLong(parts[0]);
+            if (!parts[1].isEmpty()) {
+                end = Math.min(end, Long.parseLong(parts[1]));
+            }
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+            exchange.sendResponseHeaders(206, end - start + 1);
+        } else {
+            exchange.sendResponseHeaders(200, size);
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file, "r"); OutputStream output = exchange.getResponseBody()) {
+            input.seek(start);
+            byte[] buffer = new byte[8192];
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                output.write(buffer, 0, read);
+                servedBytes.addAndGet(read);
+                remaining -= read;
+            }
+        } catch (IOException e) {
+            // FFmpeg读取到需要的数据后会主动断开连接
+        }
+    }
+}
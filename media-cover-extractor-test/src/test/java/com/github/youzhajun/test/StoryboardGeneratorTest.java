@@ -0,0 +1,81 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.storyboard.Storyboard;
+import com.github.youzhajun.ffmpeg.storyboard.StoryboardGenerator;
+import com.github.youzhajun.ffmpeg.storyboard.StoryboardTile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 故事板生成器测试
+ */
+@Slf4j
+class StoryboardGeneratorTest {
+
+    @TempDir
+    File tempDir;
+
+    private FfmpegExecutor ffmpegExecutor;
+    private File video;
+
+    @BeforeEach
+    void setUp() {
+        ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过故事板测试");
+        video = new File(tempDir, "sample.mp4");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "testsrc=s=320x240:r=25:d=30",
+                "-g", "25", "-pix_fmt", "yuv420p", "-y", video.getAbsolutePath());
+    }
+
+    @Test
+    void testMultipleSheets() throws IOException {
+        StoryboardGenerator generator = new StoryboardGenerator(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", 80, 60, 2, 4, 2, 0, 60);
+
+        Storyboard storyboard = generator.generate(video);
+
+        assertEquals(15, storyboard.getTiles().size(), "30秒视频按2秒间隔应该生成15个缩略图");
+        assertEquals(2, storyboard.getSheets().size(), "每张拼图8个缩略图，应该生成2张拼图");
+        BufferedImage sheet = ImageIO.read(storyboard.getSheets().get(0));
+        assertEquals(320, sheet.getWidth(), "拼图宽度应该为4列缩略图");
+        assertEquals(120, sheet.getHeight(), "拼图高度应该为2行缩略图");
+
+        StoryboardTile tile = storyboard.getTiles().get(9);
+        assertEquals(storyboard.getSheets().get(1), tile.getSheet(), "第10个缩略图应该位于第2张拼图");
+        assertEquals(80, tile.getX(), "第10个缩略图应该位于第2列");
+        assertEquals(0, tile.getY(), "第10个缩略图应该位于第1行");
+        assertEquals(18.0, tile.getStartSeconds(), 0.001, "第10个缩略图应该从第18秒开始");
+
+        String webVtt = new String(Files.readAllBytes(storyboard.getWebVttFile().toPath()), StandardCharsets.UTF_8);
+        assertTrue(webVtt.startsWith("WEBVTT"), "索引文件应该是WebVTT格式");
+        assertTrue(webVtt.contains("00:00:18.000 --> 00:00:20.000\n" + tile.getSheet().getName() + "#xywh=80,0,80,60"),
+                "索引应该包含缩略图的时间段和坐标");
+        log.info("多张拼图故事板测试通过");
+    }
+
+    @Test
+    void testMaxTilesWidensInterval() {
+        StoryboardGenerator generator = new StoryboardGenerator(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", 80, 60, 1, 5, 5, 10, 60);
+
+        Storyboard storyboard = generator.generate(video);
+
+        assertEquals(10, storyboard.getTiles().size(), "缩略图数量不应该超过上限");
+        assertEquals(3.0, storyboard.getIntervalSeconds(), 0.001, "超过上限时应该按视频时长加大取帧间隔");
+        assertEquals(1, storyboard.getSheets().size(), "缩略图数量不超过单张拼图容量时只生成1张拼图");
+        log.info("缩略图数量上限测试通过");
+    }
+}
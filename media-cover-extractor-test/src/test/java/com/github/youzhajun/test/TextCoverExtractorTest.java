@@ -0,0 +1,59 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.FileType;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.document.extractor.TextCoverExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 纯文本文档封面抽取器测试
+ */
+@Slf4j
+class TextCoverExtractorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRenderTextCover() throws IOException {
+        File txt = new File(tempDir, "notes.txt");
+        Files.writeString(txt.toPath(), "第一行 GB18030 文本\nsecond line\tcolumn\n".repeat(200), Charset.forName("GB18030"));
+        TextCoverExtractor extractor = createExtractor(ImageProcessStrategy.SCALE, 300, 300);
+
+        assertTrue(extractor.support(FileType.DOCUMENT, txt), "应该支持txt文档");
+
+        File cover = extractor.extract(txt);
+        BufferedImage image = ImageIO.read(cover);
+        assertNotNull(image, "封面应该是有效图片");
+        assertEquals(300, image.getHeight(), "高度应该等比例缩放到300");
+        assertTrue(image.getWidth() < 300, "宽度应该按A4比例小于300");
+        log.info("文本封面绘制测试通过: {}", cover.getAbsolutePath());
+    }
+
+    @Test
+    void testSupportConfiguredExtensions() {
+        TextCoverExtractor extractor = createExtractor(ImageProcessStrategy.NONE, null, null);
+
+        assertTrue(extractor.support(FileType.DOCUMENT, new File("data.CSV")), "应该支持csv文档（忽略大小写）");
+        assertFalse(extractor.support(FileType.DOCUMENT, new File("report.docx")), "不应该支持docx文档");
+        assertFalse(extractor.support(FileType.IMAGE, new File("notes.txt")), "不应该支持非文档类型");
+        log.info("文本扩展名支持测试通过");
+    }
+
+    private TextCoverExtractor createExtractor(ImageProcessStrategy strategy, Integer width, Integer height) {
+        return new TextCoverExtractor(tempDir.getAbsolutePath(), false, "png", strategy, width, height,
+                List.of("txt", "csv", "md", "log"), 8192, "GB18030");
+    }
+}
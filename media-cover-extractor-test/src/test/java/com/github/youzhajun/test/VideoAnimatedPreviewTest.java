@@ -0,0 +1,66 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.autoconfigure.service.MediaCoverExtractorService;
+import com.github.youzhajun.common.exception.ExtractException;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.VideoAnimatedPreviewExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 视频动态预览测试
+ */
+@Slf4j
+class VideoAnimatedPreviewTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testGifPreviewFromSegments() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过动态预览测试");
+        File video = new File(tempDir, "sample.mp4");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "testsrc=s=640x360:r=25:d=20",
+                "-pix_fmt", "yuv420p", "-y", video.getAbsolutePath());
+        MediaCoverExtractorService service = new MediaCoverExtractorService(Collections.emptyList(),
+                List.of(new VideoAnimatedPreviewExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                        "gif", 3, 1, 5, 160, 160, 0, 30)));
+
+        File preview = service.extractAnimatedPreview(video);
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(preview)) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            reader.setInput(input);
+            assertEquals(15, reader.getNumImages(true), "3个1秒片段按5帧/秒应该共15帧");
+            assertEquals(160, reader.getWidth(0), "宽度应该等比例缩放到160");
+            assertEquals(90, reader.getHeight(0), "高度应该等比例缩放到90");
+            reader.dispose();
+        }
+        log.info("GIF动态预览测试通过");
+    }
+
+    @Test
+    void testNoAnimatedPreviewExtractor() throws IOException {
+        File video = new File(tempDir, "sample.mp4");
+        Files.write(video.toPath(), new byte[16]);
+        MediaCoverExtractorService service = new MediaCoverExtractorService(Collections.emptyList());
+
+        assertThrows(ExtractException.class, () -> service.extractAnimatedPreview(video),
+                "没有动态预览抽取器时应该抛出异常");
+        log.info("无动态预览抽取器测试通过");
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.VideoCoverExtractor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 视频内嵌封面流测试
+ */
+@Slf4j
+class VideoAttachedPictureTest {
+
+    @TempDir
+    File tempDir;
+
+    private FfmpegExecutor ffmpegExecutor;
+    private File cover;
+
+    @BeforeEach
+    void setUp() {
+        ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过内嵌封面测试");
+        cover = new File(tempDir, "cover.jpg");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "color=c=red:s=200x100", "-frames:v", "1",
+                "-update", "1", "-y", cover.getAbsolutePath());
+    }
+
+    @Test
+    void testCopyMkvAttachment() throws IOException {
+        File video = createVideo("sample.mkv", "-attach", cover.getAbsolutePath(),
+                "-metadata:s:t", "mimetype=image/jpeg", "-metadata:s:t", "filename=cover.jpg");
+
+        File output = createExtractor(ImageProcessStrategy.NONE, true).extract(video);
+
+        assertArrayEquals(Files.readAllBytes(cover.toPath()), Files.readAllBytes(output.toPath()),
+                "无需缩放时应该原样复制内嵌封面");
+        log.info("MKV图片附件复制测试通过");
+    }
+
+    @Test
+    void testScaleMp4AttachedPicture() throws IOException {
+        File video = createVideo("sample.mp4", "-i", cover.getAbsolutePath(), "-map", "0", "-map", "1",
+                "-disposition:v:1", "attached_pic");
+
+        BufferedImage image = ImageIO.read(createExtractor(ImageProcessStrategy.SCALE, true).extract(video));
+
+        assertEquals(100, image.getWidth(), "内嵌封面应该等比例缩放到100");
+        assertEquals(50, image.getHeight(), "内嵌封面应该等比例缩放到50");
+        log.info("MP4内嵌封面缩放测试通过");
+    }
+
+    @Test
+    void testPreferVideoFrame() throws IOException {
+        File video = createVideo("sample.mp4", "-i", cover.getAbsolutePath(), "-map", "0", "-map", "1",
+                "-disposition:v:1", "attached_pic");
+
+        BufferedImage image = ImageIO.read(createExtractor(ImageProcessStrategy.NONE, false).extract(video));
+
+        assertEquals(320, image.getWidth(), "关闭内嵌封面时应该从视频画面取帧");
+        log.info("优先视频画面测试通过");
+    }
+
+    private VideoCoverExtractor createExtractor(ImageProcessStrategy strategy, boolean attachedPictureEnabled) {
+        return new VideoCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false, "jpg", strategy, 100, 100,
+                new DefaultFrameSelector(ffmpegExecutor, VideoFrameSelectMode.ACCURATE, "1", 1, 0),
+                attachedPictureEnabled);
+    }
+
+    /**
+     * 生成2秒的测试视频，附加参数用于加入封面
+     */
+    private File createVideo(String name, String... coverArgs) {
+        File video = new File(tempDir, name);
+        String[] args = {"-hide_banner", "-f", "lavfi", "-i", "testsrc=s=320x240:r=25:d=2"};
+        String[] output = {"-c:v", "mpeg4", "-c:v:1", "copy", "-y", video.getAbsolutePath()};
+        String[] all = new String[args.length + coverArgs.length + output.length];
+        System.arraycopy(args, 0, all, 0, args.length);
+        System.arraycopy(coverArgs, 0, all, args.length, coverArgs.length);
+        System.arraycopy(output, 0, all, args.length + coverArgs.length, output.length);
+        ffmpegExecutor.execute(all);
+        return video;
+    }
+}
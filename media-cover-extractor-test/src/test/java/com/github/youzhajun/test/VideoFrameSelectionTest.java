@@ -0,0 +1,114 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.enums.VideoFrameSelectMode;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import com.github.youzhajun.ffmpeg.extractor.VideoCoverExtractor;
+import com.github.youzhajun.ffmpeg.frame.DefaultFrameSelector;
+import com.github.youzhajun.ffmpeg.frame.FrameSelection;
+import com.github.youzhajun.ffmpeg.frame.FrameSelector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 视频取帧策略测试
+ */
+@Slf4j
+class VideoFrameSelectionTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testInputSeekWithFallback() {
+        DefaultFrameSelector selector = new DefaultFrameSelector(new FfmpegExecutor("ffmpeg"),
+                VideoFrameSelectMode.KEYFRAME, "00:01:30", 1, 0);
+
+        List<FrameSelection> selections = selector.select(new File(tempDir, "sample.mp4"));
+
+        assertEquals(2, selections.size(), "目标时间点之后应该有退回到开头的方案");
+        assertEquals(Arrays.asList("-skip_frame", "nokey", "-ss", "90.000"), selections.get(0).getInputArguments(),
+                "应该在输入端定位并只解码关键帧");
+        assertEquals(Arrays.asList("-skip_frame", "nokey"), selections.get(1).getInputArguments(),
+                "退回方案应该从开头取帧");
+        log.info("输入端定位及退回方案测试通过");
+    }
+
+    @Test
+    void testRejectInvalidPosition() {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+
+        assertThrows(IllegalArgumentException.class, () -> new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.ACCURATE, "120%", 1, 0), "百分比超过100时应该拒绝");
+        assertThrows(IllegalArgumentException.class, () -> new DefaultFrameSelector(ffmpegExecutor,
+                VideoFrameSelectMode.ACCURATE, "abc", 1, 0), "无法解析的时间点应该拒绝");
+        log.info("取帧时间点校验测试通过");
+    }
+
+    @Test
+    void testShortClipFallback() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过视频取帧测试");
+        File video = createVideo(ffmpegExecutor, 0.5);
+
+        File output = createExtractor(ffmpegExecutor, VideoFrameSelectMode.ACCURATE, "5").extract(video);
+
+        assertTrue(output.length() > 0, "目标时间点超出视频时长时应该退回到开头取帧");
+        log.info("短视频退回取帧测试通过");
+    }
+
+    @Test
+    void testThumbnailByPercentage() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过视频取帧测试");
+        File video = createVideo(ffmpegExecutor, 4);
+
+        BufferedImage image = ImageIO.read(
+                createExtractor(ffmpegExecutor, VideoFrameSelectMode.THUMBNAIL, "50%").extract(video));
+
+        assertEquals(160, image.getWidth(), "封面宽度应该等比例缩放到160");
+        assertEquals(120, image.getHeight(), "封面高度应该等比例缩放到120");
+        log.info("按百分比选取代表帧测试通过");
+    }
+
+    @Test
+    void testFailedSelectionFallsBackToNextCandidate() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过视频取帧测试");
+        File video = createVideo(ffmpegExecutor, 1);
+        // 第一个方案使用无效参数，FFmpeg执行失败
+        FrameSelector selector = sourceFile -> List.of(
+                new FrameSelection(List.of("-invalid_seek_option", "1"), null),
+                new FrameSelection(List.of(), null));
+        VideoCoverExtractor extractor = new VideoCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false,
+                "jpg", ImageProcessStrategy.SCALE, 160, 160, selector);
+
+        BufferedImage image = ImageIO.read(extractor.extract(video));
+
+        assertEquals(160, image.getWidth(), "第一个方案失败时应该使用下一个方案取帧");
+        log.info("取帧方案失败退回测试通过");
+    }
+
+    private VideoCoverExtractor createExtractor(FfmpegExecutor ffmpegExecutor, VideoFrameSelectMode mode, String position) {
+        return new VideoCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false, "jpg",
+                ImageProcessStrategy.SCALE, 160, 160, new DefaultFrameSelector(ffmpegExecutor, mode, position, 50, 2));
+    }
+
+    private File createVideo(FfmpegExecutor ffmpegExecutor, double seconds) {
+        File video = new File(tempDir, "sample.mp4");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "testsrc=s=320x240:r=25:d=" + seconds,
+                "-pix_fmt", "yuv420p", "-y", video.getAbsolutePath());
+        return video;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.youzhajun.test;
+
+import com.github.youzhajun.audio.extractor.WaveformAudioCoverExtractor;
+import com.github.youzhajun.common.enums.ImageProcessStrategy;
+import com.github.youzhajun.common.exception.ExtractSkipException;
+import com.github.youzhajun.ffmpeg.executor.FfmpegExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 音频波形封面抽取器测试
+ */
+@Slf4j
+class WaveformAudioCoverExtractorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testDrawWaveform() throws IOException {
+        FfmpegExecutor ffmpegExecutor = new FfmpegExecutor("ffmpeg");
+        assumeTrue(ffmpegExecutor.validate(), "未安装FFmpeg，跳过波形绘制测试");
+
+        File audio = new File(tempDir, "tone.flac");
+        ffmpegExecutor.execute("-hide_banner", "-f", "lavfi", "-i", "sine=frequency=440:duration=5",
+                "-y", audio.getAbsolutePath());
+
+        File output = createExtractor(ffmpegExecutor, "0x3A7BD5").extract(audio);
+        BufferedImage image = ImageIO.read(output);
+
+        assertEquals(320, image.getWidth(), "波形图宽度应该等于配置的输出宽度");
+        assertEquals(120, image.getHeight(), "波形图高度应该等于配置的输出高度");
+        log.info("音频波形绘制测试通过");
+    }
+
+    @Test
+    void testSkipWhenFfmpegUnavailable() throws IOException {
+        File audio = new File(tempDir, "sample.mp3");
+        Files.write(audio.toPath(), new byte[1024]);
+        WaveformAudioCoverExtractor extractor = createExtractor(
+                new FfmpegExecutor(new File(tempDir, "missing-ffmpeg").getAbsolutePath()), "red");
+
+        assertThrows(ExtractSkipException.class, () -> extractor.extract(audio),
+                "FFmpeg不可用时应该跳过，交由默认音频抽取器处理");
+        assertEquals(1, tempDir.listFiles().length, "绘制失败时不应该留下输出文件");
+        log.info("FFmpeg不可用跳过测试通过");
+    }
+
+    @Test
+    void testRejectInvalidColor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> createExtractor(new FfmpegExecutor("ffmpeg"), "red[wave];color"),
+                "颜色包含过滤器语法字符时应该拒绝");
+        log.info("波形颜色校验测试通过");
+    }
+
+    private WaveformAudioCoverExtractor createExtractor(FfmpegExecutor ffmpegExecutor, String color) {
+        return new WaveformAudioCoverExtractor(ffmpegExecutor, tempDir.getAbsolutePath(), false, "png",
+                ImageProcessStrategy.SCALE, 320, 120, color, "white", 10, 10);
+    }
+}